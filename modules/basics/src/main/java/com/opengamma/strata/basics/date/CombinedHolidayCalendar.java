@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -29,6 +30,9 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
  * This immutable implementation of {@link HolidayCalendar} stores two underlying calendars.
  * A date is a holiday if either calendar defines it as a holiday.
  * <p>
+ * When both calendars are immutable, shifting and counting business days use the calendars
+ * merged into a single {@code ImmutableHolidayCalendar}, which is cached by the first calendar.
+ * <p>
  * This implementation is intended for short-lived queries.
  * To combine two calendars for the long-term, such as in a static constant,
  * see {@link ImmutableHolidayCalendar#combined(ImmutableHolidayCalendar, ImmutableHolidayCalendar)}.
@@ -47,6 +51,12 @@ final class CombinedHolidayCalendar
    */
   @PropertyDefinition(validate = "notNull")
   private final HolidayCalendar calendar2;
+  /**
+   * The underlying calendars merged into a single calendar, present if both are immutable.
+   * This is created when first needed, with the merged calendar itself cached by the first calendar.
+   * Not a Joda-Beans property.
+   */
+  private transient volatile Optional<ImmutableHolidayCalendar> merged;
 
   //-------------------------------------------------------------------------
   @Override
@@ -59,6 +69,53 @@ final class CombinedHolidayCalendar
     return calendar1.isHoliday(date) || calendar2.isHoliday(date);
   }
 
+  @Override
+  public LocalDate shift(LocalDate date, int amount) {
+    Optional<ImmutableHolidayCalendar> merged = merged();
+    return merged.isPresent() ? merged.get().shift(date, amount) : HolidayCalendar.super.shift(date, amount);
+  }
+
+  @Override
+  public LocalDate next(LocalDate date) {
+    Optional<ImmutableHolidayCalendar> merged = merged();
+    return merged.isPresent() ? merged.get().next(date) : HolidayCalendar.super.next(date);
+  }
+
+  @Override
+  public LocalDate previous(LocalDate date) {
+    Optional<ImmutableHolidayCalendar> merged = merged();
+    return merged.isPresent() ? merged.get().previous(date) : HolidayCalendar.super.previous(date);
+  }
+
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    Optional<ImmutableHolidayCalendar> merged = merged();
+    return merged.isPresent() ?
+        merged.get().daysBetween(startInclusive, endExclusive) :
+        HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
+  // the underlying calendars merged into a single immutable calendar, empty if not possible
+  private Optional<ImmutableHolidayCalendar> merged() {
+    Optional<ImmutableHolidayCalendar> merged = this.merged;
+    if (merged == null) {
+      merged = immutable(calendar1).flatMap(cal1 -> immutable(calendar2).map(cal2 -> cal1.mergedWith(cal2)));
+      this.merged = merged;
+    }
+    return merged;
+  }
+
+  // the calendar as an immutable calendar, empty if not possible
+  private static Optional<ImmutableHolidayCalendar> immutable(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      return Optional.of((ImmutableHolidayCalendar) calendar);
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      return ((CombinedHolidayCalendar) calendar).merged();
+    }
+    return Optional.empty();
+  }
+
   @Override
   public String toString() {
     return "HolidayCalendar[" + getName() + ']';
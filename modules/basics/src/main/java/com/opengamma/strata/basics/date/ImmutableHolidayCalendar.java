@@ -27,6 +27,7 @@ import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
@@ -35,6 +36,8 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import org.joda.beans.ser.SerDeserializer;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterables;
@@ -78,6 +81,14 @@ public final class ImmutableHolidayCalendar
    * The serialization version id.
    */
   private static final long serialVersionUID = 2L;
+  /**
+   * The largest shift that walks the lookup table bit by bit, larger shifts use the business day ranks.
+   */
+  private static final int MAX_BIT_SHIFT = 20;
+  /**
+   * The maximum number of merged calendars held by each calendar.
+   */
+  private static final int MAX_MERGED = 100;
 
   /**
    * The identifier, such as 'GBLO'.
@@ -104,6 +115,18 @@ public final class ImmutableHolidayCalendar
    */
   @PropertyDefinition(validate = "notNull", get = "")
   private final int[] lookup;
+  /**
+   * The business day ranks, where each item is the number of business days in the lookup table
+   * before the month at the same index. The additional last item is the total number of business days.
+   * Not a Joda-Beans property.
+   */
+  private final transient int[] ranks;
+  /**
+   * The calendars merged with this calendar, keyed by the identifier of the other calendar.
+   * The least recently used entries are evicted when the maximum size is reached.
+   * Not a Joda-Beans property.
+   */
+  private final transient Cache<HolidayCalendarId, Pair<ImmutableHolidayCalendar, ImmutableHolidayCalendar>> merged;
 
   //-------------------------------------------------------------------------
   /**
@@ -233,6 +256,55 @@ public final class ImmutableHolidayCalendar
     return new ImmutableHolidayCalendar(newId, newWeekends, newStartYear, newLookup, false);
   }
 
+  // merges this calendar with another, caching the result
+  // unlike combined(), this is intended for repeated use, such as when a combined calendar is resolved
+  ImmutableHolidayCalendar mergedWith(ImmutableHolidayCalendar other) {
+    Pair<ImmutableHolidayCalendar, ImmutableHolidayCalendar> cached = merged.getIfPresent(other.id);
+    if (cached != null && cached.getFirst() == other) {
+      return cached.getSecond();
+    }
+    ImmutableHolidayCalendar result = merge(this, other);
+    merged.put(other.id, Pair.of(other, result));
+    return result;
+  }
+
+  // merges two calendars, where a date is a holiday if it is a holiday in either calendar
+  // outside the range of its lookup table, the weekends of each calendar apply
+  private static ImmutableHolidayCalendar merge(ImmutableHolidayCalendar cal1, ImmutableHolidayCalendar cal2) {
+    HolidayCalendarId newId = cal1.id.combinedWith(cal2.id);
+    int newWeekends = cal1.weekends | cal2.weekends;
+    if (cal1.lookup.length == 0 && cal2.lookup.length == 0) {
+      return new ImmutableHolidayCalendar(newId, newWeekends, 0, new int[0], false);
+    }
+    int newStartYear = cal1.lookup.length == 0 ? cal2.startYear :
+        (cal2.lookup.length == 0 ? cal1.startYear : Math.min(cal1.startYear, cal2.startYear));
+    int newEndYear = Math.max(cal1.startYear + cal1.lookup.length / 12, cal2.startYear + cal2.lookup.length / 12);
+    int[] newLookup = new int[(newEndYear - newStartYear) * 12];
+    for (int i = 0; i < newLookup.length; i++) {
+      int year = newStartYear + i / 12;
+      int month = i % 12 + 1;
+      newLookup[i] = cal1.monthData(year, month) & cal2.monthData(year, month);
+    }
+    return new ImmutableHolidayCalendar(newId, newWeekends, newStartYear, newLookup, false);
+  }
+
+  // the data for the month, using the weekends outside the range of the lookup table
+  private int monthData(int year, int month) {
+    int index = (year - startYear) * 12 + month - 1;
+    if (index >= 0 && index < lookup.length) {
+      return lookup[index];
+    }
+    LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+    int firstDow = firstOfMonth.getDayOfWeek().ordinal();
+    int monthData = 0;
+    for (int dom0 = 0; dom0 < firstOfMonth.lengthOfMonth(); dom0++) {
+      if ((weekends & (1 << ((firstDow + dom0) % 7))) == 0) {
+        monthData |= 1 << dom0;
+      }
+    }
+    return monthData;
+  }
+
   // creates an instance calculating the supported range
   static ImmutableHolidayCalendar of(
       HolidayCalendarId id,
@@ -340,6 +412,33 @@ public final class ImmutableHolidayCalendar
     this.weekends = weekendDays;
     this.startYear = startYear;
     this.lookup = ArgChecker.notNull(lookup, "lookup");
+    this.ranks = buildRanks(lookup);
+    this.merged = CacheBuilder.newBuilder().maximumSize(MAX_MERGED).build();
+  }
+
+  // creates an instance, cloning the lookup
+  @ImmutableConstructor
+  private ImmutableHolidayCalendar(
+      HolidayCalendarId id,
+      int weekends,
+      int startYear,
+      int[] lookup) {
+
+    this(id, weekends, startYear, ArgChecker.notNull(lookup, "lookup").clone(), false);
+  }
+
+  // deserialize transient
+  private Object readResolve() {
+    return new ImmutableHolidayCalendar(id, weekends, startYear, lookup, false);
+  }
+
+  // create the cumulative count of business days at the start of each month
+  private static int[] buildRanks(int[] lookup) {
+    int[] ranks = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      ranks[i + 1] = ranks[i] + Integer.bitCount(lookup[i]);
+    }
+    return ranks;
   }
 
   //-------------------------------------------------------------------------
@@ -419,7 +518,9 @@ public final class ImmutableHolidayCalendar
   @Override
   public LocalDate shift(LocalDate date, int amount) {
     try {
-      if (amount > 0) {
+      if (amount > MAX_BIT_SHIFT || amount < -MAX_BIT_SHIFT) {
+        return shiftByRank(date, amount);
+      } else if (amount > 0) {
         // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
         return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
       } else if (amount < 0) {
@@ -441,6 +542,68 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  // shift using the business day ranks, finding the target business day by its rank
+  private LocalDate shiftByRank(LocalDate date, int amount) {
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    int dom0 = date.getDayOfMonth() - 1;
+    // the rank of the target business day, counting business days before the date if shifting backwards
+    // and business days up to and including the date if shifting forwards
+    int target = amount > 0 ?
+        ranks[index] + Integer.bitCount(lookup[index] << (31 - dom0)) + amount - 1 :
+        rankBefore(index, dom0) + amount;
+    if (target < 0 || target >= ranks[lookup.length]) {
+      throw new ArrayIndexOutOfBoundsException(target);
+    }
+    // find the last month whose rank is not greater than the target
+    int low = 0;
+    int high = lookup.length - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (ranks[mid] <= target) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    // clear the earlier business days of the month, leaving the target as the least significant bit
+    int monthData = lookup[low];
+    for (int i = ranks[low]; i < target; i++) {
+      monthData &= monthData - 1;
+    }
+    return LocalDate.of(startYear + low / 12, low % 12 + 1, Integer.numberOfTrailingZeros(monthData) + 1);
+  }
+
+  // the number of business days in the lookup table before the zero-based day-of-month
+  private int rankBefore(int index, int dom0) {
+    int rank = ranks[index];
+    // shift left, leaving the days before the input date as the most significant bits
+    return dom0 == 0 ? rank : rank + Integer.bitCount(lookup[index] << (32 - dom0));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    try {
+      int startIndex = (startInclusive.getYear() - startYear) * 12 + startInclusive.getMonthValue() - 1;
+      int endIndex = (endExclusive.getYear() - startYear) * 12 + endExclusive.getMonthValue() - 1;
+      return rankBefore(endIndex, endExclusive.getDayOfMonth() - 1) -
+          rankBefore(startIndex, startInclusive.getDayOfMonth() - 1);
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      return daysBetweenOutOfRange(startInclusive, endExclusive);
+    }
+  }
+
+  // pulled out to aid hotspot inlining
+  private int daysBetweenOutOfRange(LocalDate startInclusive, LocalDate endExclusive) {
+    if (startInclusive.getYear() >= 0 && endExclusive.getYear() < 10000) {
+      return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+    }
+    throw new IllegalArgumentException(
+        "Date is outside the accepted range (year 0000 to 10,000): " + startInclusive + " to " + endExclusive);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDate next(LocalDate date) {
@@ -647,19 +810,6 @@ public final class ImmutableHolidayCalendar
     MetaBean.register(ImmutableHolidayCalendar.Meta.INSTANCE);
   }
 
-  private ImmutableHolidayCalendar(
-      HolidayCalendarId id,
-      int weekends,
-      int startYear,
-      int[] lookup) {
-    JodaBeanUtils.notNull(id, "id");
-    JodaBeanUtils.notNull(lookup, "lookup");
-    this.id = id;
-    this.weekends = weekends;
-    this.startYear = startYear;
-    this.lookup = lookup.clone();
-  }
-
   @Override
   public ImmutableHolidayCalendar.Meta metaBean() {
     return ImmutableHolidayCalendar.Meta.INSTANCE;
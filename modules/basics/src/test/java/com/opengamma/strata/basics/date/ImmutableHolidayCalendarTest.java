@@ -849,6 +849,55 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(HOLCAL_MON_WED.daysBetween(start, end), expected);
   }
 
+  public void test_shift_daysBetween_ranks() {
+    Random random = new Random(547698);
+    ImmutableHolidayCalendar cal1 = randomCalendar(TEST_ID, random, 2012, 2020, SATURDAY, SUNDAY);
+    ImmutableHolidayCalendar cal2 = randomCalendar(TEST_ID2, random, 2016, 2024, FRIDAY, SATURDAY);
+    HolidayCalendar combined = cal1.combinedWith(cal2);
+    for (HolidayCalendar cal : ImmutableList.of(cal1, cal2, combined)) {
+      for (int i = 0; i < 200; i++) {
+        LocalDate date = date(2010, 1, 1).plusDays(random.nextInt(365 * 16));
+        int amount = random.nextInt(1200) - 600;
+        assertEquals(cal.shift(date, amount), shiftByDays(cal, date, amount));
+        LocalDate end = date.plusDays(random.nextInt(1500));
+        assertEquals(cal.daysBetween(date, end), LocalDateUtils.stream(date, end).filter(cal::isBusinessDay).count());
+      }
+      assertEquals(cal.next(date(2018, 12, 31)), shiftByDays(cal, date(2018, 12, 31), 1));
+      assertEquals(cal.previous(date(2016, 1, 1)), shiftByDays(cal, date(2016, 1, 1), -1));
+    }
+  }
+
+  // creates a calendar with random holidays
+  private static ImmutableHolidayCalendar randomCalendar(
+      HolidayCalendarId id,
+      Random random,
+      int startYear,
+      int endYearExclusive,
+      DayOfWeek firstWeekendDay,
+      DayOfWeek secondWeekendDay) {
+
+    SortedSet<LocalDate> holidays = new TreeSet<>();
+    holidays.add(date(startYear, 1, 1));
+    holidays.add(date(endYearExclusive - 1, 12, 25));
+    for (int i = 0; i < 10 * (endYearExclusive - startYear); i++) {
+      holidays.add(date(startYear, 1, 1).plusDays(random.nextInt(365 * (endYearExclusive - startYear))));
+    }
+    return ImmutableHolidayCalendar.of(id, holidays, firstWeekendDay, secondWeekendDay);
+  }
+
+  // shifts the date by checking each day in turn
+  private static LocalDate shiftByDays(HolidayCalendar cal, LocalDate date, int amount) {
+    int step = amount > 0 ? 1 : -1;
+    LocalDate adjusted = date;
+    for (int i = 0; i < Math.abs(amount); i++) {
+      adjusted = adjusted.plusDays(step);
+      while (cal.isHoliday(adjusted)) {
+        adjusted = adjusted.plusDays(step);
+      }
+    }
+    return adjusted;
+  }
+
   //-------------------------------------------------------------------------
   public void test_combinedWith() {
     Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
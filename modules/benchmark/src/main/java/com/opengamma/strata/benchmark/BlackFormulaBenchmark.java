@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Benchmarks for {@link BlackFormulaRepository}.
+ * <p>
+ * Each benchmark evaluates the formula for a fixed set of 1000 randomly generated options,
+ * thus the reported time is per 1000 evaluations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlackFormulaBenchmark {
+
+  private static final int SIZE = 1000;
+
+  private final double[] forwards = new double[SIZE];
+  private final double[] strikes = new double[SIZE];
+  private final double[] expiries = new double[SIZE];
+  private final double[] vols = new double[SIZE];
+  private final boolean[] isCalls = new boolean[SIZE];
+  private final double[] prices = new double[SIZE];
+
+  /**
+   * Sets up the benchmark.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(1L);
+    for (int i = 0; i < SIZE; i++) {
+      forwards[i] = 0.01 + 0.04 * random.nextDouble();
+      strikes[i] = forwards[i] * (0.5 + random.nextDouble());
+      expiries[i] = 0.1 + 10d * random.nextDouble();
+      vols[i] = 0.1 + 0.5 * random.nextDouble();
+      isCalls[i] = random.nextBoolean();
+      prices[i] = BlackFormulaRepository.price(forwards[i], strikes[i], expiries[i], vols[i], isCalls[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the price.
+   *
+   * @return the sum of the prices
+   */
+  @Benchmark
+  public double price() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += BlackFormulaRepository.price(forwards[i], strikes[i], expiries[i], vols[i], isCalls[i]);
+    }
+    return total;
+  }
+
+  /**
+   * Benchmarks the price and its derivatives.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void priceAdjoint(Blackhole blackhole) {
+    for (int i = 0; i < SIZE; i++) {
+      blackhole.consume(BlackFormulaRepository.priceAdjoint(forwards[i], strikes[i], expiries[i], vols[i], isCalls[i]));
+    }
+  }
+
+  /**
+   * Benchmarks the implied volatility.
+   *
+   * @return the sum of the implied volatilities
+   */
+  @Benchmark
+  public double impliedVolatility() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], expiries[i], isCalls[i]);
+    }
+    return total;
+  }
+
+}
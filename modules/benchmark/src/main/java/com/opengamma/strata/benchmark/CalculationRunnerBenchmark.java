@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.measure.StandardComponents.marketDataFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Benchmarks for the calculation engine.
+ * <p>
+ * This runs present value and PV01 over a portfolio from {@link SyntheticPortfolio}
+ * using either the standard multi-threaded or the work-stealing {@link CalculationTaskRunner}.
+ * The market data is built once in the setup, including curve calibration and scenario perturbation,
+ * thus the benchmark measures the calculation tasks only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  @Param({"10000"})
+  public int tradeCount;
+  /**
+   * The number of scenarios.
+   */
+  @Param({"1", "10"})
+  public int scenarioCount;
+  /**
+   * Whether to use the work-stealing runner.
+   */
+  @Param({"false", "true"})
+  public boolean workStealing;
+
+  private CalculationTaskRunner runner;
+  private CalculationRules rules;
+  private List<SwapTrade> trades;
+  private List<Column> columns;
+  private CalculationTasks tasks;
+  private ScenarioMarketData marketData;
+
+  /**
+   * Sets up the benchmark.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    runner = workStealing ? CalculationTaskRunner.ofWorkStealing() : CalculationTaskRunner.ofMultiThreaded();
+    rules = CalculationRules.of(StandardComponents.calculationFunctions(), SyntheticMarketData.ratesLookup());
+    trades = SyntheticPortfolio.swapTrades(tradeCount, 1L, REF_DATA);
+    columns = ImmutableList.of(
+        Column.of(Measures.PRESENT_VALUE),
+        Column.of(Measures.PV01_CALIBRATED_SUM));
+    tasks = CalculationTasks.of(rules, trades, columns, REF_DATA);
+    MarketDataRequirements reqs = MarketDataRequirements.of(rules, trades, columns, REF_DATA);
+    marketData = marketDataFactory().createMultiScenario(
+        reqs,
+        SyntheticMarketData.marketDataConfig(),
+        SyntheticMarketData.quotes(),
+        REF_DATA,
+        SyntheticMarketData.scenarioDefinition(scenarioCount, 1L));
+  }
+
+  /**
+   * Tears down the benchmark.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the calculation of the tasks.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculateMultiScenario() {
+    return runner.calculateMultiScenario(tasks, marketData, REF_DATA);
+  }
+
+  /**
+   * Benchmarks the creation of the tasks, which includes resolving the trades.
+   *
+   * @return the tasks
+   */
+  @Benchmark
+  public CalculationTasks createTasks() {
+    return CalculationTasks.of(rules, trades, columns, REF_DATA);
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks for {@link RatesCurveCalibrator}.
+ * <p>
+ * This calibrates the three curve USD group from {@link SyntheticMarketData}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.standard();
+
+  private RatesCurveGroupDefinition curveGroupDefn;
+  private ImmutableMarketData quotes;
+  private ImmutableMarketData shiftedQuotes;
+
+  /**
+   * Sets up the benchmark.
+   */
+  @Setup
+  public void setup() {
+    curveGroupDefn = SyntheticMarketData.curveGroupDefinition();
+    quotes = SyntheticMarketData.quotes();
+    shiftedQuotes = SyntheticMarketData.quotes(1L, 5d);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks calibration to the base quotes.
+   *
+   * @return the calibrated provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(curveGroupDefn, quotes, REF_DATA);
+  }
+
+  /**
+   * Benchmarks calibration to randomly shifted quotes.
+   *
+   * @return the calibrated provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateShifted() {
+    return CALIBRATOR.calibrate(curveGroupDefn, shiftedQuotes, REF_DATA);
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Benchmarks for the bound interpolators of {@link CurveInterpolators}.
+ * <p>
+ * The interpolators are bound to a 20 node curve shaped like a discount factor curve.
+ * Each evaluation benchmark evaluates 1000 randomly generated points,
+ * thus the reported time is per 1000 evaluations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveInterpolatorBenchmark {
+
+  private static final int SIZE = 1000;
+  private static final DoubleArray X_VALUES = DoubleArray.of(
+      0.08, 0.17, 0.25, 0.5, 0.75, 1, 1.5, 2, 3, 4, 5, 6, 7, 8, 9, 10, 15, 20, 25, 30);
+  private static final DoubleArray Y_VALUES = X_VALUES.map(x -> Math.exp(-(0.015 + 0.0005 * x) * x));
+  private static final CurveExtrapolator EXTRAPOLATOR = CurveExtrapolators.FLAT;
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({
+      "Linear",
+      "LogLinear",
+      "DoubleQuadratic",
+      "NaturalSplineNonnegativityCubic",
+      "LogNaturalSplineMonotoneCubic",
+      "ProductNaturalSpline",
+      "PiecewiseCubicHermiteMonotonicity"})
+  public String interpolatorName;
+
+  private CurveInterpolator interpolator;
+  private BoundCurveInterpolator bound;
+  private final double[] points = new double[SIZE];
+
+  /**
+   * Sets up the benchmark.
+   */
+  @Setup
+  public void setup() {
+    interpolator = CurveInterpolator.of(interpolatorName);
+    bound = interpolator.bind(X_VALUES, Y_VALUES, EXTRAPOLATOR, EXTRAPOLATOR);
+    Random random = new Random(1L);
+    for (int i = 0; i < SIZE; i++) {
+      points[i] = X_VALUES.get(0) + random.nextDouble() * (X_VALUES.get(X_VALUES.size() - 1) - X_VALUES.get(0));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks binding the interpolator to the nodes.
+   *
+   * @return the bound interpolator
+   */
+  @Benchmark
+  public BoundCurveInterpolator bind() {
+    return interpolator.bind(X_VALUES, Y_VALUES, EXTRAPOLATOR, EXTRAPOLATOR);
+  }
+
+  /**
+   * Benchmarks interpolation.
+   *
+   * @return the sum of the interpolated values
+   */
+  @Benchmark
+  public double interpolate() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += bound.interpolate(points[i]);
+    }
+    return total;
+  }
+
+  /**
+   * Benchmarks the first derivative.
+   *
+   * @return the sum of the first derivatives
+   */
+  @Benchmark
+  public double firstDerivative() {
+    double total = 0d;
+    for (int i = 0; i < SIZE; i++) {
+      total += bound.firstDerivative(points[i]);
+    }
+    return total;
+  }
+
+  /**
+   * Benchmarks the parameter sensitivity.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void parameterSensitivity(Blackhole blackhole) {
+    for (int i = 0; i < SIZE; i++) {
+      blackhole.consume(bound.parameterSensitivity(points[i]));
+    }
+  }
+
+}
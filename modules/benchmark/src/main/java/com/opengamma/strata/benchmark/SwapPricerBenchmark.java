@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Benchmarks for {@link DiscountingSwapTradePricer}.
+ * <p>
+ * The single trade benchmarks price a spot starting fixed vs LIBOR 3M swap of the specified tenor.
+ * The portfolio benchmarks price 100 trades from {@link SyntheticPortfolio}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricerBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapTradePricer PRICER = DiscountingSwapTradePricer.DEFAULT;
+
+  /**
+   * The tenor of the single swap, in years.
+   */
+  @Param({"2", "10", "30"})
+  public int tenorYears;
+
+  private ImmutableRatesProvider provider;
+  private ResolvedSwapTrade trade;
+  private List<ResolvedSwapTrade> portfolio;
+
+  /**
+   * Sets up the benchmark.
+   */
+  @Setup
+  public void setup() {
+    provider = SyntheticMarketData.ratesProvider(REF_DATA);
+    trade = USD_FIXED_6M_LIBOR_3M
+        .createTrade(SyntheticMarketData.VALUATION_DATE, Tenor.ofYears(tenorYears), BuySell.BUY, 1e8, 0.02, REF_DATA)
+        .resolve(REF_DATA);
+    portfolio = SyntheticPortfolio.resolvedSwapTrades(100, 1L, REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Benchmarks the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(trade, provider);
+  }
+
+  /**
+   * Benchmarks the present value point sensitivity.
+   *
+   * @return the point sensitivity
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(trade, provider);
+  }
+
+  /**
+   * Benchmarks the present value parameter sensitivity, including the conversion from point sensitivity.
+   *
+   * @return the parameter sensitivity
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities presentValueParameterSensitivity() {
+    return provider.parameterSensitivity(PRICER.presentValueSensitivity(trade, provider));
+  }
+
+  /**
+   * Benchmarks the present value of a portfolio.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void portfolioPresentValue(Blackhole blackhole) {
+    for (ResolvedSwapTrade portfolioTrade : portfolio) {
+      blackhole.consume(PRICER.presentValue(portfolioTrade, provider));
+    }
+  }
+
+  /**
+   * Benchmarks the present value parameter sensitivity of a portfolio.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void portfolioPresentValueParameterSensitivity(Blackhole blackhole) {
+    for (ResolvedSwapTrade portfolioTrade : portfolio) {
+      blackhole.consume(provider.parameterSensitivity(PRICER.presentValueSensitivity(portfolioTrade, provider)));
+    }
+  }
+
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_6M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFilter;
+import com.opengamma.strata.calc.marketdata.PerturbationMapping;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.CurveParallelShifts;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FraCurveNode;
+import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
+import com.opengamma.strata.market.curve.node.IborIborSwapCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.deposit.type.IborFixingDepositTemplate;
+import com.opengamma.strata.product.fra.type.FraTemplate;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+import com.opengamma.strata.product.swap.type.IborIborSwapTemplate;
+
+/**
+ * Synthetic market data used by the benchmarks.
+ * <p>
+ * This provides a realistic USD multi-curve setup with three curves, an OIS discounting curve,
+ * a LIBOR 3M forward curve and a LIBOR 6M forward curve, each with nodes out to 30 years.
+ * <p>
+ * All data is produced deterministically, with any randomness driven by an explicit seed.
+ * As such, the same inputs are used for each run, allowing results to be compared across releases.
+ */
+public final class SyntheticMarketData {
+
+  /**
+   * The valuation date.
+   */
+  public static final LocalDate VALUATION_DATE = LocalDate.of(2019, 6, 14);
+  /**
+   * The curve group name.
+   */
+  public static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M-LIBOR6M");
+  /**
+   * The discounting curve name.
+   */
+  public static final CurveName DSC_CURVE_NAME = CurveName.of("USD-DSCON-OIS");
+  /**
+   * The LIBOR 3M forward curve name.
+   */
+  public static final CurveName FWD3_CURVE_NAME = CurveName.of("USD-LIBOR3M-FRAIRS");
+  /**
+   * The LIBOR 6M forward curve name.
+   */
+  public static final CurveName FWD6_CURVE_NAME = CurveName.of("USD-LIBOR6M-FRABS");
+
+  /** The scheme used for the quote identifiers. */
+  private static final String SCHEME = "BENCHMARK";
+  /** The swap tenors shared by the curves. */
+  private static final Tenor[] SWAP_TENORS = new Tenor[] {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_3Y, Tenor.TENOR_4Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y,
+      Tenor.TENOR_10Y, Tenor.TENOR_12Y, Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_25Y, Tenor.TENOR_30Y};
+  /** The short OIS tenors. */
+  private static final Tenor[] OIS_SHORT_TENORS = new Tenor[] {
+      Tenor.TENOR_1M, Tenor.TENOR_2M, Tenor.TENOR_3M, Tenor.TENOR_6M, Tenor.TENOR_9M};
+  /** The OIS quotes, short tenors followed by swap tenors. */
+  private static final double[] OIS_QUOTES = new double[] {
+      0.02350, 0.02310, 0.02270, 0.02160, 0.02050,
+      0.01950, 0.01740, 0.01690, 0.01700, 0.01720, 0.01780,
+      0.01860, 0.01900, 0.01950, 0.01990, 0.02000, 0.01990};
+  /** The LIBOR 3M quotes, fixing, FRAs 3x6 and 6x9, then swap tenors. */
+  private static final double[] FWD3_QUOTES = new double[] {
+      0.02400, 0.02250, 0.02100,
+      0.02120, 0.01910, 0.01870, 0.01880, 0.01900, 0.01960,
+      0.02040, 0.02080, 0.02130, 0.02170, 0.02180, 0.02170};
+  /** The LIBOR 6M quotes, fixing, FRA 6x12, then basis swap spreads against LIBOR 3M. */
+  private static final double[] FWD6_QUOTES = new double[] {
+      0.02450, 0.02180,
+      0.00120, 0.00110, 0.00100, 0.00095, 0.00090, 0.00085,
+      0.00080, 0.00078, 0.00075, 0.00072, 0.00070, 0.00068};
+
+  /** The curve group definition. */
+  private static final RatesCurveGroupDefinition CURVE_GROUP_DEFN = RatesCurveGroupDefinition.builder()
+      .name(CURVE_GROUP_NAME)
+      .addCurve(curveDefinition(DSC_CURVE_NAME, oisNodes()), USD, USD_FED_FUND)
+      .addForwardCurve(curveDefinition(FWD3_CURVE_NAME, libor3mNodes()), USD_LIBOR_3M)
+      .addForwardCurve(curveDefinition(FWD6_CURVE_NAME, libor6mNodes()), USD_LIBOR_6M)
+      .build();
+
+  /**
+   * Restricted constructor.
+   */
+  private SyntheticMarketData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the curve group definition.
+   *
+   * @return the curve group definition
+   */
+  public static RatesCurveGroupDefinition curveGroupDefinition() {
+    return CURVE_GROUP_DEFN;
+  }
+
+  /**
+   * Obtains the market data configuration, used to calibrate the curves in the calculation engine.
+   *
+   * @return the market data configuration
+   */
+  public static MarketDataConfig marketDataConfig() {
+    return MarketDataConfig.builder()
+        .add(CURVE_GROUP_NAME, CURVE_GROUP_DEFN)
+        .build();
+  }
+
+  /**
+   * Obtains the rates lookup, used to find the curves in the calculation engine.
+   *
+   * @return the rates lookup
+   */
+  public static RatesMarketDataLookup ratesLookup() {
+    return RatesMarketDataLookup.of(CURVE_GROUP_DEFN);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the base market quotes used to calibrate the curves.
+   *
+   * @return the market quotes
+   */
+  public static ImmutableMarketData quotes() {
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VALUATION_DATE);
+    addQuotes(builder, "OIS", OIS_QUOTES, 0d, null);
+    addQuotes(builder, "LIBOR3M", FWD3_QUOTES, 0d, null);
+    addQuotes(builder, "LIBOR6M", FWD6_QUOTES, 0d, null);
+    return builder.build();
+  }
+
+  /**
+   * Obtains market quotes that have been randomly perturbed from the base quotes.
+   * <p>
+   * Each quote is shifted by a uniformly distributed amount of up to the specified number of basis points.
+   * The same seed always produces the same quotes.
+   *
+   * @param seed  the random seed
+   * @param maxShiftBps  the maximum absolute shift, in basis points
+   * @return the market quotes
+   */
+  public static ImmutableMarketData quotes(long seed, double maxShiftBps) {
+    Random random = new Random(seed);
+    double maxShift = maxShiftBps * 1e-4;
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VALUATION_DATE);
+    addQuotes(builder, "OIS", OIS_QUOTES, maxShift, random);
+    addQuotes(builder, "LIBOR3M", FWD3_QUOTES, maxShift, random);
+    addQuotes(builder, "LIBOR6M", FWD6_QUOTES, maxShift, random);
+    return builder.build();
+  }
+
+  /**
+   * Calibrates the curves to the base quotes.
+   *
+   * @param refData  the reference data
+   * @return the calibrated rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider(ReferenceData refData) {
+    return RatesCurveCalibrator.standard().calibrate(CURVE_GROUP_DEFN, quotes(), refData);
+  }
+
+  /**
+   * Obtains a scenario definition applying random parallel shifts to all curves.
+   * <p>
+   * The first scenario is always the base scenario, with no shift applied.
+   * The other scenarios shift the calibrated curves by up to 50 basis points.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @param seed  the random seed
+   * @return the scenario definition
+   */
+  public static ScenarioDefinition scenarioDefinition(int scenarioCount, long seed) {
+    Random random = new Random(seed);
+    double[] shifts = new double[scenarioCount];
+    for (int i = 1; i < scenarioCount; i++) {
+      shifts[i] = (random.nextDouble() - 0.5) * 0.01;
+    }
+    PerturbationMapping<Curve> mapping = PerturbationMapping.of(
+        MarketDataFilter.ofIdType(CurveId.class),
+        CurveParallelShifts.absolute(shifts));
+    return ScenarioDefinition.ofMappings(mapping);
+  }
+
+  //-------------------------------------------------------------------------
+  // adds the quotes for a single curve, optionally applying a random shift
+  private static void addQuotes(
+      ImmutableMarketDataBuilder builder,
+      String curve,
+      double[] quotes,
+      double maxShift,
+      Random random) {
+
+    for (int i = 0; i < quotes.length; i++) {
+      double shift = random != null ? (2d * random.nextDouble() - 1d) * maxShift : 0d;
+      builder.addValue(quoteId(curve, i), quotes[i] + shift);
+    }
+  }
+
+  // the identifier of a quote
+  private static QuoteId quoteId(String curve, int index) {
+    return QuoteId.of(StandardId.of(SCHEME, curve + "-" + index));
+  }
+
+  // creates a curve definition
+  private static InterpolatedNodalCurveDefinition curveDefinition(CurveName name, List<CurveNode> nodes) {
+    return InterpolatedNodalCurveDefinition.builder()
+        .name(name)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(DayCounts.ACT_365F)
+        .interpolator(CurveInterpolators.NATURAL_SPLINE)
+        .extrapolatorLeft(CurveExtrapolators.FLAT)
+        .extrapolatorRight(CurveExtrapolators.FLAT)
+        .nodes(nodes)
+        .build();
+  }
+
+  // OIS swaps at all tenors
+  private static List<CurveNode> oisNodes() {
+    List<CurveNode> nodes = new ArrayList<>();
+    for (Tenor tenor : OIS_SHORT_TENORS) {
+      nodes.add(FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, tenor, USD_FIXED_1Y_FED_FUND_OIS),
+          quoteId("OIS", nodes.size())));
+    }
+    for (Tenor tenor : SWAP_TENORS) {
+      nodes.add(FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, tenor, USD_FIXED_1Y_FED_FUND_OIS),
+          quoteId("OIS", nodes.size())));
+    }
+    return nodes;
+  }
+
+  // fixing, FRAs and fixed vs LIBOR 3M swaps
+  private static List<CurveNode> libor3mNodes() {
+    List<CurveNode> nodes = new ArrayList<>();
+    nodes.add(IborFixingDepositCurveNode.of(IborFixingDepositTemplate.of(USD_LIBOR_3M), quoteId("LIBOR3M", 0)));
+    nodes.add(FraCurveNode.of(FraTemplate.of(Period.ofMonths(3), USD_LIBOR_3M), quoteId("LIBOR3M", 1)));
+    nodes.add(FraCurveNode.of(FraTemplate.of(Period.ofMonths(6), USD_LIBOR_3M), quoteId("LIBOR3M", 2)));
+    for (Tenor tenor : SWAP_TENORS) {
+      nodes.add(FixedIborSwapCurveNode.of(
+          FixedIborSwapTemplate.of(Period.ZERO, tenor, USD_FIXED_6M_LIBOR_3M),
+          quoteId("LIBOR3M", nodes.size())));
+    }
+    return nodes;
+  }
+
+  // fixing, FRA and LIBOR 3M vs LIBOR 6M basis swaps
+  private static List<CurveNode> libor6mNodes() {
+    List<CurveNode> nodes = new ArrayList<>();
+    nodes.add(IborFixingDepositCurveNode.of(IborFixingDepositTemplate.of(USD_LIBOR_6M), quoteId("LIBOR6M", 0)));
+    nodes.add(FraCurveNode.of(FraTemplate.of(Period.ofMonths(6), USD_LIBOR_6M), quoteId("LIBOR6M", 1)));
+    for (Tenor tenor : SWAP_TENORS) {
+      nodes.add(IborIborSwapCurveNode.of(
+          IborIborSwapTemplate.of(Period.ZERO, tenor, USD_LIBOR_3M_LIBOR_6M),
+          quoteId("LIBOR6M", nodes.size())));
+    }
+    return nodes;
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Synthetic portfolios used by the benchmarks.
+ * <p>
+ * The trades are priced against the curves in {@link SyntheticMarketData}.
+ * The mix of trades is 70% fixed vs LIBOR 3M swaps, 15% OIS and 15% LIBOR 3M vs 6M basis swaps,
+ * with a range of tenors, forward starts and notionals.
+ * <p>
+ * All trades are produced deterministically from an explicit seed.
+ */
+public final class SyntheticPortfolio {
+
+  /** The scheme used for the trade identifiers. */
+  private static final String SCHEME = "BENCHMARK";
+  /** The tenors used when creating swaps. */
+  private static final Tenor[] TENORS = new Tenor[] {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_3Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y,
+      Tenor.TENOR_10Y, Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+  /** The forward start periods used when creating swaps. */
+  private static final Period[] FORWARD_STARTS = new Period[] {
+      Period.ZERO, Period.ZERO, Period.ZERO, Period.ofMonths(1), Period.ofMonths(3),
+      Period.ofMonths(6), Period.ofYears(1), Period.ofYears(2)};
+
+  /**
+   * Restricted constructor.
+   */
+  private SyntheticPortfolio() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a portfolio of swap trades.
+   * <p>
+   * The trades are traded on the valuation date of {@link SyntheticMarketData}.
+   * The same count and seed always produce the same trades.
+   *
+   * @param count  the number of trades
+   * @param seed  the random seed
+   * @param refData  the reference data, used to create the trades
+   * @return the trades
+   */
+  public static List<SwapTrade> swapTrades(int count, long seed, ReferenceData refData) {
+    Random random = new Random(seed);
+    LocalDate tradeDate = SyntheticMarketData.VALUATION_DATE;
+    ImmutableList.Builder<SwapTrade> builder = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      Tenor tenor = TENORS[random.nextInt(TENORS.length)];
+      Period forwardStart = FORWARD_STARTS[random.nextInt(FORWARD_STARTS.length)];
+      BuySell buySell = random.nextBoolean() ? BuySell.BUY : BuySell.SELL;
+      double notional = (1 + random.nextInt(100)) * 1_000_000d;
+      double type = random.nextDouble();
+      SwapTrade trade;
+      if (type < 0.70) {
+        double fixedRate = 0.0150 + random.nextInt(200) * 1e-5;
+        trade = USD_FIXED_6M_LIBOR_3M.createTrade(
+            tradeDate, forwardStart, tenor, buySell, notional, fixedRate, refData);
+      } else if (type < 0.85) {
+        double fixedRate = 0.0140 + random.nextInt(200) * 1e-5;
+        trade = USD_FIXED_1Y_FED_FUND_OIS.createTrade(
+            tradeDate, forwardStart, tenor, buySell, notional, fixedRate, refData);
+      } else {
+        double spread = random.nextInt(20) * 1e-4;
+        trade = USD_LIBOR_3M_LIBOR_6M.createTrade(
+            tradeDate, forwardStart, tenor, buySell, notional, spread, refData);
+      }
+      TradeInfo info = trade.getInfo().toBuilder()
+          .id(StandardId.of(SCHEME, "SWAP-" + i))
+          .build();
+      builder.add(trade.withInfo(info));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a portfolio of resolved swap trades.
+   * <p>
+   * This resolves the trades produced by {@link #swapTrades(int, long, ReferenceData)}.
+   *
+   * @param count  the number of trades
+   * @param seed  the random seed
+   * @param refData  the reference data, used to create and resolve the trades
+   * @return the resolved trades
+   */
+  public static List<ResolvedSwapTrade> resolvedSwapTrades(int count, long seed, ReferenceData refData) {
+    return swapTrades(count, seed, refData).stream()
+        .map(trade -> trade.resolve(refData))
+        .collect(toImmutableList());
+  }
+
+}
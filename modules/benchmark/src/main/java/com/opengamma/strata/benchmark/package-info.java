@@ -0,0 +1,14 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for pricing, calibration and the calculation engine.
+ * <p>
+ * The benchmarks use the synthetic trades and market data in
+ * {@link com.opengamma.strata.benchmark.SyntheticPortfolio SyntheticPortfolio} and
+ * {@link com.opengamma.strata.benchmark.SyntheticMarketData SyntheticMarketData}.
+ */
+package com.opengamma.strata.benchmark;
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -66,6 +67,41 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation runner capable of performing calculations.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The calculations are split into batches of similar cost, which idle threads can steal from busy ones.
+   * The results of each batch are passed to the listener together, which reduces contention.
+   * This is more efficient than {@link #ofMultiThreaded()} when there are a large number of small calculations,
+   * such as a portfolio of many simple trades.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing() {
+    return DefaultCalculationRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a work-stealing calculation runner capable of performing calculations, specifying the pool.
+   * <p>
+   * The calculations are split into batches of similar cost, as described in {@link #ofWorkStealing()}.
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing(ForkJoinPool pool) {
+    return DefaultCalculationRunner.ofWorkStealing(pool);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
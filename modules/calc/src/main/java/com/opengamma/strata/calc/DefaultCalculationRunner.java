@@ -7,6 +7,7 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -59,6 +60,29 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a work-stealing calculation runner capable of performing calculations.
+   * <p>
+   * This factory creates a fork-join pool basing the number of threads on the number of available processors.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing());
+  }
+
+  /**
+   * Creates a work-stealing calculation runner capable of performing calculations, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing(pool));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
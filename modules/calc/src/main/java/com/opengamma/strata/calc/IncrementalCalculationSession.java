@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.BuiltScenarioMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.calc.runner.CalculationTask;
+import com.opengamma.strata.calc.runner.CalculationTaskCell;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation session that recalculates incrementally when some of the market data changes.
+ * <p>
+ * The session holds a fixed set of calculation tasks, the market data built for them and the results.
+ * Once the initial results have been calculated using {@link #calculate(MarketData)}, changes to the
+ * observable market data, such as quotes, are applied using one of the {@code update} methods.
+ * <p>
+ * When updating, only the market data that depends on the changed quotes, directly or indirectly, is built again.
+ * For example, a curve group is only calibrated again if one of its input quotes has changed.
+ * Then, only the rows of the results whose calculations require any of the changed market data are calculated again.
+ * The remaining rows are taken from the previous results.
+ * <p>
+ * The market data is built using {@link MarketDataFactory#updateMultiScenario}.
+ * The calculations are performed using the {@link CalculationTaskRunner}, which must not be closed
+ * while the session is in use.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class IncrementalCalculationSession {
+
+  /**
+   * The runner used to perform the calculations.
+   */
+  private final CalculationTaskRunner taskRunner;
+  /**
+   * The factory used to build the market data.
+   */
+  private final MarketDataFactory marketDataFactory;
+  /**
+   * The tasks that perform the calculations.
+   */
+  private final CalculationTasks tasks;
+  /**
+   * The configuration used to build the market data.
+   */
+  private final MarketDataConfig marketDataConfig;
+  /**
+   * The definition of the scenarios.
+   */
+  private final ScenarioDefinition scenarioDefinition;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The market data required by all the tasks.
+   */
+  private final MarketDataRequirements requirements;
+  /**
+   * The tasks, keyed by row index.
+   */
+  private final ImmutableListMultimap<Integer, CalculationTask> tasksByRow;
+  /**
+   * The row indices, keyed by the ID of the market data required by the tasks of the row.
+   */
+  private final ImmutableListMultimap<MarketDataId<?>, Integer> rowsByMarketDataId;
+
+  /**
+   * The market data supplied by the user, null until calculated.
+   */
+  private MarketData suppliedData;
+  /**
+   * The market data built for the calculations, null until calculated.
+   */
+  private BuiltScenarioMarketData marketData;
+  /**
+   * The results of the calculations, null until calculated.
+   */
+  private Results results;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a session for the specified tasks.
+   *
+   * @param taskRunner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data
+   * @param tasks  the tasks that perform the calculations
+   * @param marketDataConfig  the configuration used to build the market data
+   * @param scenarioDefinition  the definition of the scenarios
+   * @param refData  the reference data
+   * @return the session
+   */
+  public static IncrementalCalculationSession of(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      CalculationTasks tasks,
+      MarketDataConfig marketDataConfig,
+      ScenarioDefinition scenarioDefinition,
+      ReferenceData refData) {
+
+    return new IncrementalCalculationSession(
+        taskRunner, marketDataFactory, tasks, marketDataConfig, scenarioDefinition, refData);
+  }
+
+  /**
+   * Obtains a session for the specified targets, columns and rules.
+   * <p>
+   * The targets are resolved using the reference data when the session is created.
+   *
+   * @param runner  the runner used to perform the calculations
+   * @param marketDataFactory  the factory used to build the market data
+   * @param calculationRules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the configuration for the columns that will be calculated
+   * @param marketDataConfig  the configuration used to build the market data
+   * @param scenarioDefinition  the definition of the scenarios
+   * @param refData  the reference data
+   * @return the session
+   */
+  public static IncrementalCalculationSession of(
+      CalculationRunner runner,
+      MarketDataFactory marketDataFactory,
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      MarketDataConfig marketDataConfig,
+      ScenarioDefinition scenarioDefinition,
+      ReferenceData refData) {
+
+    CalculationTasks tasks = CalculationTasks.of(calculationRules, targets, columns, refData);
+    return new IncrementalCalculationSession(
+        runner.getTaskRunner(), marketDataFactory, tasks, marketDataConfig, scenarioDefinition, refData);
+  }
+
+  // restricted constructor
+  private IncrementalCalculationSession(
+      CalculationTaskRunner taskRunner,
+      MarketDataFactory marketDataFactory,
+      CalculationTasks tasks,
+      MarketDataConfig marketDataConfig,
+      ScenarioDefinition scenarioDefinition,
+      ReferenceData refData) {
+
+    this.taskRunner = ArgChecker.notNull(taskRunner, "taskRunner");
+    this.marketDataFactory = ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.marketDataConfig = ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    this.scenarioDefinition = ArgChecker.notNull(scenarioDefinition, "scenarioDefinition");
+    this.refData = ArgChecker.notNull(refData, "refData");
+
+    // the requirements of each task are only determined once
+    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
+    ImmutableListMultimap.Builder<Integer, CalculationTask> tasksByRowBuilder = ImmutableListMultimap.builder();
+    Map<MarketDataId<?>, Set<Integer>> rowsById = new HashMap<>();
+    for (CalculationTask task : tasks.getTasks()) {
+      MarketDataRequirements taskRequirements = task.requirements(refData);
+      requirementsBuilder.addRequirements(taskRequirements);
+      tasksByRowBuilder.put(task.getRowIndex(), task);
+      for (ObservableId id : taskRequirements.getObservables()) {
+        rowsById.computeIfAbsent(id, k -> new HashSet<>()).add(task.getRowIndex());
+      }
+      for (MarketDataId<?> id : taskRequirements.getNonObservables()) {
+        rowsById.computeIfAbsent(id, k -> new HashSet<>()).add(task.getRowIndex());
+      }
+    }
+    ImmutableListMultimap.Builder<MarketDataId<?>, Integer> rowsByIdBuilder = ImmutableListMultimap.builder();
+    rowsById.forEach(rowsByIdBuilder::putAll);
+    this.requirements = requirementsBuilder.build();
+    this.tasksByRow = tasksByRowBuilder.build();
+    this.rowsByMarketDataId = rowsByIdBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tasks that perform the calculations.
+   *
+   * @return the tasks
+   */
+  public CalculationTasks getTasks() {
+    return tasks;
+  }
+
+  /**
+   * Gets the market data built for the calculations.
+   *
+   * @return the market data
+   * @throws IllegalStateException if the results have not been calculated
+   */
+  public BuiltScenarioMarketData getMarketData() {
+    checkCalculated();
+    return marketData;
+  }
+
+  /**
+   * Gets the results of the calculations.
+   *
+   * @return the results
+   * @throws IllegalStateException if the results have not been calculated
+   */
+  public Results getResults() {
+    checkCalculated();
+    return results;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds all the market data and performs all the calculations.
+   * <p>
+   * This must be called before the session can be updated.
+   * It may be called again at any time to discard the state of the session.
+   *
+   * @param suppliedData  the market data supplied by the user
+   * @return the results of the calculations
+   */
+  public Results calculate(MarketData suppliedData) {
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    BuiltScenarioMarketData builtData = marketDataFactory.createMultiScenario(
+        requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    Results calculated = taskRunner.calculateMultiScenario(tasks, builtData, refData);
+    this.suppliedData = suppliedData;
+    this.marketData = builtData;
+    this.results = calculated;
+    return calculated;
+  }
+
+  /**
+   * Updates the results after some quotes have changed.
+   * <p>
+   * The quotes are combined with the market data supplied previously, replacing any existing values.
+   * Only the market data depending on the quotes is built again, and only the rows of the results
+   * depending on that market data are calculated again.
+   *
+   * @param changedQuotes  the new values of the quotes that have changed
+   * @return the results of the calculations
+   * @throws IllegalStateException if the results have not been calculated
+   */
+  public Results update(Map<? extends ObservableId, Double> changedQuotes) {
+    ArgChecker.notNull(changedQuotes, "changedQuotes");
+    checkCalculated();
+    MarketData updatedData = MarketData.of(suppliedData.getValuationDate(), changedQuotes).combinedWith(suppliedData);
+    return update(updatedData, changedQuotes.keySet());
+  }
+
+  /**
+   * Updates the results after some observable market data has changed.
+   * <p>
+   * The supplied data replaces the market data supplied previously. It must have the same valuation date.
+   * The changed IDs identify the observable data whose value has changed, either in the supplied data
+   * or in the observable data provider of the market data factory.
+   * Only the market data depending on the changed data is built again, and only the rows of the results
+   * depending on that market data are calculated again.
+   *
+   * @param suppliedData  the market data supplied by the user, including the changes
+   * @param changedIds  the IDs of the observable data whose value has changed
+   * @return the results of the calculations
+   * @throws IllegalStateException if the results have not been calculated
+   */
+  public Results update(MarketData suppliedData, Set<? extends ObservableId> changedIds) {
+    ArgChecker.notNull(suppliedData, "suppliedData");
+    ArgChecker.notNull(changedIds, "changedIds");
+    checkCalculated();
+    ArgChecker.isTrue(
+        suppliedData.getValuationDate().equals(this.suppliedData.getValuationDate()),
+        "Valuation date must not change, expected {} but was {}",
+        this.suppliedData.getValuationDate(),
+        suppliedData.getValuationDate());
+
+    BuiltScenarioMarketData builtData = marketDataFactory.updateMultiScenario(
+        marketData,
+        changedIds,
+        requirements,
+        marketDataConfig,
+        ScenarioMarketData.of(1, suppliedData),
+        refData,
+        scenarioDefinition);
+    BitSet rows = affectedRows(changedIds, marketData, builtData);
+    Results calculated = rows.isEmpty() ? results : recalculate(rows, builtData);
+    this.suppliedData = suppliedData;
+    this.marketData = builtData;
+    this.results = calculated;
+    return calculated;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the rows whose tasks require market data that has changed
+  private BitSet affectedRows(
+      Set<? extends ObservableId> changedIds,
+      BuiltScenarioMarketData previousData,
+      BuiltScenarioMarketData updatedData) {
+
+    Set<MarketDataId<?>> changed = new HashSet<>(changedIds);
+    for (MarketDataId<?> id : updatedData.getIds()) {
+      // market data that was not built again is the same instance as the previous value
+      // supplied data is added again, so it is compared by value
+      Object previousValue = previousData.findValue(id).orElse(null);
+      Object updatedValue = updatedData.getValue(id);
+      if (!Objects.equals(previousValue, updatedValue)) {
+        changed.add(id);
+      }
+    }
+    // market data that could not be built may have been built previously
+    changed.addAll(updatedData.getValueFailures().keySet());
+    changed.addAll(previousData.getValueFailures().keySet());
+
+    BitSet rows = new BitSet();
+    for (MarketDataId<?> id : changed) {
+      for (Integer row : rowsByMarketDataId.get(id)) {
+        rows.set(row);
+      }
+    }
+    return rows;
+  }
+
+  // calculates the rows again, taking the other rows from the previous results
+  private Results recalculate(BitSet rows, BuiltScenarioMarketData builtData) {
+    // the tasks are copied with the affected rows numbered consecutively, as required by the task runner
+    List<CalculationTask> rowTasks = new ArrayList<>();
+    int[] rowIndices = rows.stream().toArray();
+    for (int i = 0; i < rowIndices.length; i++) {
+      for (CalculationTask task : tasksByRow.get(rowIndices[i])) {
+        rowTasks.add(withRowIndex(task, i));
+      }
+    }
+    Results rowResults = taskRunner.calculateMultiScenario(
+        CalculationTasks.of(rowTasks, tasks.getColumns()), builtData, refData);
+
+    int columnCount = results.getColumnCount();
+    List<Result<?>> cells = new ArrayList<>(results.getCells());
+    for (int i = 0; i < rowIndices.length; i++) {
+      for (int column = 0; column < columnCount; column++) {
+        cells.set(rowIndices[i] * columnCount + column, rowResults.get(i, column));
+      }
+    }
+    return Results.of(results.getColumns(), cells);
+  }
+
+  // copies the task, changing the row index of the cells
+  private static CalculationTask withRowIndex(CalculationTask task, int rowIndex) {
+    ImmutableList.Builder<CalculationTaskCell> cells = ImmutableList.builder();
+    for (CalculationTaskCell cell : task.getCells()) {
+      cells.add(CalculationTaskCell.of(
+          rowIndex, cell.getColumnIndex(), cell.getMeasure(), cell.getReportingCurrency()));
+    }
+    return CalculationTask.of(task.getTarget(), task.getFunction(), task.getParameters(), cells.build());
+  }
+
+  // checks that the results have been calculated
+  private void checkCalculated() {
+    if (results == null) {
+      throw new IllegalStateException("Results must be calculated before the session can be used");
+    }
+  }
+
+}
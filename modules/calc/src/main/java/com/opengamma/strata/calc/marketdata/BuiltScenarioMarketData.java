@@ -37,6 +37,8 @@ import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotReader;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotWriter;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -171,6 +173,58 @@ public final class BuiltScenarioMarketData
     return underlying.getTimeSeries(id);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Writes this market data to a binary snapshot.
+   * <p>
+   * The snapshot includes the underlying market data and the failures.
+   * Use {@link #readSnapshot(MarketDataSnapshotReader)} to read the market data back.
+   *
+   * @param writer  the snapshot writer
+   * @throws IllegalArgumentException if a value cannot be written
+   */
+  public void writeSnapshot(MarketDataSnapshotWriter writer) {
+    writer.write(underlying);
+    writeFailures(writer, valueFailures);
+    writeFailures(writer, timeSeriesFailures);
+  }
+
+  // writes a map of failures
+  private static void writeFailures(MarketDataSnapshotWriter writer, Map<MarketDataId<?>, Failure> failures) {
+    writer.writeInt(failures.size());
+    for (Map.Entry<MarketDataId<?>, Failure> entry : failures.entrySet()) {
+      writer.writeObject(entry.getKey());
+      writer.writeObject(entry.getValue());
+    }
+  }
+
+  /**
+   * Reads market data from a binary snapshot.
+   * <p>
+   * This reads market data written by {@link #writeSnapshot(MarketDataSnapshotWriter)}.
+   *
+   * @param reader  the snapshot reader
+   * @return the market data
+   * @throws IllegalArgumentException if the snapshot is invalid
+   */
+  public static BuiltScenarioMarketData readSnapshot(MarketDataSnapshotReader reader) {
+    ImmutableScenarioMarketData underlying = reader.readScenarioMarketData();
+    Map<MarketDataId<?>, Failure> valueFailures = readFailures(reader);
+    Map<MarketDataId<?>, Failure> timeSeriesFailures = readFailures(reader);
+    return new BuiltScenarioMarketData(underlying, valueFailures, timeSeriesFailures);
+  }
+
+  // reads a map of failures
+  private static Map<MarketDataId<?>, Failure> readFailures(MarketDataSnapshotReader reader) {
+    int size = reader.readInt();
+    ImmutableMap.Builder<MarketDataId<?>, Failure> builder = ImmutableMap.builder();
+    for (int i = 0; i < size; i++) {
+      MarketDataId<?> id = (MarketDataId<?>) reader.readObject();
+      builder.put(id, (Failure) reader.readObject());
+    }
+    return builder.build();
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code BuiltScenarioMarketData}.
@@ -8,6 +8,7 @@ package com.opengamma.strata.calc.marketdata;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
@@ -209,6 +210,47 @@ final class BuiltScenarioMarketDataBuilder {
     return new BuiltScenarioMarketData(builder.build(), valueFailures, timeSeriesFailures);
   }
 
+  /**
+   * Builds a set of market data from the specified data in this builder.
+   * <p>
+   * Only the values and time series with the specified IDs are included, together with their failures.
+   * The number of scenarios is that of all the data in this builder.
+   * This is used to provide a market data function with the data it depends on,
+   * without copying all the data in the builder.
+   *
+   * @param valueIds  the IDs of the values to include
+   * @param timeSeriesIds  the IDs of the time series to include
+   * @return a set of market data from the specified data in this builder
+   */
+  BuiltScenarioMarketData build(Set<? extends MarketDataId<?>> valueIds, Set<ObservableId> timeSeriesIds) {
+    if (valuationDate.getScenarioCount() == 0) {
+      throw new IllegalArgumentException("Valuation date must be specified");
+    }
+    Map<MarketDataId<?>, MarketDataBox<?>> selectedValues = new HashMap<>();
+    Map<MarketDataId<?>, Failure> selectedValueFailures = new HashMap<>();
+    for (MarketDataId<?> id : valueIds) {
+      copyEntry(id, values, selectedValues);
+      copyEntry(id, valueFailures, selectedValueFailures);
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> selectedTimeSeries = new HashMap<>();
+    Map<MarketDataId<?>, Failure> selectedTimeSeriesFailures = new HashMap<>();
+    for (ObservableId id : timeSeriesIds) {
+      copyEntry(id, timeSeries, selectedTimeSeries);
+      copyEntry(id, timeSeriesFailures, selectedTimeSeriesFailures);
+    }
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.of(
+        Math.max(scenarioCount, 1), valuationDate, selectedValues, selectedTimeSeries);
+    return new BuiltScenarioMarketData(marketData, selectedValueFailures, selectedTimeSeriesFailures);
+  }
+
+  // copies the entry for the key from one map to another, if present
+  private static <K, V> void copyEntry(K key, Map<? super K, V> source, Map<? super K, V> destination) {
+    V value = source.get(key);
+    if (value != null) {
+      destination.put(key, value);
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static void checkBoxType(MarketDataId<?> id, MarketDataBox<?> box) {
     if (!id.getMarketDataType().isAssignableFrom(box.getMarketDataType())) {
@@ -10,10 +10,15 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
@@ -30,6 +35,10 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * If an executor is specified, non-observable market data is built concurrently using the executor.
+ * Each item of market data is built as soon as the market data it depends on has been built.
+ * Otherwise, market data is built in the calling thread, one level of the dependency tree at a time.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +51,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The executor used to build non-observable market data, null if data is built in the calling thread. */
+  private final Executor executor;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +64,35 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series
+   * that builds market data using an executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build non-observable market data, null to use the calling thread
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = executor;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -103,12 +136,105 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition) {
 
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  @Override
+  public BuiltScenarioMarketData updateMultiScenario(
+      BuiltScenarioMarketData previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    Set<MarketDataId<?>> affectedIds = new HashSet<>();
+    Map<MarketDataId<?>, Boolean> visited = new HashMap<>();
+    for (MarketDataNode child : root.getDependencies()) {
+      collectAffectedIds(child, changedIds, visited, affectedIds);
+    }
+    // The data not affected by the changes is copied from the previous data and is not built again.
+    // Values that failed previously are not copied, so they are built again
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    for (MarketDataId<?> id : previousData.getIds()) {
+      if (!affectedIds.contains(id)) {
+        copyValue(id, previousData, dataBuilder);
+      }
+    }
+    for (ObservableId id : previousData.getTimeSeriesIds()) {
+      dataBuilder.addTimeSeries(id, previousData.getTimeSeries(id));
+    }
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  // determines whether the data for the node is affected by the changes, recording the IDs of the affected data
+  private static boolean collectAffectedIds(
+      MarketDataNode node,
+      Set<? extends MarketDataId<?>> changedIds,
+      Map<MarketDataId<?>, Boolean> visited,
+      Set<MarketDataId<?>> affectedIds) {
+
+    // A time series is not affected by a change to the current value of the observable data
+    if (node.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+      return false;
+    }
+    MarketDataId<?> id = node.getId();
+    Boolean existing = visited.get(id);
+    if (existing != null) {
+      return existing;
+    }
+    // All dependencies are visited, so every affected ID is recorded
+    boolean affected = changedIds.contains(id);
+    for (MarketDataNode child : node.getDependencies()) {
+      affected |= collectAffectedIds(child, changedIds, visited, affectedIds);
+    }
+    if (affected) {
+      affectedIds.add(id);
+    }
+    visited.put(id, affected);
+    return affected;
+  }
+
+  // copies a value from the market data to the builder
+  private static <T> void copyValue(
+      MarketDataId<T> id,
+      BuiltScenarioMarketData marketData,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    dataBuilder.addBox(id, marketData.getValue(id));
+  }
+
+  /**
+   * Builds the market data in the dependency tree that is not already present in the builder.
+   *
+   * @param root  the root of the market data dependency tree
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the builder to which the market data is added
+   * @return the market data
+   */
+  private BuiltScenarioMarketData build(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    if (executor != null) {
+      return buildConcurrently(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+    }
+    BuiltScenarioMarketData builtData = dataBuilder.build();
+    MarketDataNode node = root;
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -128,48 +254,18 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
 
-    while (!root.isLeaf()) {
+    while (!node.isLeaf()) {
       // Effectively final reference to buildData which can be used in a lambda expression
       BuiltScenarioMarketData marketData = builtData;
 
       // The leaves of the dependency tree represent market data with no dependencies that can be built immediately
-      Pair<MarketDataNode, MarketDataRequirements> pair = root.withLeavesRemoved();
+      Pair<MarketDataNode, MarketDataRequirements> pair = node.withLeavesRemoved();
 
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
-
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      // Time series and observable data
+      addLeafData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -186,9 +282,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
 
       // Copy supplied data to the scenario data after applying perturbations
-      leafRequirements.getNonObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      addSuppliedData(leafRequirements, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // --------------------------------------------------------------------------------------------
 
@@ -196,11 +290,216 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       builtData = dataBuilder.build();
 
       // A copy of the dependency tree not including the leaf nodes
-      root = pair.getFirst();
+      node = pair.getFirst();
     }
     return builtData;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Builds market data using the executor.
+   * <p>
+   * Time series, observable data and supplied data are added to the builder first, in the calling thread.
+   * A task is then submitted to the executor for each item of non-observable market data that must be built.
+   * Each task starts as soon as the tasks building its own dependencies have completed,
+   * thus independent market data is built concurrently without waiting for the rest of its level in the tree.
+   * Each function is given a set of market data holding only the data it depends on.
+   *
+   * @param root  the root of the market data dependency tree
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the builder to which the market data is added
+   * @return the market data
+   */
+  private BuiltScenarioMarketData buildConcurrently(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Separate the data that can be added immediately from the data that must be built by a function.
+    // The same item of market data can appear many times in the tree, but it is only built once
+    BuiltScenarioMarketData builtData = dataBuilder.build();
+    MarketDataRequirementsBuilder leafRequirements = MarketDataRequirements.builder();
+    Map<MarketDataId<?>, MarketDataNode> nodesToBuild = new LinkedHashMap<>();
+    collectNodes(root, suppliedData, builtData, leafRequirements, nodesToBuild);
+    MarketDataRequirements requirements = leafRequirements.build();
+    addLeafData(requirements, builtData, suppliedData, refData, scenarioDefinition, dataBuilder);
+    addSuppliedData(requirements, suppliedData, refData, scenarioDefinition, dataBuilder);
+
+    // Create the tasks, each of which depends on the tasks building the data it requires
+    Map<MarketDataId<?>, CompletableFuture<Void>> futures = new HashMap<>();
+    for (MarketDataNode node : nodesToBuild.values()) {
+      scheduleNode(node, nodesToBuild, futures, marketDataConfig, refData, scenarioDefinition, dataBuilder);
+    }
+    try {
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException ex) {
+      // Rethrow the exception thrown when building the data, as would happen when building in the calling thread
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return dataBuilder.build();
+  }
+
+  // recursively collects the nodes in the tree, separating those that must be built by a function
+  private static void collectNodes(
+      MarketDataNode node,
+      ScenarioMarketData suppliedData,
+      BuiltScenarioMarketData builtData,
+      MarketDataRequirementsBuilder leafRequirements,
+      Map<MarketDataId<?>, MarketDataNode> nodesToBuild) {
+
+    for (MarketDataNode child : node.getDependencies()) {
+      MarketDataId<?> id = child.getId();
+      if (child.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+        leafRequirements.addTimeSeries((ObservableId) id);
+      } else if (id instanceof ObservableId || suppliedData.containsValue(id) || builtData.containsValue(id)) {
+        leafRequirements.addValues(id);
+      } else if (!nodesToBuild.containsKey(id)) {
+        nodesToBuild.put(id, child);
+        collectNodes(child, suppliedData, builtData, leafRequirements, nodesToBuild);
+      }
+    }
+  }
+
+  // creates the task that builds the data for the node, creating the tasks for its dependencies if necessary
+  private CompletableFuture<Void> scheduleNode(
+      MarketDataNode node,
+      Map<MarketDataId<?>, MarketDataNode> nodesToBuild,
+      Map<MarketDataId<?>, CompletableFuture<Void>> futures,
+      MarketDataConfig marketDataConfig,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    MarketDataId<?> id = node.getId();
+    CompletableFuture<Void> existing = futures.get(id);
+    if (existing != null) {
+      return existing;
+    }
+    CompletableFuture<?>[] dependencies = node.getDependencies().stream()
+        .filter(child -> nodesToBuild.containsKey(child.getId()))
+        .map(child -> scheduleNode(
+            nodesToBuild.get(child.getId()),
+            nodesToBuild,
+            futures,
+            marketDataConfig,
+            refData,
+            scenarioDefinition,
+            dataBuilder))
+        .toArray(CompletableFuture<?>[]::new);
+
+    // The function is only given the data the node depends on, rather than a copy of all the data built so far
+    Set<MarketDataId<?>> valueIds = new HashSet<>();
+    Set<ObservableId> timeSeriesIds = new HashSet<>();
+    for (MarketDataNode child : node.getDependencies()) {
+      if (child.getDataType() == MarketDataNode.DataType.TIME_SERIES) {
+        timeSeriesIds.add((ObservableId) child.getId());
+      } else {
+        valueIds.add(child.getId());
+      }
+    }
+    CompletableFuture<Void> future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+      // The builder is not thread-safe, so it is only accessed while holding its lock
+      // The market data function is invoked without holding the lock, as building the data can be slow
+      BuiltScenarioMarketData marketData;
+      synchronized (dataBuilder) {
+        marketData = dataBuilder.build(valueIds, timeSeriesIds);
+      }
+      Result<MarketDataBox<?>> result = buildNonObservableData(id, marketDataConfig, marketData, refData);
+      synchronized (dataBuilder) {
+        addResult(id, result, refData, scenarioDefinition, dataBuilder);
+      }
+    }, executor);
+    futures.put(id, future);
+    return future;
+  }
+
+  /**
+   * Adds the time series and observable data in a set of requirements to a builder.
+   * <p>
+   * Time series and observable data that are not available are requested from the providers.
+   * Perturbations from the scenario definition are applied to the data as it is added.
+   *
+   * @param leafRequirements  the requirements for the data
+   * @param marketData  the market data that has already been built
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the builder to which the market data is added
+   */
+  private void addLeafData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
+
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
+  /**
+   * Adds the supplied non-observable data in a set of requirements to a builder.
+   * <p>
+   * Perturbations from the scenario definition are applied to the data as it is added.
+   *
+   * @param leafRequirements  the requirements for the data
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param dataBuilder  the builder to which the market data is added
+   */
+  private void addSuppliedData(
+      MarketDataRequirements leafRequirements,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    leafRequirements.getNonObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
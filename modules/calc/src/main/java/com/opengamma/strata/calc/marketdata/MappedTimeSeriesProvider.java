@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesFile;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Time-series provider backed by a memory-mapped {@link LocalDateDoubleTimeSeriesFile}.
+ * <p>
+ * Each time-series is mapped from the file when first requested.
+ * Many processes can share the same file, which is held once in the operating system page cache,
+ * avoiding the cost of loading the time-series onto the heap of each process.
+ * <p>
+ * The series in the file are named from the identifier using {@link #seriesName(ObservableId)}.
+ * Use {@link #write(Path, Map)} to create a file from time-series keyed by identifier,
+ * such as those loaded by {@code FixingSeriesCsvLoader}.
+ */
+public final class MappedTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The file of time-series.
+   */
+  private final LocalDateDoubleTimeSeriesFile file;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance backed by the specified file.
+   * <p>
+   * The file must remain open while the provider is in use.
+   *
+   * @param file  the file of time-series
+   * @return the provider
+   */
+  public static MappedTimeSeriesProvider of(LocalDateDoubleTimeSeriesFile file) {
+    return new MappedTimeSeriesProvider(file);
+  }
+
+  /**
+   * Writes a file of time-series keyed by identifier.
+   * <p>
+   * Each series is written with the name returned by {@link #seriesName(ObservableId)}.
+   *
+   * @param file  the file to write
+   * @param timeSeries  the time-series, keyed by identifier
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static void write(Path file, Map<? extends ObservableId, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    LocalDateDoubleTimeSeriesFile.write(
+        file,
+        timeSeries.entrySet().stream().collect(toImmutableMap(e -> seriesName(e.getKey()), e -> e.getValue())));
+  }
+
+  /**
+   * Gets the name of the series in the file for the specified identifier.
+   * <p>
+   * The name is formed from the standard identifier and the field name, separated by a slash.
+   * If the observable source is not {@link ObservableSource#NONE}, it is appended after another slash.
+   *
+   * @param id  the identifier
+   * @return the name of the series
+   */
+  public static String seriesName(ObservableId id) {
+    ArgChecker.notNull(id, "id");
+    String name = id.getStandardId() + "/" + id.getFieldName();
+    return id.getObservableSource().equals(ObservableSource.NONE) ? name : name + "/" + id.getObservableSource();
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesProvider(LocalDateDoubleTimeSeriesFile file) {
+    this.file = ArgChecker.notNull(file, "file");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier) {
+    Optional<LocalDateDoubleTimeSeries> series = file.findSeries(seriesName(identifier));
+    return series
+        .map(Result::success)
+        .orElseGet(() -> Result.failure(
+            FailureReason.MISSING_DATA,
+            "No time-series found in file for '{}'",
+            identifier));
+  }
+
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesProvider[" + file + "]";
+  }
+
+}
@@ -6,11 +6,15 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -74,6 +78,35 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series
+   * that builds market data concurrently using an executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Each item of non-observable market data, such as a curve group or volatility surface,
+   * is built by a task submitted to the executor once the data it depends on is available.
+   * Thus independent items of market data are built concurrently.
+   * Observable data and time-series are obtained from the providers in the calling thread.
+   * <p>
+   * The market data functions must be safe to invoke from multiple threads.
+   * The executor is not shut down by the factory.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build the market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -154,4 +187,39 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  /**
+   * Rebuilds the market data required for performing calculations for a set of scenarios
+   * after some of the supplied data has changed.
+   * <p>
+   * The previous data must have been built by this factory using the same requirements, configuration
+   * and scenario definition. The changed IDs identify the supplied or observable data whose value has changed
+   * since the previous data was built. Only the changed data and the data depending on it, directly or indirectly,
+   * is built again. The remaining values are copied from the previous data.
+   * <p>
+   * This is typically used to update the market data after a change to a small number of quotes,
+   * without calibrating the curves that do not depend on the quotes.
+   * <p>
+   * The default implementation builds all the data again.
+   *
+   * @param previousData  the market data built before the change
+   * @param changedIds  the IDs of the market data whose value has changed
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  the base market data used to derive the data for each scenario, including the changes
+   * @param refData  the reference data
+   * @param scenarioDefinition  defines how the market data for each scenario is derived from the base data
+   * @return the market data required by the calculations
+   */
+  public default BuiltScenarioMarketData updateMultiScenario(
+      BuiltScenarioMarketData previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    return createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+  }
+
 }
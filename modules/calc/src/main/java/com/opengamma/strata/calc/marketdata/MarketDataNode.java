@@ -180,6 +180,24 @@ final class MarketDataNode {
     return id;
   }
 
+  /**
+   * Returns the type of the market data represented by this node.
+   *
+   * @return the type of the market data represented by this node, null for the root node
+   */
+  DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Returns the child nodes representing the market data required to build the market data in this node.
+   *
+   * @return the child nodes representing the market data dependencies of this node
+   */
+  List<MarketDataNode> getDependencies() {
+    return dependencies;
+  }
+
   /**
    * Prints this node and its tree of dependencies to an ASCII tree.
    *
@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.function.Function;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -108,6 +109,44 @@ public final class CalculationTasks implements ImmutableBean {
       List<Column> columns,
       ReferenceData refData) {
 
+    return of(rules, targets, columns, resolvable -> resolvable.resolveTarget(refData));
+  }
+
+  /**
+   * Obtains an instance from a set of targets, columns and rules, resolving the targets using a cache.
+   * <p>
+   * The targets will typically be trades and positions.
+   * The columns represent the measures to calculate.
+   * <p>
+   * The targets will be resolved if they implement {@link ResolvableCalculationTarget}.
+   * Targets that have been resolved before are taken from the cache, and the others are added to it.
+   * The cache must be for the version of the reference data that is specified.
+   * If the cache was last used with a different reference data instance, its targets are discarded.
+   * 
+   * @param rules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the columns that will be calculated
+   * @param refData  the reference data to use to resolve the targets
+   * @param cache  the cache of resolved targets
+   * @return the calculation tasks
+   */
+  public static CalculationTasks of(
+      CalculationRules rules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      ResolvedTargetCache cache) {
+
+    return of(rules, targets, columns, resolvable -> cache.resolve(resolvable, refData));
+  }
+
+  // obtains an instance, resolving the targets using the specified function
+  private static CalculationTasks of(
+      CalculationRules rules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      Function<ResolvableCalculationTarget, CalculationTarget> resolver) {
+
     // create columns that are a combination of the column overrides and the defaults
     // this is done once as it is the same for all targets
     List<Column> effectiveColumns =
@@ -118,7 +157,7 @@ public final class CalculationTasks implements ImmutableBean {
     // loop around the targets, then the columns, to build the tasks
     ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
     for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
-      CalculationTarget target = resolveTarget(targets.get(rowIndex), refData);
+      CalculationTarget target = resolveTarget(targets.get(rowIndex), resolver);
 
       // find the applicable function, resolving the target if necessary
       CalculationFunction<?> fn = target instanceof UnresolvableTarget ?
@@ -135,11 +174,14 @@ public final class CalculationTasks implements ImmutableBean {
   }
 
   // resolves the target
-  private static CalculationTarget resolveTarget(CalculationTarget target, ReferenceData refData) {
+  private static CalculationTarget resolveTarget(
+      CalculationTarget target,
+      Function<ResolvableCalculationTarget, CalculationTarget> resolver) {
+
     if (target instanceof ResolvableCalculationTarget) {
       ResolvableCalculationTarget resolvable = (ResolvableCalculationTarget) target;
       try {
-        return resolvable.resolveTarget(refData);
+        return resolver.apply(resolvable);
       } catch (RuntimeException ex) {
         return new UnresolvableTarget(resolvable, ex.getMessage());
       }
@@ -7,10 +7,16 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -30,14 +36,38 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * Two scheduling modes are available.
+ * In the standard mode, each task is submitted to the executor individually and
+ * the result of each task is passed to the listener as soon as the task completes.
+ * In the work-stealing mode, the tasks are split into batches of similar cost which are run on
+ * a {@link ForkJoinPool}, allowing idle threads to steal work from busy ones.
+ * The results of each batch are passed to the listener together.
+ * The work-stealing mode is more efficient when there are a large number of small tasks.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The number of batches to aim for per thread in work-stealing mode.
+   * Having more batches than threads allows the work to be balanced between threads.
+   */
+  private static final int BATCHES_PER_THREAD = 8;
+  /**
+   * The maximum cost of a batch in work-stealing mode.
+   * This ensures that results are passed to the listener regularly.
+   */
+  private static final long MAX_BATCH_COST = 256;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The fork-join pool used in work-stealing mode, null in standard mode.
+   * When not null, this is the same instance as the executor.
+   */
+  private final ForkJoinPool forkJoinPool;
 
   //-------------------------------------------------------------------------
   /**
@@ -69,6 +99,35 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return new DefaultCalculationTaskRunner(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations.
+   * <p>
+   * This factory creates a fork-join pool basing the number of threads on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return new DefaultCalculationTaskRunner(createForkJoinPool(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner capable of performing calculations, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationTaskRunner(pool);
+  }
+
   // create an executor with daemon threads
   private static ExecutorService createExecutor(int threads) {
     int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
@@ -82,6 +141,17 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a fork-join pool, which uses daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
@@ -90,6 +160,17 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    */
   private DefaultCalculationTaskRunner(ExecutorService executor) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.forkJoinPool = null;
+  }
+
+  /**
+   * Creates an instance specifying the fork-join pool to use in work-stealing mode.
+   *
+   * @param pool  the fork-join pool that is used to perform the calculations
+   */
+  private DefaultCalculationTaskRunner(ForkJoinPool pool) {
+    this.executor = ArgChecker.notNull(pool, "pool");
+    this.forkJoinPool = pool;
   }
 
   //-------------------------------------------------------------------------
@@ -177,11 +258,16 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
+    ListenerWrapper consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    if (forkJoinPool != null) {
+      // run batches of tasks using the fork-join pool
+      runBatches(taskList, marketData, refData, consumer);
+    } else {
+      // run each task using the executor
+      taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -197,6 +283,32 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // submits the tasks to the fork-join pool, to be split into batches of similar cost
+  private void runBatches(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ListenerWrapper consumer) {
+
+    if (taskList.isEmpty()) {
+      return;
+    }
+    // the cumulative cost allows the cost of any range of tasks to be found efficiently
+    long[] cumulativeCost = new long[taskList.size() + 1];
+    for (int i = 0; i < taskList.size(); i++) {
+      cumulativeCost[i + 1] = cumulativeCost[i] + cost(taskList.get(i));
+    }
+    long targetBatches = (long) forkJoinPool.getParallelism() * BATCHES_PER_THREAD;
+    long batchCost = Math.max(1, Math.min(MAX_BATCH_COST, cumulativeCost[taskList.size()] / targetBatches));
+    forkJoinPool.execute(
+        new BatchAction(taskList, cumulativeCost, 0, taskList.size(), batchCost, marketData, refData, consumer));
+  }
+
+  // the estimated cost of a task, which is the number of cells it calculates
+  private static long cost(CalculationTask task) {
+    return Math.max(1, task.getCells().size());
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -204,6 +316,81 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Fork-join action that runs a range of tasks.
+   * <p>
+   * If the cost of the range exceeds the batch cost, the range is split into two halves of similar cost.
+   * Otherwise, the tasks are run and the results passed to the listener in a single batch.
+   */
+  private static final class BatchAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<CalculationTask> tasks;
+    private final long[] cumulativeCost;
+    private final int start;
+    private final int end;
+    private final long batchCost;
+    private final ScenarioMarketData marketData;
+    private final ReferenceData refData;
+    private final ListenerWrapper consumer;
+
+    private BatchAction(
+        List<CalculationTask> tasks,
+        long[] cumulativeCost,
+        int start,
+        int end,
+        long batchCost,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        ListenerWrapper consumer) {
+
+      this.tasks = tasks;
+      this.cumulativeCost = cumulativeCost;
+      this.start = start;
+      this.end = end;
+      this.batchCost = batchCost;
+      this.marketData = marketData;
+      this.refData = refData;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > 1 && cumulativeCost[end] - cumulativeCost[start] > batchCost) {
+        int mid = split();
+        invokeAll(
+            new BatchAction(tasks, cumulativeCost, start, mid, batchCost, marketData, refData, consumer),
+            new BatchAction(tasks, cumulativeCost, mid, end, batchCost, marketData, refData, consumer));
+      } else {
+        List<CalculationResults> results = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+          results.add(execute(tasks.get(i)));
+        }
+        consumer.acceptAll(results);
+      }
+    }
+
+    // finds the index that splits the range into two non-empty halves of similar cost
+    private int split() {
+      long halfCost = (cumulativeCost[start] + cumulativeCost[end]) / 2;
+      int index = Arrays.binarySearch(cumulativeCost, start + 1, end, halfCost);
+      int mid = index >= 0 ? index : -index - 1;
+      return Math.max(start + 1, Math.min(end - 1, mid));
+    }
+
+    // executes a single task, ensuring that a failure does not prevent the rest of the batch completing
+    private CalculationResults execute(CalculationTask task) {
+      try {
+        return task.execute(marketData, refData);
+      } catch (RuntimeException ex) {
+        List<CalculationResult> failures = task.getCells().stream()
+            .map(cell -> CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), Result.failure(ex)))
+            .collect(toImmutableList());
+        return CalculationResults.of(task.getTarget(), failures);
+      }
+    }
+  }
 
   //-------------------------------------------------------------------------
   /**
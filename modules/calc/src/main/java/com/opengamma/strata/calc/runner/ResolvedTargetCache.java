@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotReader;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotWriter;
+
+/**
+ * A cache of resolved calculation targets, allowing targets to be resolved incrementally across runs.
+ * <p>
+ * Resolving a target, such as a trade, against {@link ReferenceData} can be expensive,
+ * for example generating the schedule of a swap. When the same targets are calculated
+ * repeatedly, such as a portfolio that changes little from one day to the next,
+ * most of this work can be avoided by passing the cache to
+ * {@link CalculationTasks#of(CalculationRules, List, List, ReferenceData, ResolvedTargetCache)}.
+ * <p>
+ * The cache is content-addressed, with each target being looked up by its hash code and equality.
+ * Targets must therefore be immutable with value-based equality, as is the case for trades and positions.
+ * The cache is only valid for a single version of the reference data, identified by a name chosen by the
+ * application. When the reference data changes, a cache with the new version must be used.
+ * Within a process, the cache is also tied to the {@code ReferenceData} instance that it is first used with.
+ * If it is used with another instance, the resolved targets are discarded and resolved again.
+ * <p>
+ * The cache holds a bounded number of targets, the least recently used being evicted first.
+ * It can be persisted using {@link #writeTo(Path)} and {@link #readFrom(Path, String)}, which use
+ * the Joda-Beans serialization of {@link MarketDataSnapshotWriter}.
+ * Targets that cannot be resolved are not cached.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class ResolvedTargetCache {
+
+  /**
+   * The default maximum number of resolved targets.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+  /**
+   * The version of the reference data that the targets were resolved against.
+   */
+  private final String referenceDataVersion;
+  /**
+   * The resolved targets, keyed by the original target.
+   */
+  private final Cache<CalculationTarget, CalculationTarget> resolvedTargets;
+  /**
+   * The reference data that the targets were resolved against, null until the cache is first used.
+   */
+  private volatile ReferenceData referenceData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache for a version of the reference data.
+   *
+   * @param referenceDataVersion  the version of the reference data that targets are resolved against
+   * @return the cache
+   */
+  public static ResolvedTargetCache of(String referenceDataVersion) {
+    return of(referenceDataVersion, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Obtains an empty cache for a version of the reference data, holding at most the specified number of targets.
+   *
+   * @param referenceDataVersion  the version of the reference data that targets are resolved against
+   * @param maximumSize  the maximum number of resolved targets
+   * @return the cache
+   */
+  public static ResolvedTargetCache of(String referenceDataVersion, int maximumSize) {
+    return new ResolvedTargetCache(referenceDataVersion, maximumSize);
+  }
+
+  /**
+   * Reads a cache from a file previously written by {@link #writeTo(Path)}.
+   * <p>
+   * If the file does not exist, was written for a different version of the reference data,
+   * or cannot be read, an empty cache is returned.
+   *
+   * @param file  the file to read
+   * @param referenceDataVersion  the version of the reference data that targets are resolved against
+   * @return the cache
+   */
+  public static ResolvedTargetCache readFrom(Path file, String referenceDataVersion) {
+    ArgChecker.notNull(file, "file");
+    ResolvedTargetCache cache = new ResolvedTargetCache(referenceDataVersion, DEFAULT_MAXIMUM_SIZE);
+    if (!Files.exists(file)) {
+      return cache;
+    }
+    try {
+      MarketDataSnapshotReader reader = MarketDataSnapshotReader.of(Files.readAllBytes(file));
+      if (!referenceDataVersion.equals(reader.readObject())) {
+        return cache;
+      }
+      int size = reader.readInt();
+      for (int i = 0; i < size; i++) {
+        CalculationTarget target = (CalculationTarget) reader.readObject();
+        CalculationTarget resolved = (CalculationTarget) reader.readObject();
+        cache.resolvedTargets.put(target, resolved);
+      }
+      return cache;
+    } catch (IOException | RuntimeException ex) {
+      // the file is corrupt or was written by incompatible code, the targets will be resolved again
+      return new ResolvedTargetCache(referenceDataVersion, DEFAULT_MAXIMUM_SIZE);
+    }
+  }
+
+  // restricted constructor
+  private ResolvedTargetCache(String referenceDataVersion, int maximumSize) {
+    this.referenceDataVersion = ArgChecker.notBlank(referenceDataVersion, "referenceDataVersion");
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    this.resolvedTargets = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the version of the reference data that the targets are resolved against.
+   *
+   * @return the reference data version
+   */
+  public String getReferenceDataVersion() {
+    return referenceDataVersion;
+  }
+
+  /**
+   * Gets the number of resolved targets in the cache.
+   *
+   * @return the number of resolved targets
+   */
+  public int size() {
+    return (int) resolvedTargets.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the target, using the cached result if the target has been resolved before.
+   * <p>
+   * The reference data must be the version that this cache is for.
+   * If the reference data is not the instance that the cache was previously used with,
+   * the resolved targets are discarded.
+   *
+   * @param target  the target to resolve
+   * @param refData  the reference data to use to resolve the target
+   * @return the resolved target
+   * @throws RuntimeException if the target cannot be resolved
+   */
+  public CalculationTarget resolve(ResolvableCalculationTarget target, ReferenceData refData) {
+    ArgChecker.notNull(refData, "refData");
+    if (referenceData != refData) {
+      bind(refData);
+    }
+    CalculationTarget resolved = resolvedTargets.getIfPresent(target);
+    if (resolved != null) {
+      return resolved;
+    }
+    resolved = target.resolveTarget(refData);
+    CalculationTarget existing = resolvedTargets.asMap().putIfAbsent(target, resolved);
+    return existing != null ? existing : resolved;
+  }
+
+  // ties the cache to the reference data, discarding targets resolved against other reference data
+  // a cache read from a file is tied to the first reference data it is used with
+  private synchronized void bind(ReferenceData refData) {
+    if (referenceData != refData) {
+      if (referenceData != null) {
+        resolvedTargets.invalidateAll();
+      }
+      referenceData = refData;
+    }
+  }
+
+  /**
+   * Removes the resolved targets that are not in the specified collection.
+   * <p>
+   * This is used to discard the targets that are no longer calculated, such as trades that have matured.
+   *
+   * @param targets  the targets to retain
+   */
+  public void retainAll(Collection<? extends CalculationTarget> targets) {
+    Set<CalculationTarget> retained = new HashSet<>(targets);
+    resolvedTargets.asMap().keySet().retainAll(retained);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the cache to a file, which can be read using {@link #readFrom(Path, String)}.
+   * <p>
+   * The targets are written using Joda-Beans serialization.
+   * Any target that is not a Joda-Bean is omitted, and will be resolved again after reading.
+   *
+   * @param file  the file to write
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public void writeTo(Path file) {
+    ArgChecker.notNull(file, "file");
+    List<Entry<CalculationTarget, CalculationTarget>> entries = new ArrayList<>();
+    for (Entry<CalculationTarget, CalculationTarget> entry : resolvedTargets.asMap().entrySet()) {
+      if (entry.getKey() instanceof Bean && entry.getValue() instanceof Bean) {
+        entries.add(entry);
+      }
+    }
+    MarketDataSnapshotWriter writer = MarketDataSnapshotWriter.create();
+    writer.writeObject(referenceDataVersion);
+    writer.writeInt(entries.size());
+    for (Entry<CalculationTarget, CalculationTarget> entry : entries) {
+      writer.writeObject(entry.getKey());
+      writer.writeObject(entry.getValue());
+    }
+    writer.writeTo(file);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ResolvedTargetCache[referenceDataVersion=" + referenceDataVersion + ", size=" + size() + "]";
+  }
+
+}
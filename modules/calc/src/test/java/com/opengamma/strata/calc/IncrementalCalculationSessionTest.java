@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.calc.runner.CalculationFunction;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.CalculationTask;
+import com.opengamma.strata.calc.runner.CalculationTaskCell;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculationSession}.
+ */
+@Test
+public class IncrementalCalculationSessionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final MarketDataFactory MARKET_DATA_FACTORY =
+      MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none());
+
+  //-------------------------------------------------------------------------
+  public void update() {
+    QuoteFunction fn = new QuoteFunction();
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(
+            CalculationTask.of(new QuoteTarget(ID1), fn, cell1),
+            CalculationTask.of(new QuoteTarget(ID2), fn, cell2)),
+        ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, 1d, ID2, 2d));
+
+    try (CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())) {
+      IncrementalCalculationSession test = IncrementalCalculationSession.of(
+          runner, MARKET_DATA_FACTORY, tasks, MarketDataConfig.empty(), ScenarioDefinition.empty(), REF_DATA);
+      assertThat(test.getTasks()).isEqualTo(tasks);
+      assertThrows(() -> test.update(ImmutableMap.of(ID1, 3d)), IllegalStateException.class);
+
+      Results results = test.calculate(suppliedData);
+      assertThat(results.get(0, 0).getValue()).isEqualTo(ScenarioArray.of(1d));
+      assertThat(results.get(1, 0).getValue()).isEqualTo(ScenarioArray.of(2d));
+      assertThat(test.getResults()).isSameAs(results);
+      assertThat(fn.count.get()).isEqualTo(2);
+
+      // only the row depending on the changed quote is calculated again
+      Results updated = test.update(ImmutableMap.of(ID1, 3d));
+      assertThat(updated.get(0, 0).getValue()).isEqualTo(ScenarioArray.of(3d));
+      assertThat(updated.get(1, 0)).isSameAs(results.get(1, 0));
+      assertThat(test.getMarketData().getValue(ID1).getSingleValue()).isEqualTo(3d);
+      assertThat(fn.count.get()).isEqualTo(3);
+
+      // nothing is calculated when no quotes have changed
+      Results unchanged = test.update(suppliedData.withValue(ID1, 3d), ImmutableSet.of());
+      assertThat(unchanged).isSameAs(updated);
+      assertThat(fn.count.get()).isEqualTo(3);
+
+      assertThrows(
+          () -> test.update(MarketData.empty(VAL_DATE.plusDays(1)), ImmutableSet.of()),
+          IllegalArgumentException.class);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class QuoteTarget implements CalculationTarget {
+
+    private final TestObservableId id;
+
+    private QuoteTarget(TestObservableId id) {
+      this.id = id;
+    }
+  }
+
+  // returns the value of the quote identified by the target, counting the invocations
+  private static final class QuoteFunction implements CalculationFunction<QuoteTarget> {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Class<QuoteTarget> targetType() {
+      return QuoteTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(QuoteTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        QuoteTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(ImmutableSet.of(target.id)).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        QuoteTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      count.incrementAndGet();
+      ScenarioArray<Double> value = ScenarioArray.of(marketData.getValue(target.id).getValue(0));
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(value));
+    }
+  }
+
+}
@@ -21,9 +21,12 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotReader;
+import com.opengamma.strata.data.scenario.MarketDataSnapshotWriter;
 
 /**
  * Test {@link BuiltScenarioMarketData}.
@@ -67,6 +70,41 @@ public class BuiltScenarioMarketDataTest {
     assertThrows(() -> test.getValue(ID), MarketDataNotFoundException.class);
   }
 
+  public void test_build_selectedIds() {
+    TestObservableId id2 = TestObservableId.of("2");
+    TestObservableId id3 = TestObservableId.of("3");
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.of(VAL_DATE, 2d);
+    BuiltScenarioMarketData test = BuiltScenarioMarketData.builder(MarketDataBox.ofSingleValue(VAL_DATE))
+        .addValue(ID, 1.5d)
+        .addBox(id2, MarketDataBox.ofScenarioValues(1d, 2d))
+        .addResult(id3, Result.failure(FailureReason.ERROR, "Something went wrong"))
+        .addTimeSeries(ID, timeSeries)
+        .addTimeSeries(id2, timeSeries)
+        .build(ImmutableSet.of(ID, id3), ImmutableSet.of(ID));
+
+    assertEquals(test.getScenarioCount(), 2);
+    assertEquals(test.getIds(), ImmutableSet.of(ID));
+    assertEquals(test.getValue(ID), MarketDataBox.ofSingleValue(1.5d));
+    assertThrows(() -> test.getValue(id3), FailureException.class, "Something went wrong");
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID));
+    assertEquals(test.getTimeSeries(ID), timeSeries);
+  }
+
+  public void test_snapshot() {
+    BuiltScenarioMarketData test = BuiltScenarioMarketData.builder(MarketDataBox.ofSingleValue(VAL_DATE))
+        .addValue(ID, 1.5d)
+        .addResult(TestObservableId.of("2"), Result.failure(FailureReason.ERROR, "Something went wrong"))
+        .addTimeSeries(ID, LocalDateDoubleTimeSeries.of(VAL_DATE, 2d))
+        .addTimeSeriesResult(TestObservableId.of("3"), Result.failure(FailureReason.MISSING_DATA, "Missing"))
+        .build();
+    MarketDataSnapshotWriter writer = MarketDataSnapshotWriter.create();
+    test.writeSnapshot(writer);
+
+    BuiltScenarioMarketData read =
+        BuiltScenarioMarketData.readSnapshot(MarketDataSnapshotReader.of(writer.toByteArray()));
+    assertEquals(read, test);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(BuiltScenarioMarketData.empty());
@@ -10,9 +10,14 @@ import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.annotations.Test;
 
@@ -827,6 +832,180 @@ public class DefaultMarketDataFactoryTest {
     assertThat(values).isEqualTo(expectedValues);
   }
 
+  /**
+   * Tests building market data concurrently produces the same data as building in the calling thread.
+   */
+  public void buildConcurrently() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .put(date(2011, 3, 9), 2)
+        .put(date(2011, 3, 10), 3)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 10)
+        .put(date(2011, 3, 9), 20)
+        .put(date(2011, 3, 10), 30)
+        .build();
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), timeSeries1,
+        new TestIdA("2"), timeSeries2);
+
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(timeSeriesMap);
+    List<MarketDataFunction<?, ?>> functions =
+        ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC());
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+    MarketDataFactory factory = MarketDataFactory.of(new TestObservableDataProvider(), timeSeriesProvider, functions);
+    BuiltMarketData expected = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory concurrentFactory =
+          MarketDataFactory.of(new TestObservableDataProvider(), timeSeriesProvider, executor, functions);
+      BuiltMarketData marketData = concurrentFactory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData).isEqualTo(expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests independent market data is built at the same time when an executor is used.
+   * <p>
+   * Each value can only be built once the other value has started building.
+   */
+  public void buildConcurrentlyIndependentValues() {
+    TestIdC idC1 = new TestIdC("1");
+    TestIdC idC2 = new TestIdC("2");
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idC1, idC2)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(new TestIdA("1"), timeSeries)
+        .addTimeSeries(new TestIdA("2"), timeSeries)
+        .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          ObservableDataProvider.none(),
+          TimeSeriesProvider.none(),
+          executor,
+          ImmutableList.of(new LatchedMarketDataFunctionC(new CountDownLatch(2))));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getValue(idC1)).isEqualTo(new TestMarketDataC(timeSeries));
+      assertThat(marketData.getValue(idC2)).isEqualTo(new TestMarketDataC(timeSeries));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests an exception is thrown when there is no builder for an ID type and an executor is used.
+   */
+  public void buildConcurrentlyNoMarketDataBuilderAvailable() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          executor,
+          ImmutableList.of(new TestMarketDataFunctionB()));
+
+      BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+      assertThrows(
+          () -> factory.createMultiScenario(
+              requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty()),
+          IllegalStateException.class,
+          "No market data function available for market data ID of type.*");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests only the market data depending on the changed data is built again when updating.
+   */
+  public void updateMultiScenario() {
+    updateMultiScenario(null);
+  }
+
+  /**
+   * Tests only the market data depending on the changed data is built again when updating using an executor.
+   */
+  public void updateMultiScenarioConcurrently() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      updateMultiScenario(executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void updateMultiScenario(ExecutorService executor) {
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idB1, idB2)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 3, 8), 1)
+        .build();
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addValue(idA1, 1d)
+        .addValue(idA2, 2d)
+        .addTimeSeries(idA1, timeSeries)
+        .addTimeSeries(idA2, timeSeries)
+        .build();
+    List<MarketDataFunction<?, ?>> functions =
+        ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC());
+    MarketDataFactory factory = executor == null ?
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), functions) :
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), executor, functions);
+    BuiltScenarioMarketData previous = factory.createMultiScenario(
+        requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty());
+
+    MarketData updatedData = suppliedData.withValue(idA1, 3d);
+    BuiltScenarioMarketData updated = factory.updateMultiScenario(
+        previous,
+        ImmutableSet.of(idA1),
+        requirements,
+        MARKET_DATA_CONFIG,
+        ScenarioMarketData.of(1, updatedData),
+        REF_DATA,
+        ScenarioDefinition.empty());
+
+    assertThat(updated.getValueFailures()).isEmpty();
+    TestMarketDataB expectedB1 = new TestMarketDataB(3, new TestMarketDataC(timeSeries));
+    assertThat(updated.getValue(idB1).getSingleValue()).isEqualTo(expectedB1);
+    assertThat(updated.getValue(idB2)).isSameAs(previous.getValue(idB2));
+    assertThat(updated.getValue(new TestIdC("1"))).isSameAs(previous.getValue(new TestIdC("1")));
+    BuiltScenarioMarketData expected = factory.createMultiScenario(
+        requirements, MARKET_DATA_CONFIG, updatedData, REF_DATA, ScenarioDefinition.empty());
+    assertThat(updated).isEqualTo(expected);
+  }
+
   /**
    * Tests ObservableDataProvider.none(), which is never normally be invoked.
    */
@@ -1133,6 +1312,52 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Function for building TestMarketDataC that waits for a latch before building.
+   * <p>
+   * The build fails unless the expected number of values are being built concurrently.
+   */
+  private static final class LatchedMarketDataFunctionC implements MarketDataFunction<TestMarketDataC, TestIdC> {
+
+    private final CountDownLatch latch;
+
+    private LatchedMarketDataFunctionC(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public MarketDataRequirements requirements(TestIdC id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder()
+          .addTimeSeries(new TestIdA(id.str))
+          .build();
+    }
+
+    @Override
+    public MarketDataBox<TestMarketDataC> build(
+        TestIdC id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      latch.countDown();
+      try {
+        if (!latch.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Market data was not built concurrently");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(ex);
+      }
+      LocalDateDoubleTimeSeries timeSeries = marketData.getTimeSeries(new TestIdA(id.str));
+      return MarketDataBox.ofSingleValue(new TestMarketDataC(timeSeries));
+    }
+
+    @Override
+    public Class<TestIdC> getMarketDataIdType() {
+      return TestIdC.class;
+    }
+  }
+
   /**
    * Market data filter that doesn't match any market data.
    */
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesFile;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link MappedTimeSeriesProvider}.
+ */
+@Test
+public class MappedTimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID1_SOURCE = TestObservableId.of("1", ObservableSource.of("source"));
+  private static final LocalDateDoubleTimeSeries TIME_SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1d)
+      .put(date(2011, 3, 9), 2d)
+      .build();
+  private static final LocalDateDoubleTimeSeries TIME_SERIES2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 3d);
+
+  public void test_provideTimeSeries() throws IOException {
+    Path path = Files.createTempFile("MappedTimeSeriesProviderTest", ".bin");
+    try {
+      MappedTimeSeriesProvider.write(path, ImmutableMap.of(ID1, TIME_SERIES1, ID1_SOURCE, TIME_SERIES2));
+      try (LocalDateDoubleTimeSeriesFile file = LocalDateDoubleTimeSeriesFile.open(path)) {
+        assertThat(file.getNames()).containsExactly("test~1/MarketValue", "test~1/MarketValue/source");
+        MappedTimeSeriesProvider test = MappedTimeSeriesProvider.of(file);
+
+        Result<LocalDateDoubleTimeSeries> result1 = test.provideTimeSeries(ID1);
+        assertThat(result1.isSuccess()).isTrue();
+        assertThat(result1.getValue().toBuilder().build()).isEqualTo(TIME_SERIES1);
+        Result<LocalDateDoubleTimeSeries> result1Source = test.provideTimeSeries(ID1_SOURCE);
+        assertThat(result1Source.getValue().toBuilder().build()).isEqualTo(TIME_SERIES2);
+
+        Result<LocalDateDoubleTimeSeries> result2 = test.provideTimeSeries(ID2);
+        assertThat(result2.isFailure()).isTrue();
+        assertThat(result2.getFailure().getReason()).isEqualTo(FailureReason.MISSING_DATA);
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -154,6 +155,53 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the work-stealing runner calculates every task and delivers every result.
+   */
+  public void workStealing() {
+    int taskCount = 1000;
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < taskCount; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(taskCount);
+      for (int i = 0; i < taskCount; i++) {
+        assertThat(results.get(i, 0)).hasValue("foo");
+      }
+
+      Results results2 = test.calculateMultiScenario(tasks, ScenarioMarketData.of(1, marketData), REF_DATA);
+      assertThat(results2.getRowCount()).isEqualTo(taskCount);
+      for (int i = 0; i < taskCount; i++) {
+        assertThat(results2.get(i, 0)).hasValue(scenarioResult);
+      }
+    }
+  }
+
+  /**
+   * Tests that the work-stealing runner completes when there are no tasks.
+   */
+  public void workStealingWithNoTasks() {
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(), ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing(new ForkJoinPool(2))) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(0);
+      assertThat(results.getColumnCount()).isEqualTo(1);
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
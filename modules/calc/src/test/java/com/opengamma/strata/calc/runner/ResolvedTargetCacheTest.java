@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link ResolvedTargetCache}.
+ */
+@Test
+public class ResolvedTargetCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final AtomicInteger RESOLVE_COUNT = TestResolvableTarget.RESOLVE_COUNT;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ResolvedTargetCache test = ResolvedTargetCache.of("V1");
+    assertThat(test.getReferenceDataVersion()).isEqualTo("V1");
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("ResolvedTargetCache[referenceDataVersion=V1, size=0]");
+    assertThrowsIllegalArg(() -> ResolvedTargetCache.of(""));
+  }
+
+  public void test_resolve() {
+    ResolvedTargetCache test = ResolvedTargetCache.of("V1");
+    int count = RESOLVE_COUNT.get();
+    CalculationTarget resolved1 = test.resolve(TestResolvableTarget.of("A"), REF_DATA);
+    CalculationTarget resolved2 = test.resolve(TestResolvableTarget.of("A"), REF_DATA);
+    CalculationTarget resolved3 = test.resolve(TestResolvableTarget.of("B"), REF_DATA);
+    assertThat(resolved1).isSameAs(resolved2);
+    assertThat(resolved3).isNotSameAs(resolved1);
+    assertThat(RESOLVE_COUNT.get() - count).isEqualTo(2);
+    assertThat(test.size()).isEqualTo(2);
+
+    test.retainAll(ImmutableList.of(TestResolvableTarget.of("B")));
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.resolve(TestResolvableTarget.of("B"), REF_DATA)).isSameAs(resolved3);
+  }
+
+  public void test_resolve_otherReferenceData() {
+    ResolvedTargetCache test = ResolvedTargetCache.of("V1");
+    CalculationTarget resolved = test.resolve(TestResolvableTarget.of("A"), REF_DATA);
+    assertThat(test.resolve(TestResolvableTarget.of("A"), REF_DATA)).isSameAs(resolved);
+    int count = RESOLVE_COUNT.get();
+    ReferenceData otherRefData = ReferenceData.empty();
+    assertThat(test.resolve(TestResolvableTarget.of("A"), otherRefData)).isNotSameAs(resolved);
+    assertThat(RESOLVE_COUNT.get() - count).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(1);
+  }
+
+  public void test_resolve_bounded() {
+    ResolvedTargetCache test = ResolvedTargetCache.of("V1", 2);
+    for (int i = 0; i < 10; i++) {
+      test.resolve(TestResolvableTarget.of("T" + i), REF_DATA);
+    }
+    assertThat(test.size()).isLessThanOrEqualTo(2);
+    assertThrowsIllegalArg(() -> ResolvedTargetCache.of("V1", 0));
+  }
+
+  public void test_resolve_failure() {
+    ResolvedTargetCache test = ResolvedTargetCache.of("V1");
+    assertThrowsIllegalArg(() -> test.resolve(TestResolvableTarget.of(""), REF_DATA));
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  public void test_calculationTasks() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules rules = CalculationRules.of(functions, USD);
+    List<TestResolvableTarget> targets =
+        ImmutableList.of(TestResolvableTarget.of("A"), TestResolvableTarget.of("B"), TestResolvableTarget.of(""));
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+    ResolvedTargetCache cache = ResolvedTargetCache.of("V1");
+
+    CalculationTasks test1 = CalculationTasks.of(rules, targets, columns, REF_DATA, cache);
+    int count = RESOLVE_COUNT.get();
+    CalculationTasks test2 = CalculationTasks.of(rules, targets, columns, REF_DATA, cache);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(RESOLVE_COUNT.get() - count).isEqualTo(1);
+    assertThat(test2.getTargets().get(0)).isSameAs(test1.getTargets().get(0));
+    assertThat(test2.getTargets().get(1)).isSameAs(test1.getTargets().get(1));
+    assertThat(test2.getTargets().get(2)).isInstanceOf(UnresolvableTarget.class);
+  }
+
+  public void test_writeTo_readFrom() throws IOException {
+    Path file = Files.createTempFile("resolved-targets", ".bin");
+    try {
+      ResolvedTargetCache cache = ResolvedTargetCache.of("V1");
+      CalculationTarget resolved = cache.resolve(TestResolvableTarget.of("A"), REF_DATA);
+      cache.writeTo(file);
+
+      ResolvedTargetCache test = ResolvedTargetCache.readFrom(file, "V1");
+      assertThat(test.size()).isEqualTo(1);
+      int count = RESOLVE_COUNT.get();
+      assertThat(test.resolve(TestResolvableTarget.of("A"), REF_DATA)).isEqualTo(resolved);
+      assertThat(RESOLVE_COUNT.get()).isEqualTo(count);
+
+      assertThat(ResolvedTargetCache.readFrom(file, "V2").size()).isEqualTo(0);
+    } finally {
+      Files.delete(file);
+    }
+    assertThat(ResolvedTargetCache.readFrom(file, "V1").size()).isEqualTo(0);
+  }
+
+  public void test_readFrom_corrupt() throws IOException {
+    Path file = Files.createTempFile("resolved-targets", ".bin");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7});
+      assertThat(ResolvedTargetCache.readFrom(file, "V1").size()).isEqualTo(0);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
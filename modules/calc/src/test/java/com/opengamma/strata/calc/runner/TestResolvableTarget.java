@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolvableCalculationTarget;
+
+/**
+ * Test implementation of {@link ResolvableCalculationTarget}.
+ * <p>
+ * The target cannot be resolved if the name is empty.
+ */
+@BeanDefinition(style = "light")
+public final class TestResolvableTarget implements ResolvableCalculationTarget, ImmutableBean, Serializable {
+
+  /**
+   * The number of times a target has been resolved.
+   */
+  static final AtomicInteger RESOLVE_COUNT = new AtomicInteger();
+
+  @PropertyDefinition(validate = "notNull")
+  private final String name;
+
+  public static TestResolvableTarget of(String name) {
+    return new TestResolvableTarget(name);
+  }
+
+  @Override
+  public CalculationTarget resolveTarget(ReferenceData refData) {
+    if (name.isEmpty()) {
+      throw new IllegalArgumentException("Unable to resolve");
+    }
+    RESOLVE_COUNT.incrementAndGet();
+    return TestResolvedTarget.of(name);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code TestResolvableTarget}.
+   */
+  private static final TypedMetaBean<TestResolvableTarget> META_BEAN =
+      LightMetaBean.of(
+          TestResolvableTarget.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "name"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code TestResolvableTarget}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<TestResolvableTarget> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private TestResolvableTarget(
+      String name) {
+    JodaBeanUtils.notNull(name, "name");
+    this.name = name;
+  }
+
+  @Override
+  public TypedMetaBean<TestResolvableTarget> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the name.
+   * @return the value of the property, not null
+   */
+  public String getName() {
+    return name;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      TestResolvableTarget other = (TestResolvableTarget) obj;
+      return JodaBeanUtils.equal(name, other.name);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(name);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("TestResolvableTarget{");
+    buf.append("name").append('=').append(JodaBeanUtils.toString(name));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test target resolved from {@link TestResolvableTarget}.
+ */
+@BeanDefinition(style = "light")
+public final class TestResolvedTarget extends TestTarget implements ImmutableBean, Serializable {
+
+  @PropertyDefinition(validate = "notNull")
+  private final String name;
+
+  public static TestResolvedTarget of(String name) {
+    return new TestResolvedTarget(name);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code TestResolvedTarget}.
+   */
+  private static final TypedMetaBean<TestResolvedTarget> META_BEAN =
+      LightMetaBean.of(
+          TestResolvedTarget.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "name"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code TestResolvedTarget}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<TestResolvedTarget> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private TestResolvedTarget(
+      String name) {
+    JodaBeanUtils.notNull(name, "name");
+    this.name = name;
+  }
+
+  @Override
+  public TypedMetaBean<TestResolvedTarget> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the name.
+   * @return the value of the property, not null
+   */
+  public String getName() {
+    return name;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      TestResolvedTarget other = (TestResolvedTarget) obj;
+      return JodaBeanUtils.equal(name, other.name);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(name);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("TestResolvedTarget{");
+    buf.append("name").append('=').append(JodaBeanUtils.toString(name));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -20,12 +20,16 @@ import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -44,6 +48,7 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -1042,6 +1047,105 @@ public final class Guavate {
     return collectingAndThen(entriesToImmutableMap(), Guavate::combineFuturesAsMap);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates a function for each index using an executor, returning the results in index order.
+   * <p>
+   * The function is applied to each index from zero to the count, exclusive.
+   * Each index is submitted to the executor separately, and the method blocks until all are complete.
+   * The results are returned in index order whatever the executor, thus if each evaluation is
+   * independent of the others, the result does not depend on the threading.
+   * <p>
+   * If any evaluation fails, the exception of the lowest failing index is thrown,
+   * unwrapped as described in {@link #joinUnwrapped(CompletableFuture)}.
+   * <p>
+   * If the executor is {@link MoreExecutors#directExecutor()}, the function is evaluated
+   * in the calling thread without creating a future for each index, stopping at the first failure.
+   *
+   * @param <T> the type of the results
+   * @param executor  the executor used to evaluate the function
+   * @param count  the number of evaluations
+   * @param function  the function to evaluate for each index
+   * @return the mutable list of results, in index order
+   */
+  public static <T> List<T> evaluateInOrder(Executor executor, int count, IntFunction<? extends T> function) {
+    List<T> results = new ArrayList<>(count);
+    if (executor == MoreExecutors.directExecutor()) {
+      for (int i = 0; i < count; i++) {
+        results.add(function.apply(i));
+      }
+      return results;
+    }
+    List<CompletableFuture<? extends T>> futures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      futures.add(CompletableFuture.supplyAsync(() -> function.apply(index), executor));
+    }
+    for (CompletableFuture<? extends T> future : futures) {
+      results.add(joinUnwrapped(future));
+    }
+    return results;
+  }
+
+  /**
+   * Evaluates a function returning a {@code double} for each index using an executor,
+   * returning the results in index order.
+   * <p>
+   * This is the primitive equivalent of {@link #evaluateInOrder(Executor, int, IntFunction)},
+   * each result being stored in the array without boxing.
+   * If the executor is {@link MoreExecutors#directExecutor()}, the array is filled
+   * in the calling thread and no other object is created.
+   *
+   * @param executor  the executor used to evaluate the function
+   * @param count  the number of evaluations
+   * @param function  the function to evaluate for each index
+   * @return the array of results, in index order
+   */
+  public static double[] evaluateDoublesInOrder(Executor executor, int count, IntToDoubleFunction function) {
+    double[] results = new double[count];
+    if (executor == MoreExecutors.directExecutor()) {
+      for (int i = 0; i < count; i++) {
+        results[i] = function.applyAsDouble(i);
+      }
+      return results;
+    }
+    List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      futures.add(CompletableFuture.runAsync(() -> results[index] = function.applyAsDouble(index), executor));
+    }
+    // joining each future ensures that the values written by other threads are visible
+    for (CompletableFuture<Void> future : futures) {
+      joinUnwrapped(future);
+    }
+    return results;
+  }
+
+  /**
+   * Waits for a future to complete, throwing the exception that caused the future to fail.
+   * <p>
+   * {@link CompletableFuture#join()} wraps the exception of a failed task in a {@link CompletionException}.
+   * This method throws the original exception instead if it is a runtime exception or an error,
+   * as would have happened if the task had been run in the calling thread.
+   *
+   * @param <T> the type of the result
+   * @param future  the future to wait for
+   * @return the result of the future
+   */
+  public static <T> T joinUnwrapped(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Polls on a regular frequency until a result is found.
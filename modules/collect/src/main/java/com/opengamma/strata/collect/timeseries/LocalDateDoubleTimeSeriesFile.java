@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A binary file of named time-series that is read using memory-mapping.
+ * <p>
+ * This stores many {@link LocalDateDoubleTimeSeries} in a columnar binary format.
+ * When a series is requested, the region of the file holding it is memory-mapped and
+ * the series reads directly from the mapped region. The data is thus not copied onto the heap,
+ * and many processes reading the same file share a single copy in the operating system page cache.
+ * Opening a file only reads the index of series names, thus is fast even for large files.
+ * <p>
+ * The file consists of a header, an index and the data of each series.
+ * The header holds a magic number, the format version, the number of series and the offset of the data.
+ * Each index entry holds the series name in UTF-8, the number of points and the offset of the series.
+ * The data of each series is a column of epoch-day integers followed by a column of double values,
+ * with the values aligned to eight bytes. All numbers are big-endian.
+ * <p>
+ * Series that have been obtained remain valid once the file has been closed.
+ * This class is thread-safe.
+ */
+public final class LocalDateDoubleTimeSeriesFile implements Closeable {
+
+  /**
+   * The magic number at the start of the file.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The size of the header.
+   */
+  private static final int HEADER_SIZE = 24;
+
+  /**
+   * The file channel, used to map the series.
+   */
+  private final FileChannel channel;
+  /**
+   * The index, keyed by series name, holding the offset and size of each series.
+   */
+  private final ImmutableMap<String, long[]> index;
+  /**
+   * The series that have been mapped.
+   */
+  private final ConcurrentHashMap<String, LocalDateDoubleTimeSeries> mapped = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a file containing the specified time-series.
+   * <p>
+   * The file is written to a temporary file in the same directory and then moved to the target.
+   * Processes that have already opened an earlier version of the file continue to see the earlier data.
+   *
+   * @param file  the file to write
+   * @param series  the time-series to write, keyed by name
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> series) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(series, "series");
+    Path absolute = file.toAbsolutePath();
+    try {
+      Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          write(out, series);
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes the header, index and data
+  private static void write(OutputStream stream, Map<String, ? extends LocalDateDoubleTimeSeries> series)
+      throws IOException {
+
+    // determine the layout
+    int indexSize = 0;
+    for (String name : series.keySet()) {
+      indexSize += 4 + name.getBytes(StandardCharsets.UTF_8).length + 12;
+    }
+    long dataOffset = align(HEADER_SIZE + indexSize);
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 65536));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(series.size());
+    out.writeInt(0);
+    out.writeLong(dataOffset);
+    // write the index
+    long offset = dataOffset;
+    for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+      byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      int size = entry.getValue().size();
+      out.writeInt(name.length);
+      out.write(name);
+      out.writeInt(size);
+      out.writeLong(offset);
+      offset += dataLength(size);
+    }
+    pad(out, dataOffset - HEADER_SIZE - indexSize);
+    // write the data
+    for (LocalDateDoubleTimeSeries ts : series.values()) {
+      int size = ts.size();
+      ts.forEach((date, value) -> writeInt(out, Math.toIntExact(date.toEpochDay())));
+      pad(out, align(size * 4L) - size * 4L);
+      ts.forEach((date, value) -> writeDouble(out, value));
+    }
+    out.flush();
+  }
+
+  // the length of the data of a series
+  private static long dataLength(int size) {
+    return align(size * 4L) + size * 8L;
+  }
+
+  // rounds up to a multiple of eight
+  private static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+
+  // writes padding
+  private static void pad(DataOutputStream out, long length) throws IOException {
+    for (long i = 0; i < length; i++) {
+      out.writeByte(0);
+    }
+  }
+
+  // writes an int, for use in lambdas
+  private static void writeInt(DataOutputStream out, int value) {
+    try {
+      out.writeInt(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes a double, for use in lambdas
+  private static void writeDouble(DataOutputStream out, double value) {
+    try {
+      out.writeDouble(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file of time-series.
+   * <p>
+   * Only the index of the file is read. Each series is mapped when first requested.
+   * The file should be closed when no more series are to be requested.
+   *
+   * @param file  the file to open
+   * @return the opened file
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not in the expected format
+   */
+  public static LocalDateDoubleTimeSeriesFile open(Path file) {
+    ArgChecker.notNull(file, "file");
+    try {
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+      try {
+        return new LocalDateDoubleTimeSeriesFile(channel, readIndex(channel, file));
+      } catch (RuntimeException ex) {
+        channel.close();
+        throw ex;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the index
+  private static ImmutableMap<String, long[]> readIndex(FileChannel channel, Path file) throws IOException {
+    long fileSize = channel.size();
+    ArgChecker.isTrue(fileSize >= HEADER_SIZE, "File is not a time-series file: {}", file);
+    ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+    ArgChecker.isTrue(header.getInt(0) == MAGIC, "File is not a time-series file: {}", file);
+    ArgChecker.isTrue(header.getInt(4) == VERSION, "Unsupported time-series file version: {}", header.getInt(4));
+    int count = header.getInt(8);
+    long dataOffset = header.getLong(16);
+    ArgChecker.isTrue(
+        dataOffset >= HEADER_SIZE && dataOffset <= fileSize && dataOffset <= Integer.MAX_VALUE,
+        "Invalid time-series file: {}", file);
+    ByteBuffer buf = channel.map(MapMode.READ_ONLY, 0, dataOffset);
+    buf.position(HEADER_SIZE);
+    ImmutableMap.Builder<String, long[]> builder = ImmutableMap.builder();
+    for (int i = 0; i < count; i++) {
+      byte[] name = new byte[buf.getInt()];
+      buf.get(name);
+      int size = buf.getInt();
+      long offset = buf.getLong();
+      ArgChecker.isTrue(offset + dataLength(size) <= fileSize, "Invalid time-series file: {}", file);
+      builder.put(new String(name, StandardCharsets.UTF_8), new long[] {offset, size});
+    }
+    return builder.build();
+  }
+
+  // restricted constructor
+  private LocalDateDoubleTimeSeriesFile(FileChannel channel, ImmutableMap<String, long[]> index) {
+    this.channel = channel;
+    this.index = index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the time-series in the file.
+   *
+   * @return the names
+   */
+  public ImmutableSet<String> getNames() {
+    return index.keySet();
+  }
+
+  /**
+   * Checks if the file contains a time-series with the specified name.
+   *
+   * @param name  the name
+   * @return true if the file contains the time-series
+   */
+  public boolean contains(String name) {
+    return index.containsKey(name);
+  }
+
+  /**
+   * Finds the time-series with the specified name.
+   * <p>
+   * The region of the file holding the series is mapped when first requested,
+   * subsequent requests return the same instance.
+   *
+   * @param name  the name
+   * @return the time-series, empty if not found
+   * @throws IllegalStateException if the series has not been mapped and the file has been closed
+   */
+  public Optional<LocalDateDoubleTimeSeries> findSeries(String name) {
+    ArgChecker.notNull(name, "name");
+    if (!index.containsKey(name)) {
+      return Optional.empty();
+    }
+    return Optional.of(mapped.computeIfAbsent(name, this::map));
+  }
+
+  // maps the series
+  private LocalDateDoubleTimeSeries map(String name) {
+    long[] entry = index.get(name);
+    int size = (int) entry[1];
+    if (size == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    long length = dataLength(size);
+    ArgChecker.isTrue(length <= Integer.MAX_VALUE, "Time-series too large to map: {}", name);
+    if (!channel.isOpen()) {
+      throw new IllegalStateException("Unable to map time-series, file has been closed: " + name);
+    }
+    try {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, entry[0], length);
+      return MappedLocalDateDoubleTimeSeries.of(buffer, (int) align(size * 4L), size);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Closes the file.
+   * <p>
+   * Series that have already been obtained remain valid.
+   */
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LocalDateDoubleTimeSeriesFile[" + index.size() + " series]";
+  }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} backed by a buffer,
+ * typically a memory-mapped region of a {@link LocalDateDoubleTimeSeriesFile}.
+ * <p>
+ * The buffer holds the dates as a column of epoch-day integers followed by the values
+ * as a column of doubles. The data is read directly from the buffer, thus a series mapped
+ * from a file does not occupy heap memory other than this small wrapper.
+ * Sub-series are views on the same buffer.
+ * Operations that produce new data, such as {@link #mapValues(DoubleUnaryOperator)},
+ * return a standard heap-based time-series.
+ * <p>
+ * When serialized, this is replaced by the equivalent heap-based time-series.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /**
+   * The buffer, which must not be mutated.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The byte offset of the values column in the buffer.
+   */
+  private final int valuesOffset;
+  /**
+   * The index of the first point of this series in the columns.
+   */
+  private final int start;
+  /**
+   * The number of points.
+   */
+  private final int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a buffer holding the columns.
+   * <p>
+   * The dates column starts at position zero, with the values column at the specified offset.
+   * The data must have been validated when written.
+   *
+   * @param buffer  the buffer, which must not be mutated
+   * @param valuesOffset  the byte offset of the values column
+   * @param size  the number of points
+   * @return the time-series
+   */
+  static MappedLocalDateDoubleTimeSeries of(ByteBuffer buffer, int valuesOffset, int size) {
+    ArgChecker.notNull(buffer, "buffer");
+    ArgChecker.isTrue(
+        valuesOffset >= size * 4 && valuesOffset + size * 8L <= buffer.capacity(),
+        "Buffer of capacity {} is too small for {} points",
+        buffer.capacity(),
+        size);
+    return new MappedLocalDateDoubleTimeSeries(buffer, valuesOffset, 0, size);
+  }
+
+  private MappedLocalDateDoubleTimeSeries(ByteBuffer buffer, int valuesOffset, int start, int size) {
+    this.buffer = buffer;
+    this.valuesOffset = valuesOffset;
+    this.start = start;
+    this.size = size;
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the epoch-day of the point at the index, relative to this series
+  private int epochDay(int index) {
+    return buffer.getInt((start + index) * 4);
+  }
+
+  // gets the value of the point at the index, relative to this series
+  private double value(int index) {
+    return buffer.getDouble(valuesOffset + (start + index) * 8);
+  }
+
+  // binary search by epoch-day, returning the same as Arrays.binarySearch
+  private int findDatePosition(LocalDate date) {
+    long key = date.toEpochDay();
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midDay = epochDay(mid);
+      if (midDay < key) {
+        low = mid + 1;
+      } else if (midDay > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  // creates a view of a range of this series
+  private LocalDateDoubleTimeSeries view(int fromIndex, int toIndex) {
+    if (fromIndex == toIndex) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    if (fromIndex == 0 && toIndex == size) {
+      return this;
+    }
+    return new MappedLocalDateDoubleTimeSeries(buffer, valuesOffset, start + fromIndex, toIndex - fromIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(value(position)) : OptionalDouble.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDay(0));
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return value(0);
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDay(size - 1));
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return value(size - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // where in the columns would start/end be (whether or not it's actually in the series)
+    int startPos = findDatePosition(startInclusive);
+    startPos = startPos >= 0 ? startPos : -startPos - 1;
+    int endPos = findDatePosition(endExclusive);
+    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    return view(startPos, Math.max(startPos, endPos));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(0, Math.min(numPoints, size));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(size - Math.min(numPoints, size), size);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDay(i)), value(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size).mapToObj(i -> LocalDate.ofEpochDay(epochDay(i)));
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size).mapToDouble(this::value);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(LocalDate.ofEpochDay(epochDay(i)), value(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    return toHeap().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toHeap().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toHeap().filter(predicate);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    LocalDate[] dates = new LocalDate[size];
+    double[] values = new double[size];
+    for (int i = 0; i < size; i++) {
+      dates[i] = LocalDate.ofEpochDay(epochDay(i));
+      values[i] = value(i);
+    }
+    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+  }
+
+  // copies the data to a heap-based time-series
+  private LocalDateDoubleTimeSeries toHeap() {
+    return toBuilder().build();
+  }
+
+  // serializes the equivalent heap-based time-series
+  private Object writeReplace() {
+    return toHeap();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (epochDay(i) != other.epochDay(i) ||
+            Double.doubleToLongBits(value(i)) != Double.doubleToLongBits(other.value(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      long bits = Double.doubleToLongBits(value(i));
+      hash = hash * 31 + epochDay(i);
+      hash = hash * 31 + (int) (bits ^ (bits >>> 32));
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
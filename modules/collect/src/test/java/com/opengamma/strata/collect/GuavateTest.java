@@ -25,6 +25,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -44,6 +45,7 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.collect.tuple.Pair;
 
@@ -657,6 +659,96 @@ public class GuavateTest {
     assertEquals(combined.get("b"), "B");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_evaluateInOrder() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Integer> test = Guavate.evaluateInOrder(executor, 100, i -> i * i);
+      assertEquals(test.size(), 100);
+      for (int i = 0; i < 100; i++) {
+        assertEquals(test.get(i), (Integer) (i * i));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluateInOrder_exception() {
+    AtomicInteger counter = new AtomicInteger();
+    assertThrows(
+        () -> Guavate.evaluateInOrder(Runnable::run, 10, i -> {
+          counter.incrementAndGet();
+          if (i >= 3) {
+            throw new IllegalStateException("Failed " + i);
+          }
+          return i;
+        }),
+        IllegalStateException.class,
+        "Failed 3");
+    assertEquals(counter.get(), 10);
+  }
+
+  public void test_evaluateInOrder_directExecutor() {
+    AtomicInteger counter = new AtomicInteger();
+    List<Integer> test =
+        Guavate.evaluateInOrder(MoreExecutors.directExecutor(), 5, i -> i * counter.incrementAndGet());
+    assertEquals(test, ImmutableList.of(0, 2, 6, 12, 20));
+    assertThrows(
+        () -> Guavate.evaluateInOrder(MoreExecutors.directExecutor(), 10, i -> {
+          counter.incrementAndGet();
+          if (i >= 3) {
+            throw new IllegalStateException("Failed " + i);
+          }
+          return i;
+        }),
+        IllegalStateException.class,
+        "Failed 3");
+    assertEquals(counter.get(), 9);
+  }
+
+  public void test_evaluateDoublesInOrder() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      double[] test = Guavate.evaluateDoublesInOrder(executor, 100, i -> i * 1.5d);
+      double[] direct = Guavate.evaluateDoublesInOrder(MoreExecutors.directExecutor(), 100, i -> i * 1.5d);
+      assertEquals(test.length, 100);
+      for (int i = 0; i < 100; i++) {
+        assertEquals(test[i], i * 1.5d, 0d);
+        assertEquals(direct[i], i * 1.5d, 0d);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluateDoublesInOrder_exception() {
+    AtomicInteger counter = new AtomicInteger();
+    assertThrows(
+        () -> Guavate.evaluateDoublesInOrder(Runnable::run, 10, i -> {
+          counter.incrementAndGet();
+          if (i >= 3) {
+            throw new IllegalStateException("Failed " + i);
+          }
+          return i;
+        }),
+        IllegalStateException.class,
+        "Failed 3");
+    assertEquals(counter.get(), 10);
+  }
+
+  public void test_joinUnwrapped() {
+    assertEquals(Guavate.joinUnwrapped(CompletableFuture.completedFuture("A")), "A");
+    CompletableFuture<String> runtime = new CompletableFuture<>();
+    runtime.completeExceptionally(new IllegalStateException("Oops"));
+    assertThrows(() -> Guavate.joinUnwrapped(runtime), IllegalStateException.class, "Oops");
+    CompletableFuture<String> error = new CompletableFuture<>();
+    error.completeExceptionally(new Error("Oops"));
+    assertThrows(() -> Guavate.joinUnwrapped(error), Error.class, "Oops");
+    CompletableFuture<String> checked = new CompletableFuture<>();
+    checked.completeExceptionally(new Exception("Oops"));
+    assertThrows(() -> Guavate.joinUnwrapped(checked), CompletionException.class, "java.lang.Exception: Oops");
+  }
+
   //-------------------------------------------------------------------------
   public void test_poll() {
     AtomicInteger counter = new AtomicInteger();
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link LocalDateDoubleTimeSeriesFile} and {@link MappedLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class LocalDateDoubleTimeSeriesFileTest {
+
+  private static final LocalDate DATE_2015_01_01 = date(2015, 1, 1);
+
+  private static final LocalDateDoubleTimeSeries DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1d)
+      .put(date(2015, 1, 6), 2d)
+      .put(date(2015, 1, 7), 3d)
+      .put(date(2015, 1, 8), 4d)
+      .put(date(2015, 1, 9), 5d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_2015_01_01, 10d)
+      .put(date(2015, 6, 1), 11d)
+      .put(date(2016, 1, 1), 12d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_writeAndOpen() throws IOException {
+    Path path = Files.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    try {
+      LocalDateDoubleTimeSeriesFile.write(path, ImmutableMap.of(
+          "dense", DENSE,
+          "sparse", SPARSE,
+          "empty", LocalDateDoubleTimeSeries.empty()));
+
+      try (LocalDateDoubleTimeSeriesFile test = LocalDateDoubleTimeSeriesFile.open(path)) {
+        assertThat(test.getNames()).containsExactly("dense", "sparse", "empty");
+        assertThat(test.contains("dense")).isTrue();
+        assertThat(test.contains("other")).isFalse();
+        assertThat(test.findSeries("other")).isEmpty();
+        assertThat(test.findSeries("empty")).hasValue(LocalDateDoubleTimeSeries.empty());
+
+        LocalDateDoubleTimeSeries dense = test.findSeries("dense").get();
+        assertThat(test.findSeries("dense").get()).isSameAs(dense);
+        assertThat(dense.toBuilder().build()).isEqualTo(DENSE);
+        LocalDateDoubleTimeSeries sparse = test.findSeries("sparse").get();
+        assertThat(sparse.toBuilder().build()).isEqualTo(SPARSE);
+        assertThat(sparse.stream()).containsExactly(SPARSE.stream().toArray(LocalDateDoublePoint[]::new));
+        assertThat(sparse.toString()).isEqualTo(SPARSE.toString());
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  public void test_queries() throws IOException {
+    Path path = Files.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    try {
+      LocalDateDoubleTimeSeriesFile.write(path, ImmutableMap.of("sparse", SPARSE));
+      LocalDateDoubleTimeSeries test;
+      try (LocalDateDoubleTimeSeriesFile file = LocalDateDoubleTimeSeriesFile.open(path)) {
+        test = file.findSeries("sparse").get();
+      }
+      // the series remains valid once the file is closed
+      assertThat(test.size()).isEqualTo(3);
+      assertThat(test.isEmpty()).isFalse();
+      assertThat(test.containsDate(date(2015, 6, 1))).isTrue();
+      assertThat(test.containsDate(date(2015, 6, 2))).isFalse();
+      assertThat(test.get(date(2015, 6, 1))).isEqualTo(OptionalDouble.of(11d));
+      assertThat(test.get(date(2014, 6, 1))).isEqualTo(OptionalDouble.empty());
+      assertThat(test.getEarliestDate()).isEqualTo(DATE_2015_01_01);
+      assertThat(test.getEarliestValue()).isEqualTo(10d);
+      assertThat(test.getLatestDate()).isEqualTo(date(2016, 1, 1));
+      assertThat(test.getLatestValue()).isEqualTo(12d);
+      assertThat(test.dates()).containsExactly(DATE_2015_01_01, date(2015, 6, 1), date(2016, 1, 1));
+      assertThat(test.values().toArray()).containsExactly(10d, 11d, 12d);
+
+      // views
+      LocalDateDoubleTimeSeries sub = test.subSeries(date(2015, 2, 1), date(2016, 1, 1));
+      assertThat(sub.size()).isEqualTo(1);
+      assertThat(sub.getLatestValue()).isEqualTo(11d);
+      assertThat(sub.get(date(2015, 6, 1))).isEqualTo(OptionalDouble.of(11d));
+      assertThat(test.subSeries(date(2017, 1, 1), date(2017, 1, 1)).isEmpty()).isTrue();
+      assertThat(test.headSeries(2).getLatestValue()).isEqualTo(11d);
+      assertThat(test.headSeries(5)).isSameAs(test);
+      assertThat(test.tailSeries(2).getEarliestValue()).isEqualTo(11d);
+      assertThat(test.tailSeries(0).isEmpty()).isTrue();
+      assertThat(test.tailSeries(2)).isEqualTo(test.tailSeries(2));
+      assertThat(test.tailSeries(2).hashCode()).isEqualTo(test.tailSeries(2).hashCode());
+      assertThat(test.tailSeries(2)).isNotEqualTo(test.headSeries(2));
+      assertThrowsIllegalArg(() -> test.subSeries(date(2016, 1, 1), DATE_2015_01_01));
+
+      // operations creating new data
+      assertThat(test.mapValues(v -> v * 2).getLatestValue()).isEqualTo(24d);
+      assertThat(test.filter((date, value) -> value > 10).size()).isEqualTo(2);
+      assertThat(test.mapDates(date -> date.plusDays(1)).getEarliestDate()).isEqualTo(date(2015, 1, 2));
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  public void test_open_invalid() throws IOException {
+    Path path = Files.createTempFile("LocalDateDoubleTimeSeriesFileTest", ".bin");
+    try {
+      Files.write(path, new byte[32]);
+      assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesFile.open(path));
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+}
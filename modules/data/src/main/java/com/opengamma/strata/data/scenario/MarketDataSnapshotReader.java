@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.ENCODING_BEAN;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.ENCODING_STRING;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.KIND_MARKET_DATA;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.KIND_SCENARIO_MARKET_DATA;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.MAGIC;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_DOUBLE;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_DOUBLE_ARRAY;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_DOUBLE_LIST;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_EMPTY;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_OBJECT;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_OBJECT_LIST;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.TYPE_SCENARIO_OBJECT;
+import static com.opengamma.strata.data.scenario.MarketDataSnapshotWriter.VERSION;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.beans.ser.JodaBeanSer;
+import org.joda.convert.RenameHandler;
+import org.joda.convert.StringConvert;
+
+import com.google.common.primitives.Doubles;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Reader for binary snapshots of market data.
+ * <p>
+ * This reads the snapshots written by {@link MarketDataSnapshotWriter}.
+ * The market data must be read in the same order as it was written.
+ * When reading from a file, the file is memory-mapped and the blocks of double values
+ * are copied directly from the mapped buffer.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class MarketDataSnapshotReader {
+
+  /**
+   * The buffer, positioned at the next record.
+   */
+  private final ByteBuffer buffer;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that reads from a byte array.
+   *
+   * @param bytes  the bytes of the snapshot
+   * @return the reader
+   */
+  public static MarketDataSnapshotReader of(byte[] bytes) {
+    ArgChecker.notNull(bytes, "bytes");
+    return new MarketDataSnapshotReader(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Obtains an instance that reads from a buffer.
+   * <p>
+   * The snapshot must start at position zero of the buffer, which is not altered.
+   *
+   * @param buffer  the buffer containing the snapshot
+   * @return the reader
+   */
+  public static MarketDataSnapshotReader of(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(0);
+    return new MarketDataSnapshotReader(duplicate);
+  }
+
+  /**
+   * Obtains an instance that reads from a file, which is memory-mapped.
+   *
+   * @param file  the file containing the snapshot
+   * @return the reader
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static MarketDataSnapshotReader ofFile(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MarketDataSnapshotReader(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // restricted constructor
+  private MarketDataSnapshotReader(ByteBuffer buffer) {
+    this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if there is more data to read.
+   *
+   * @return true if there is more data
+   */
+  public boolean hasNext() {
+    return buffer.hasRemaining();
+  }
+
+  /**
+   * Reads market data.
+   *
+   * @return the market data
+   * @throws IllegalArgumentException if the next record is not market data
+   */
+  public ImmutableMarketData readMarketData() {
+    readHeader(KIND_MARKET_DATA);
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(readDate());
+    int valueCount = readInt();
+    for (int i = 0; i < valueCount; i++) {
+      MarketDataId<?> id = (MarketDataId<?>) readObject();
+      builder.addValueUnsafe(id, readSingleValue(buffer.get()));
+    }
+    return builder.timeSeries(readTimeSeriesMap()).build();
+  }
+
+  /**
+   * Reads scenario market data.
+   *
+   * @return the market data
+   * @throws IllegalArgumentException if the next record is not scenario market data
+   */
+  public ImmutableScenarioMarketData readScenarioMarketData() {
+    readHeader(KIND_SCENARIO_MARKET_DATA);
+    int scenarioCount = readInt();
+    int dateCount = readInt();
+    MarketDataBox<LocalDate> valuationDate;
+    if (dateCount < 0) {
+      valuationDate = MarketDataBox.ofSingleValue(readDate());
+    } else {
+      List<LocalDate> dates = new ArrayList<>(dateCount);
+      for (int i = 0; i < dateCount; i++) {
+        dates.add(readDate());
+      }
+      valuationDate = MarketDataBox.ofScenarioValues(dates);
+    }
+    int valueCount = readInt();
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new HashMap<>();
+    for (int i = 0; i < valueCount; i++) {
+      MarketDataId<?> id = (MarketDataId<?>) readObject();
+      values.put(id, readBox());
+    }
+    return ImmutableScenarioMarketData.of(scenarioCount, valuationDate, values, readTimeSeriesMap());
+  }
+
+  // reads and validates the record header
+  private void readHeader(byte kind) {
+    ArgChecker.isTrue(buffer.remaining() >= 9, "No more market data in snapshot");
+    ArgChecker.isTrue(readInt() == MAGIC, "Invalid market data snapshot");
+    int version = readInt();
+    ArgChecker.isTrue(version == VERSION, "Unsupported market data snapshot version: {}", version);
+    byte actualKind = buffer.get();
+    ArgChecker.isTrue(
+        actualKind == kind, "Unexpected market data type in snapshot, expected {} but was {}", kind, actualKind);
+  }
+
+  // reads a single value
+  private Object readSingleValue(byte type) {
+    if (type == TYPE_DOUBLE) {
+      align();
+      return buffer.getDouble();
+    }
+    ArgChecker.isTrue(type == TYPE_OBJECT, "Invalid market data snapshot, unknown value type: {}", type);
+    return readObject();
+  }
+
+  // reads a box
+  private MarketDataBox<?> readBox() {
+    byte type = buffer.get();
+    switch (type) {
+      case TYPE_EMPTY:
+        return MarketDataBox.empty();
+      case TYPE_DOUBLE_ARRAY:
+        return MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(DoubleArray.ofUnsafe(readDoubles())));
+      case TYPE_DOUBLE_LIST:
+        return MarketDataBox.ofScenarioValues(new ArrayList<>(Doubles.asList(readDoubles())));
+      case TYPE_OBJECT_LIST: {
+        int size = readInt();
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          values.add(readObject());
+        }
+        return MarketDataBox.ofScenarioValues(values);
+      }
+      case TYPE_SCENARIO_OBJECT: {
+        @SuppressWarnings("unchecked")
+        ScenarioArray<Object> array = (ScenarioArray<Object>) readObject();
+        return MarketDataBox.ofScenarioValue(array);
+      }
+      default:
+        return MarketDataBox.ofSingleValue(readSingleValue(type));
+    }
+  }
+
+  // reads the time-series
+  private Map<ObservableId, LocalDateDoubleTimeSeries> readTimeSeriesMap() {
+    int size = readInt();
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      ObservableId id = (ObservableId) readObject();
+      timeSeries.put(id, readTimeSeries());
+    }
+    return timeSeries;
+  }
+
+  // reads a time-series
+  private LocalDateDoubleTimeSeries readTimeSeries() {
+    int size = readInt();
+    int[] epochDays = new int[size];
+    buffer.asIntBuffer().get(epochDays);
+    buffer.position(buffer.position() + size * 4);
+    double[] values = readDoubles();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < size; i++) {
+      builder.put(LocalDate.ofEpochDay(epochDays[i]), values[i]);
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads an int.
+   * <p>
+   * This can be used to read custom data written by {@link MarketDataSnapshotWriter#writeInt(int)}.
+   *
+   * @return the value
+   */
+  public int readInt() {
+    return buffer.getInt();
+  }
+
+  /**
+   * Reads an object.
+   * <p>
+   * This can be used to read custom data written by {@link MarketDataSnapshotWriter#writeObject(Object)}.
+   * Only Joda-Beans and types that Joda-Convert can convert from a string are read.
+   *
+   * @return the object
+   * @throws IllegalArgumentException if the object cannot be read
+   */
+  public Object readObject() {
+    byte encoding = buffer.get();
+    if (encoding == ENCODING_BEAN) {
+      byte[] bytes = new byte[buffer.getInt()];
+      buffer.get(bytes);
+      return JodaBeanSer.COMPACT.binReader().read(bytes);
+    }
+    ArgChecker.isTrue(encoding == ENCODING_STRING, "Invalid market data snapshot, unknown encoding: {}", encoding);
+    String typeName = readString();
+    String str = readString();
+    Class<?> type;
+    try {
+      type = RenameHandler.INSTANCE.lookupType(typeName);
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalArgumentException("Unable to read object from snapshot, unknown type: " + typeName, ex);
+    }
+    ArgChecker.isTrue(
+        StringConvert.INSTANCE.isConvertible(type),
+        "Unable to read object from snapshot, type is not convertible from a string: {}",
+        typeName);
+    return StringConvert.INSTANCE.convertFromString(type, str);
+  }
+
+  // reads a string written as UTF-8 bytes preceded by the length
+  private String readString() {
+    byte[] bytes = new byte[readInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // reads a date
+  private LocalDate readDate() {
+    return LocalDate.ofEpochDay(readInt());
+  }
+
+  // reads an aligned block of doubles preceded by the count
+  private double[] readDoubles() {
+    int size = readInt();
+    align();
+    double[] values = new double[size];
+    buffer.asDoubleBuffer().get(values);
+    buffer.position(buffer.position() + size * 8);
+    return values;
+  }
+
+  // skips the padding to a multiple of eight bytes
+  private void align() {
+    buffer.position(buffer.position() + (-buffer.position() & 7));
+  }
+
+  @Override
+  public String toString() {
+    return "MarketDataSnapshotReader[position=" + buffer.position() + ", size=" + buffer.limit() + "]";
+  }
+
+}
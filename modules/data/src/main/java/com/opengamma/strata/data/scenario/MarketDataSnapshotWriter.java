@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.joda.convert.StringConvert;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Writer for binary snapshots of market data.
+ * <p>
+ * A snapshot is a compact binary form of {@link ImmutableMarketData} or {@link ImmutableScenarioMarketData}
+ * that can be read back using {@link MarketDataSnapshotReader} much faster than parsing CSV or XML.
+ * Several market data instances can be written one after another to the same snapshot.
+ * <p>
+ * All numbers are little-endian. Double values, including the scenario values of quotes and the
+ * values of time-series, are written as raw blocks aligned to eight bytes, so that they can be read
+ * directly from a memory-mapped file. Dates are written as epoch-day integers.
+ * Other values and identifiers are written using Joda-Beans binary serialization if they are beans,
+ * or as a string using Joda-Convert if they are simple types. Other types cannot be written.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class MarketDataSnapshotWriter {
+
+  /**
+   * The magic number at the start of each record.
+   */
+  static final int MAGIC = 0x4F474D44;
+  /**
+   * The version of the format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The record type for {@code ImmutableMarketData}.
+   */
+  static final byte KIND_MARKET_DATA = 1;
+  /**
+   * The record type for {@code ImmutableScenarioMarketData}.
+   */
+  static final byte KIND_SCENARIO_MARKET_DATA = 2;
+  /**
+   * The type of a single double value.
+   */
+  static final byte TYPE_DOUBLE = 1;
+  /**
+   * The type of a single object value.
+   */
+  static final byte TYPE_OBJECT = 2;
+  /**
+   * The type of a list of double scenario values.
+   */
+  static final byte TYPE_DOUBLE_LIST = 3;
+  /**
+   * The type of a {@code DoubleScenarioArray} scenario value.
+   */
+  static final byte TYPE_DOUBLE_ARRAY = 4;
+  /**
+   * The type of a list of object scenario values.
+   */
+  static final byte TYPE_OBJECT_LIST = 5;
+  /**
+   * The type of a scenario value that is written as a single object.
+   */
+  static final byte TYPE_SCENARIO_OBJECT = 6;
+  /**
+   * The type of an empty box.
+   */
+  static final byte TYPE_EMPTY = 7;
+  /**
+   * The encoding of an object using Joda-Beans.
+   */
+  static final byte ENCODING_BEAN = 1;
+  /**
+   * The encoding of an object as a string using Joda-Convert, preceded by the type name.
+   */
+  static final byte ENCODING_STRING = 2;
+
+  /**
+   * The buffer, which grows as necessary.
+   */
+  private ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty writer.
+   *
+   * @return the writer
+   */
+  public static MarketDataSnapshotWriter create() {
+    return new MarketDataSnapshotWriter();
+  }
+
+  // restricted constructor
+  private MarketDataSnapshotWriter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes market data.
+   *
+   * @param marketData  the market data
+   * @return this writer, for chaining
+   * @throws IllegalArgumentException if a value cannot be written
+   */
+  public MarketDataSnapshotWriter write(ImmutableMarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    writeHeader(KIND_MARKET_DATA);
+    writeDate(marketData.getValuationDate());
+    writeInt(marketData.getValues().size());
+    for (Entry<MarketDataId<?>, Object> entry : marketData.getValues().entrySet()) {
+      writeObject(entry.getKey());
+      writeSingleValue(entry.getValue());
+    }
+    writeTimeSeries(marketData.getTimeSeries());
+    return this;
+  }
+
+  /**
+   * Writes scenario market data.
+   *
+   * @param marketData  the market data
+   * @return this writer, for chaining
+   * @throws IllegalArgumentException if a value cannot be written
+   */
+  public MarketDataSnapshotWriter write(ImmutableScenarioMarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    writeHeader(KIND_SCENARIO_MARKET_DATA);
+    writeInt(marketData.getScenarioCount());
+    MarketDataBox<LocalDate> valuationDate = marketData.getValuationDate();
+    if (valuationDate.isSingleValue()) {
+      writeInt(-1);
+      writeDate(valuationDate.getSingleValue());
+    } else {
+      writeInt(valuationDate.getScenarioCount());
+      for (int i = 0; i < valuationDate.getScenarioCount(); i++) {
+        writeDate(valuationDate.getValue(i));
+      }
+    }
+    writeInt(marketData.getValues().size());
+    for (Entry<MarketDataId<?>, MarketDataBox<?>> entry : marketData.getValues().entrySet()) {
+      writeObject(entry.getKey());
+      writeBox(entry.getValue());
+    }
+    writeTimeSeries(marketData.getTimeSeries());
+    return this;
+  }
+
+  // writes the record header
+  private void writeHeader(byte kind) {
+    writeInt(MAGIC);
+    writeInt(VERSION);
+    ensure(1);
+    buffer.put(kind);
+  }
+
+  // writes a single value
+  private void writeSingleValue(Object value) {
+    ensure(1);
+    if (value instanceof Double) {
+      buffer.put(TYPE_DOUBLE);
+      align();
+      ensure(8);
+      buffer.putDouble((Double) value);
+    } else {
+      buffer.put(TYPE_OBJECT);
+      writeObject(value);
+    }
+  }
+
+  // writes a box
+  private void writeBox(MarketDataBox<?> box) {
+    if (box instanceof EmptyMarketDataBox) {
+      ensure(1);
+      buffer.put(TYPE_EMPTY);
+
+    } else if (box.isSingleValue()) {
+      writeSingleValue(box.getSingleValue());
+
+    } else {
+      ScenarioArray<?> array = box.getScenarioValue();
+      ensure(1);
+      if (array instanceof DoubleScenarioArray) {
+        buffer.put(TYPE_DOUBLE_ARRAY);
+        writeDoubles(((DoubleScenarioArray) array).getValues().toArrayUnsafe());
+
+      } else if (array instanceof DefaultScenarioArray) {
+        List<?> values = ((DefaultScenarioArray<?>) array).getValues();
+        if (values.stream().allMatch(Double.class::isInstance)) {
+          buffer.put(TYPE_DOUBLE_LIST);
+          writeDoubles(values.stream().mapToDouble(Double.class::cast).toArray());
+        } else {
+          buffer.put(TYPE_OBJECT_LIST);
+          writeInt(values.size());
+          values.forEach(this::writeObject);
+        }
+
+      } else {
+        buffer.put(TYPE_SCENARIO_OBJECT);
+        writeObject(array);
+      }
+    }
+  }
+
+  // writes the time-series
+  private void writeTimeSeries(Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+    writeInt(timeSeries.size());
+    for (Entry<ObservableId, LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+      writeObject(entry.getKey());
+      LocalDateDoubleTimeSeries series = entry.getValue();
+      int size = series.size();
+      writeInt(size);
+      ensure(size * 4);
+      series.dates().forEach(date -> buffer.putInt(Math.toIntExact(date.toEpochDay())));
+      writeDoubles(series.values().toArray());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes an int.
+   * <p>
+   * This can be used to add custom data to the snapshot.
+   *
+   * @param value  the value
+   */
+  public void writeInt(int value) {
+    ensure(4);
+    buffer.putInt(value);
+  }
+
+  /**
+   * Writes an object.
+   * <p>
+   * This can be used to add custom data to the snapshot.
+   * The object must be a Joda-Bean or a type that Joda-Convert can convert to a string.
+   *
+   * @param object  the object
+   * @throws IllegalArgumentException if the object cannot be written
+   */
+  public void writeObject(Object object) {
+    ArgChecker.notNull(object, "object");
+    if (object instanceof Bean) {
+      byte[] bytes = JodaBeanSer.COMPACT.binWriter().write((Bean) object, true);
+      ensure(5 + bytes.length);
+      buffer.put(ENCODING_BEAN);
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+    } else if (StringConvert.INSTANCE.isConvertible(object.getClass())) {
+      ensure(1);
+      buffer.put(ENCODING_STRING);
+      writeString(object.getClass().getName());
+      writeString(StringConvert.INSTANCE.convertToString(object));
+    } else {
+      throw new IllegalArgumentException(
+          "Unable to write object to snapshot, it is not a bean or convertible to a string: " +
+              object.getClass().getName());
+    }
+  }
+
+  // writes a string as UTF-8 bytes preceded by the length
+  private void writeString(String str) {
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+    ensure(bytes.length);
+    buffer.put(bytes);
+  }
+
+  // writes a date
+  private void writeDate(LocalDate date) {
+    writeInt(Math.toIntExact(date.toEpochDay()));
+  }
+
+  // writes an aligned block of doubles preceded by the count
+  private void writeDoubles(double[] values) {
+    writeInt(values.length);
+    align();
+    ensure(values.length * 8);
+    buffer.asDoubleBuffer().put(values);
+    buffer.position(buffer.position() + values.length * 8);
+  }
+
+  // pads to a multiple of eight bytes
+  private void align() {
+    int padding = -buffer.position() & 7;
+    ensure(padding);
+    for (int i = 0; i < padding; i++) {
+      buffer.put((byte) 0);
+    }
+  }
+
+  // ensures the buffer has space
+  private void ensure(int length) {
+    if (buffer.remaining() < length) {
+      int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+      ByteBuffer newBuffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.flip();
+      newBuffer.put(buffer);
+      buffer = newBuffer;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the snapshot as a byte array.
+   *
+   * @return the bytes of the snapshot
+   */
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[buffer.position()];
+    System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+    return bytes;
+  }
+
+  /**
+   * Writes the snapshot to an output stream.
+   *
+   * @param out  the output stream
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public void writeTo(OutputStream out) {
+    ArgChecker.notNull(out, "out");
+    try {
+      out.write(buffer.array(), 0, buffer.position());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes the snapshot to a file.
+   *
+   * @param file  the file
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public void writeTo(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      writeTo(out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+}
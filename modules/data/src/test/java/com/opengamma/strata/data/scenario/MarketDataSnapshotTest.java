@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * Test {@link MarketDataSnapshotWriter} and {@link MarketDataSnapshotReader}.
+ */
+@Test
+public class MarketDataSnapshotTest {
+
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final TestObservableId ID4 = TestObservableId.of("4");
+  private static final FxRateId FX_ID = FxRateId.of(GBP, USD);
+  private static final FxRate FX_RATE = FxRate.of(GBP, USD, 1.4d);
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 7), 1d)
+      .put(date(2011, 3, 8), 2d)
+      .put(date(2011, 3, 10), 3d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_marketData() {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID1, 1.5d)
+        .addValue(FX_ID, FX_RATE)
+        .addTimeSeries(ID1, TIME_SERIES)
+        .addTimeSeries(ID2, LocalDateDoubleTimeSeries.empty())
+        .build();
+    byte[] bytes = MarketDataSnapshotWriter.create().write(marketData).toByteArray();
+
+    MarketDataSnapshotReader test = MarketDataSnapshotReader.of(bytes);
+    assertThat(test.hasNext()).isTrue();
+    assertThat(test.readMarketData()).isEqualTo(marketData);
+    assertThat(test.hasNext()).isFalse();
+  }
+
+  public void test_scenarioMarketData() {
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(ID1, 1.5d)
+        .addScenarioValue(ID2, ImmutableList.of(1d, 2d, 3d))
+        .addScenarioValue(ID3, DoubleScenarioArray.of(DoubleArray.of(4d, 5d, 6d)))
+        .addValue(FX_ID, FX_RATE)
+        .addTimeSeries(ID1, TIME_SERIES)
+        .build();
+    ImmutableScenarioMarketData marketData2 = ImmutableScenarioMarketData.of(
+        2,
+        MarketDataBox.ofScenarioValues(VAL_DATE, VAL_DATE.plusDays(1)),
+        ImmutableMap.<MarketDataId<?>, MarketDataBox<?>>of(
+            FX_ID, MarketDataBox.ofScenarioValues(FX_RATE, FX_RATE),
+            ID4, MarketDataBox.empty()),
+        ImmutableMap.of());
+    byte[] bytes = MarketDataSnapshotWriter.create().write(marketData).write(marketData2).toByteArray();
+
+    MarketDataSnapshotReader test = MarketDataSnapshotReader.of(bytes);
+    ImmutableScenarioMarketData read = test.readScenarioMarketData();
+    assertThat(read).isEqualTo(marketData);
+    assertThat(read.getValue(ID3).getScenarioValue()).isInstanceOf(DoubleScenarioArray.class);
+    assertThat(test.readScenarioMarketData()).isEqualTo(marketData2);
+    assertThat(test.hasNext()).isFalse();
+    assertThrowsIllegalArg(() -> MarketDataSnapshotReader.of(bytes).readMarketData());
+  }
+
+  public void test_file() throws IOException {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID1, 1.5d)
+        .addTimeSeries(ID1, TIME_SERIES)
+        .build();
+    Path path = Files.createTempFile("MarketDataSnapshotTest", ".bin");
+    try {
+      MarketDataSnapshotWriter.create().write(marketData).writeTo(path);
+      assertThat(MarketDataSnapshotReader.ofFile(path).readMarketData()).isEqualTo(marketData);
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  public void test_object() {
+    MarketDataSnapshotWriter writer = MarketDataSnapshotWriter.create();
+    writer.writeObject(FX_RATE);
+    writer.writeObject(VAL_DATE);
+    writer.writeObject(GBP);
+    writer.writeInt(2);
+
+    MarketDataSnapshotReader test = MarketDataSnapshotReader.of(writer.toByteArray());
+    assertThat(test.readObject()).isEqualTo(FX_RATE);
+    assertThat(test.readObject()).isEqualTo(VAL_DATE);
+    assertThat(test.readObject()).isEqualTo(GBP);
+    assertThat(test.readInt()).isEqualTo(2);
+    assertThat(test.hasNext()).isFalse();
+  }
+
+  public void test_writeObject_unsupported() {
+    assertThrowsIllegalArg(() -> MarketDataSnapshotWriter.create().writeObject(new Object()));
+    assertThrowsIllegalArg(() -> MarketDataSnapshotWriter.create().writeObject(new ArrayList<>()));
+  }
+
+  public void test_readObject_unsupported() {
+    // a string encoded object of a type that is not convertible from a string
+    byte[] type = ArrayList.class.getName().getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocate(9 + type.length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put(MarketDataSnapshotWriter.ENCODING_STRING).putInt(type.length).put(type).putInt(0);
+    assertThrowsIllegalArg(() -> MarketDataSnapshotReader.of(buffer.array()).readObject());
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * OpenGamma implementation of the LU decomposition with partial pivoting.
+ * <p>
+ * The decomposition is performed in place on a copy of the rows of the matrix,
+ * without converting to another matrix representation.
+ * The elimination proceeds row by row, so the inner loops access contiguous memory.
+ * <p>
+ * If the matrix is singular, the result has a determinant of zero and cannot be used to solve systems.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGamma implements Decomposition<LUDecompositionResult> {
+
+  /**
+   * The absolute value of the pivot below which the matrix is considered singular.
+   * This is the same as the default threshold of the Commons implementation.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1.0E-11;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LUDecompositionResult apply(DoubleMatrix x) {
+    return evaluate(x, DEFAULT_SINGULARITY_THRESHOLD);
+  }
+
+  /**
+   * Perform the decomposition with a given singularity threshold.
+   * @param matrix The matrix to decompose.
+   * @param singularityThreshold The singularity threshold.
+   * @return The LU decomposition.
+   * @throws IllegalArgumentException if the matrix is not square
+   */
+  public LUDecompositionResult evaluate(DoubleMatrix matrix, double singularityThreshold) {
+    ArgChecker.notNull(matrix, "x");
+    int n = matrix.rowCount();
+    ArgChecker.isTrue(n == matrix.columnCount(), "Matrix not square");
+    double[][] lu = matrix.toArray();
+    int[] pivot = new int[n];
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    for (int col = 0; col < n; col++) {
+      // find the largest pivot in the column
+      int max = col;
+      double largest = Math.abs(lu[col][col]);
+      for (int row = col + 1; row < n; row++) {
+        double abs = Math.abs(lu[row][col]);
+        if (abs > largest) {
+          largest = abs;
+          max = row;
+        }
+      }
+      if (largest < singularityThreshold) {
+        // the decomposition cannot be completed
+        return new LUDecompositionOpenGammaResult(lu, pivot, even, true);
+      }
+      if (max != col) {
+        double[] tmpRow = lu[max];
+        lu[max] = lu[col];
+        lu[col] = tmpRow;
+        int tmpPivot = pivot[max];
+        pivot[max] = pivot[col];
+        pivot[col] = tmpPivot;
+        even = !even;
+      }
+      // eliminate below the pivot
+      double[] pivotRow = lu[col];
+      double diag = pivotRow[col];
+      for (int row = col + 1; row < n; row++) {
+        double[] luRow = lu[row];
+        double factor = luRow[col] / diag;
+        luRow[col] = factor;
+        if (factor != 0d) {
+          for (int j = col + 1; j < n; j++) {
+            luRow[j] -= factor * pivotRow[j];
+          }
+        }
+      }
+    }
+    return new LUDecompositionOpenGammaResult(lu, pivot, even, false);
+  }
+
+}
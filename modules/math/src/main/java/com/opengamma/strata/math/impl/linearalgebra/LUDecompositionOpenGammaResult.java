@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of LU decomposition ({@link LUDecompositionOpenGamma}).
+ * <p>
+ * The matrices $\mathbf{L}$, $\mathbf{U}$ and $\mathbf{P}$ are only created when requested,
+ * solving uses the packed decomposition directly.
+ * <p>
+ * If the matrix is singular, the determinant is zero and the other methods, except for the pivot, throw an exception.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGammaResult implements LUDecompositionResult {
+
+  /**
+   * The packed decomposition, with L below the diagonal and U on and above the diagonal.
+   */
+  private final double[][] _lu;
+  /**
+   * The pivot permutation vector.
+   */
+  private final int[] _pivot;
+  /**
+   * Whether the original matrix is singular, in which case the decomposition is not complete.
+   */
+  private final boolean _singular;
+  /**
+   * The determinant of the original matrix.
+   */
+  private final double _determinant;
+
+  /**
+   * Constructor.
+   * @param lu The packed decomposition, with the unit diagonal of L omitted, not copied.
+   * @param pivot The pivot permutation vector, not copied.
+   * @param even Whether the permutation is even.
+   * @param singular Whether the matrix is singular.
+   */
+  public LUDecompositionOpenGammaResult(double[][] lu, int[] pivot, boolean even, boolean singular) {
+    ArgChecker.notNull(lu, "lu");
+    ArgChecker.notNull(pivot, "pivot");
+    _lu = lu;
+    _pivot = pivot;
+    _singular = singular;
+    double determinant = 0d;
+    if (!singular) {
+      determinant = even ? 1d : -1d;
+      for (int i = 0; i < lu.length; i++) {
+        determinant *= lu[i][i];
+      }
+    }
+    _determinant = determinant;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant() {
+    return _determinant;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getL() {
+    checkNotSingular();
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> i > j ? _lu[i][j] : (i == j ? 1d : 0d));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getP() {
+    checkNotSingular();
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> _pivot[i] == j ? 1d : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int[] getPivot() {
+    return _pivot.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getU() {
+    checkNotSingular();
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> i <= j ? _lu[i][j] : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    int n = _lu.length;
+    ArgChecker.isTrue(b.length == n, "b array of incorrect size");
+    checkNotSingular();
+    double[] x = new double[n];
+    // L y = P b (y stored in x array)
+    for (int i = 0; i < n; i++) {
+      double[] luRow = _lu[i];
+      double sum = b[_pivot[i]];
+      for (int k = 0; k < i; k++) {
+        sum -= luRow[k] * x[k];
+      }
+      x[i] = sum;
+    }
+    // U x = y
+    for (int i = n - 1; i >= 0; i--) {
+      double[] luRow = _lu[i];
+      double sum = x[i];
+      for (int k = i + 1; k < n; k++) {
+        sum -= luRow[k] * x[k];
+      }
+      x[i] = sum / luRow[i];
+    }
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    int n = _lu.length;
+    int nbCol = b.columnCount();
+    ArgChecker.isTrue(b.rowCount() == n, "b array of incorrect size");
+    checkNotSingular();
+    double[][] x = new double[n][];
+    for (int i = 0; i < n; i++) {
+      x[i] = b.rowArray(_pivot[i]);
+    }
+    // L Y = P B (Y stored in x array), operating on whole rows
+    for (int i = 0; i < n; i++) {
+      double[] luRow = _lu[i];
+      double[] xRow = x[i];
+      for (int k = 0; k < i; k++) {
+        double factor = luRow[k];
+        double[] xk = x[k];
+        for (int j = 0; j < nbCol; j++) {
+          xRow[j] -= factor * xk[j];
+        }
+      }
+    }
+    // U X = Y
+    for (int i = n - 1; i >= 0; i--) {
+      double[] luRow = _lu[i];
+      double[] xRow = x[i];
+      for (int k = i + 1; k < n; k++) {
+        double factor = luRow[k];
+        double[] xk = x[k];
+        for (int j = 0; j < nbCol; j++) {
+          xRow[j] -= factor * xk[j];
+        }
+      }
+      double diagInverse = 1d / luRow[i];
+      for (int j = 0; j < nbCol; j++) {
+        xRow[j] *= diagInverse;
+      }
+    }
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks that the decomposition is complete
+  private void checkNotSingular() {
+    ArgChecker.isFalse(_singular, "Matrix is singular; could not perform LU decomposition");
+  }
+
+}
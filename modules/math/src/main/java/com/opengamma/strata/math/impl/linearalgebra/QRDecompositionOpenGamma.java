@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * OpenGamma implementation of the QR decomposition using Householder reflections.
+ * <p>
+ * The decomposition is performed in place on a copy of the rows of the matrix,
+ * without converting to another matrix representation.
+ * Each reflection is applied to the remaining columns a row at a time,
+ * so the inner loops access contiguous memory.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class QRDecompositionOpenGamma implements Decomposition<QRDecompositionResult> {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public QRDecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    int nbRow = x.rowCount();
+    int nbCol = x.columnCount();
+    int size = Math.min(nbRow, nbCol);
+    double[][] qr = x.toArray();
+    double[] rDiag = new double[size];
+    double[] w = new double[nbCol];
+    for (int k = 0; k < size; k++) {
+      double norm2 = 0d;
+      for (int i = k; i < nbRow; i++) {
+        double value = qr[i][k];
+        norm2 += value * value;
+      }
+      double a = qr[k][k] > 0 ? -Math.sqrt(norm2) : Math.sqrt(norm2);
+      rDiag[k] = a;
+      if (a != 0d) {
+        // the Householder vector v = x - a e_k is stored in column k, on and below the diagonal
+        // each remaining column y is replaced by y + v (v.y) / (a v_k)
+        qr[k][k] -= a;
+        double scale = 1d / (a * qr[k][k]);
+        Arrays.fill(w, k + 1, nbCol, 0d);
+        for (int i = k; i < nbRow; i++) {
+          double[] row = qr[i];
+          double v = row[k];
+          for (int j = k + 1; j < nbCol; j++) {
+            w[j] += v * row[j];
+          }
+        }
+        for (int i = k; i < nbRow; i++) {
+          double[] row = qr[i];
+          double v = row[k] * scale;
+          for (int j = k + 1; j < nbCol; j++) {
+            row[j] += v * w[j];
+          }
+        }
+      }
+    }
+    return new QRDecompositionOpenGammaResult(qr, rDiag);
+  }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of QR decomposition ({@link QRDecompositionOpenGamma}).
+ * <p>
+ * The matrices $\mathbf{Q}$ and $\mathbf{R}$ are only created when requested,
+ * solving applies the stored Householder reflections directly.
+ * Solving finds the least squares solution, and requires at least as many rows as columns.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class QRDecompositionOpenGammaResult implements QRDecompositionResult {
+
+  /**
+   * The packed decomposition, with the Householder vectors on and below the diagonal
+   * and R above the diagonal.
+   */
+  private final double[][] _qr;
+  /**
+   * The diagonal of R.
+   */
+  private final double[] _rDiag;
+  /**
+   * The number of rows of the original matrix.
+   */
+  private final int _nbRow;
+  /**
+   * The number of columns of the original matrix.
+   */
+  private final int _nbCol;
+
+  /**
+   * Constructor.
+   * @param qr The packed decomposition, not copied.
+   * @param rDiag The diagonal of R, not copied.
+   */
+  public QRDecompositionOpenGammaResult(double[][] qr, double[] rDiag) {
+    ArgChecker.notNull(qr, "qr");
+    ArgChecker.notNull(rDiag, "rDiag");
+    _qr = qr;
+    _rDiag = rDiag;
+    _nbRow = qr.length;
+    _nbCol = qr.length == 0 ? 0 : qr[0].length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getQ() {
+    double[][] q = new double[_nbRow][_nbRow];
+    for (int i = 0; i < _nbRow; i++) {
+      q[i][i] = 1d;
+    }
+    // Q = H_0 H_1 ... H_(p-1)
+    double[] w = new double[_nbRow];
+    for (int k = _rDiag.length - 1; k >= 0; k--) {
+      reflect(k, q, _nbRow, w);
+    }
+    return DoubleMatrix.ofUnsafe(q);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getQT() {
+    return getQ().transpose();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getR() {
+    return DoubleMatrix.of(_nbRow, _nbCol, (i, j) -> i < j ? _qr[i][j] : (i == j ? _rDiag[i] : 0d));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.length == _nbRow, "b array of incorrect size");
+    checkSolvable();
+    // y = Q^T b
+    double[] y = b.clone();
+    for (int k = 0; k < _nbCol; k++) {
+      double a = _rDiag[k];
+      double scale = 1d / (a * _qr[k][k]);
+      double dot = 0d;
+      for (int i = k; i < _nbRow; i++) {
+        dot += _qr[i][k] * y[i];
+      }
+      dot *= scale;
+      for (int i = k; i < _nbRow; i++) {
+        y[i] += dot * _qr[i][k];
+      }
+    }
+    // R x = y
+    double[] x = new double[_nbCol];
+    for (int i = _nbCol - 1; i >= 0; i--) {
+      double[] row = _qr[i];
+      double sum = y[i];
+      for (int j = i + 1; j < _nbCol; j++) {
+        sum -= row[j] * x[j];
+      }
+      x[i] = sum / _rDiag[i];
+    }
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.rowCount() == _nbRow, "b array of incorrect size");
+    checkSolvable();
+    int nbColB = b.columnCount();
+    // Y = Q^T B
+    double[][] y = b.toArray();
+    double[] w = new double[nbColB];
+    for (int k = 0; k < _nbCol; k++) {
+      reflect(k, y, nbColB, w);
+    }
+    // R X = Y, operating on whole rows
+    double[][] x = new double[_nbCol][];
+    for (int i = _nbCol - 1; i >= 0; i--) {
+      double[] row = _qr[i];
+      double[] xRow = y[i];
+      for (int j = i + 1; j < _nbCol; j++) {
+        double factor = row[j];
+        double[] xj = x[j];
+        for (int l = 0; l < nbColB; l++) {
+          xRow[l] -= factor * xj[l];
+        }
+      }
+      double diagInverse = 1d / _rDiag[i];
+      for (int l = 0; l < nbColB; l++) {
+        xRow[l] *= diagInverse;
+      }
+      x[i] = xRow;
+    }
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks that the least squares problem has a unique solution
+  private void checkSolvable() {
+    ArgChecker.isTrue(_nbRow >= _nbCol, "Matrix must have at least as many rows as columns to solve");
+    for (double diag : _rDiag) {
+      ArgChecker.isTrue(diag != 0d, "Matrix is singular");
+    }
+  }
+
+  // applies the Householder reflection H_k to each column of the target, a row at a time
+  private void reflect(int k, double[][] target, int nbColTarget, double[] w) {
+    double a = _rDiag[k];
+    if (a == 0d) {
+      return;
+    }
+    double scale = 1d / (a * _qr[k][k]);
+    for (int l = 0; l < nbColTarget; l++) {
+      w[l] = 0d;
+    }
+    for (int i = k; i < _nbRow; i++) {
+      double v = _qr[i][k];
+      double[] row = target[i];
+      for (int l = 0; l < nbColTarget; l++) {
+        w[l] += v * row[l];
+      }
+    }
+    for (int i = k; i < _nbRow; i++) {
+      double v = _qr[i][k] * scale;
+      double[] row = target[i];
+      for (int l = 0; l < nbColTarget; l++) {
+        row[l] += v * w[l];
+      }
+    }
+  }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+
+/**
+ * Matrix algebra for dense matrices, implemented in Java on the rows of {@link DoubleMatrix}.
+ * <p>
+ * Unlike {@link CommonsMatrixAlgebra}, the matrices are not converted to another representation.
+ * The product of two matrices is calculated in blocks to make efficient use of the cache.
+ * Each element of the product is summed in the same order as {@link OGMatrixAlgebra},
+ * so the results are identical.
+ * <p>
+ * The inverse and the determinant use {@link LUDecompositionOpenGamma}.
+ * The inverse is only available for non-singular matrices.
+ * As for {@link OGMatrixAlgebra}, the condition number, the 2-norm of a matrix
+ * and non-integer powers are not supported.
+ */
+public class DenseMatrixAlgebra extends OGMatrixAlgebra {
+
+  /**
+   * The size of the square blocks used when multiplying matrices.
+   */
+  private static final int BLOCK_SIZE = 64;
+  /**
+   * The LU decomposition.
+   */
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      return LU.apply(matrix).getDeterminant();
+    }
+    throw new IllegalArgumentException("Can only find determinant of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  @Override
+  public DoubleMatrix getInverse(Matrix m) {
+    ArgChecker.notNull(m, "matrix was null");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      return LU.apply(matrix).solve(DoubleMatrix.identity(matrix.rowCount()));
+    }
+    throw new IllegalArgumentException("Can only find inverse of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNorm1(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> r + Math.abs(v));
+    } else if (m instanceof DoubleMatrix) {
+      double[][] data = ((DoubleMatrix) m).toArrayUnsafe();
+      int nbCol = ((DoubleMatrix) m).columnCount();
+      double[] sums = new double[nbCol];
+      for (double[] row : data) {
+        for (int j = 0; j < nbCol; j++) {
+          sums[j] += Math.abs(row[j]);
+        }
+      }
+      double max = 0d;
+      for (double sum : sums) {
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find norm1 of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNormInfinity(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> Math.max(r, Math.abs(v)));
+    } else if (m instanceof DoubleMatrix) {
+      double max = 0d;
+      for (double[] row : ((DoubleMatrix) m).toArrayUnsafe()) {
+        double sum = 0d;
+        for (double value : row) {
+          sum += Math.abs(value);
+        }
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find normInfinity of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The power must be zero or positive.
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, int p) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      ArgChecker.notNegative(p, "p");
+      // binary exponentiation
+      DoubleMatrix result = DoubleMatrix.identity(matrix.rowCount());
+      DoubleMatrix square = matrix;
+      int remaining = p;
+      while (remaining > 0) {
+        if ((remaining & 1) == 1) {
+          result = multiply(result, square);
+        }
+        remaining >>= 1;
+        if (remaining > 0) {
+          square = multiply(square, square);
+        }
+      }
+      return result;
+    }
+    throw new IllegalArgumentException("Can only find powers of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * In addition to the combinations supported by {@link OGMatrixAlgebra},
+   * the product of two matrices is calculated in blocks.
+   */
+  @Override
+  public Matrix multiply(Matrix m1, Matrix m2) {
+    if (m1 instanceof DoubleMatrix && m2 instanceof DoubleMatrix) {
+      return multiply((DoubleMatrix) m1, (DoubleMatrix) m2);
+    }
+    return super.multiply(m1, m2);
+  }
+
+  // for each block of the inner dimension and of the columns, each row of m1 is combined with the rows of m2
+  // each element is summed in the order of the inner dimension, as for the naive product
+  private DoubleMatrix multiply(DoubleMatrix m1, DoubleMatrix m2) {
+    int p = m2.rowCount();
+    ArgChecker.isTrue(
+        m1.columnCount() == p,
+        "Matrix size mismatch. m1 is " + m1.rowCount() + " by " + m1.columnCount() +
+            ", but m2 is " + m2.rowCount() + " by " + m2.columnCount());
+    int nbRow = m1.rowCount();
+    int nbCol = m2.columnCount();
+    double[][] a = m1.toArrayUnsafe();
+    double[][] b = m2.toArrayUnsafe();
+    double[][] c = new double[nbRow][nbCol];
+    for (int kStart = 0; kStart < p; kStart += BLOCK_SIZE) {
+      int kEnd = Math.min(kStart + BLOCK_SIZE, p);
+      for (int jStart = 0; jStart < nbCol; jStart += BLOCK_SIZE) {
+        int jEnd = Math.min(jStart + BLOCK_SIZE, nbCol);
+        for (int i = 0; i < nbRow; i++) {
+          double[] aRow = a[i];
+          double[] cRow = c[i];
+          for (int k = kStart; k < kEnd; k++) {
+            double aik = aRow[k];
+            double[] bRow = b[k];
+            for (int j = jStart; j < jEnd; j++) {
+              cRow[j] += aik * bRow[j];
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(c);
+  }
+
+}
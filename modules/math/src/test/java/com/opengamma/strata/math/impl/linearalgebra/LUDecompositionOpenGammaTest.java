@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * Tests the LU decomposition OpenGamma implementation.
+ */
+@Test
+public class LUDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final Decomposition<LUDecompositionResult> LUOG = new LUDecompositionOpenGamma();
+  private static final Decomposition<LUDecompositionResult> LUC = new LUDecompositionCommons();
+  private static final DoubleMatrix A3 = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix A5 = DoubleMatrix.copyOf(
+      new double[][] {
+          {1.0, 2.0, -1.0, 1.0, 3.0},
+          {4.0, 3.0, 1.0, 0.5, 0.5},
+          {-1.0, -2.0, 5.0, 1.0, 0.5},
+          {2.0, 0.5, 1.0, 10.0, -1.0},
+          {1.0, 6.0, 0.5, -1.0, 2.0}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    LUOG.apply((DoubleMatrix) null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNotSquare() {
+    LUOG.apply(DoubleMatrix.copyOf(new double[][] { {1, 2, 3}, {4, 5, 6}}));
+  }
+
+  public void testSingular() {
+    DoubleMatrix singular = DoubleMatrix.copyOf(new double[][] { {1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+    LUDecompositionResult result = LUOG.apply(singular);
+    assertEquals(0d, result.getDeterminant(), 0d);
+    assertEquals(new CommonsMatrixAlgebra().getDeterminant(singular), result.getDeterminant(), 0d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSingularSolve() {
+    LUOG.apply(DoubleMatrix.copyOf(new double[][] { {1, 2, 3}, {4, 5, 6}, {7, 8, 9}})).solve(new double[] {1, 2, 3});
+  }
+
+  /**
+   * Tests P A = L U.
+   */
+  public void recoverOrginal() {
+    LUDecompositionResult result = LUOG.apply(A5);
+    DoubleMatrix a = (DoubleMatrix) ALGEBRA.multiply(result.getL(), result.getU());
+    checkEquals((DoubleMatrix) ALGEBRA.multiply(result.getP(), A5), a);
+  }
+
+  /**
+   * Tests solve Ax = b from A and b.
+   */
+  public void solveVector() {
+    LUDecompositionResult result = LUOG.apply(A5);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0, -1.0};
+    double[] x = result.solve(b);
+    DoubleArray ax = (DoubleArray) ALGEBRA.multiply(A5, DoubleArray.copyOf(x));
+    ArrayAsserts.assertArrayEquals("LU decomposition OpenGamma - solve", b, ax.toArray(), 1.0E-10);
+    ArrayAsserts.assertArrayEquals("LU decomposition OpenGamma - solve", x,
+        result.solve(DoubleArray.copyOf(b)).toArray(), 0d);
+  }
+
+  /**
+   * Tests solve AX = B from A and B.
+   */
+  public void solveMatrix() {
+    LUDecompositionResult result = LUOG.apply(A5);
+    double[][] b = new double[][] { {1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {4.0, -2.0}, {-1.0, -1.0}};
+    DoubleMatrix x = result.solve(DoubleMatrix.copyOf(b));
+    DoubleMatrix ax = (DoubleMatrix) ALGEBRA.multiply(A5, x);
+    for (int i = 0; i < b.length; i++) {
+      ArrayAsserts.assertArrayEquals("LU decomposition OpenGamma - solve", b[i], ax.rowArray(i), 1.0E-10);
+    }
+  }
+
+  /**
+   * Compare results with Common decomposition
+   */
+  public void compareCommon() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A3, A5}) {
+      LUDecompositionResult resultOG = LUOG.apply(matrix);
+      LUDecompositionResult resultC = LUC.apply(matrix);
+      checkEquals(resultC.getL(), resultOG.getL());
+      checkEquals(resultC.getU(), resultOG.getU());
+      checkEquals(resultC.getP(), resultOG.getP());
+      assertEquals("Determinant", resultC.getDeterminant(), resultOG.getDeterminant(), 1.0E-10);
+      checkEquals(resultC.solve(DoubleMatrix.identity(matrix.rowCount())),
+          resultOG.solve(DoubleMatrix.identity(matrix.rowCount())));
+    }
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertEquals(n, y.rowCount());
+    assertEquals(m, y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertEquals(x.get(i, j), y.get(i, j), EPS);
+      }
+    }
+  }
+
+}
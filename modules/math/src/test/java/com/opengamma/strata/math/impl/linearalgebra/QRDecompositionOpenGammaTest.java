@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * Tests the QR decomposition OpenGamma implementation.
+ */
+@Test
+public class QRDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final Decomposition<QRDecompositionResult> QROG = new QRDecompositionOpenGamma();
+  private static final Decomposition<QRDecompositionResult> QRC = new QRDecompositionCommons();
+  private static final DoubleMatrix A3 = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+  private static final DoubleMatrix A3N = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix A4 = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}, {-1, 5, 2}});
+  private static final DoubleMatrix A23 = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    QROG.apply((DoubleMatrix) null);
+  }
+
+  /**
+   * Tests A = Q R and Q^T Q = I.
+   */
+  public void recoverOrginal() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A3, A4, A23}) {
+      QRDecompositionResult result = QROG.apply(matrix);
+      checkEquals(matrix, (DoubleMatrix) ALGEBRA.multiply(result.getQ(), result.getR()));
+      checkEquals(
+          DoubleMatrix.identity(matrix.rowCount()),
+          (DoubleMatrix) ALGEBRA.multiply(result.getQT(), result.getQ()));
+    }
+  }
+
+  /**
+   * Tests the least squares solution of Ax = b.
+   */
+  public void solveVector() {
+    QRDecompositionResult result = QROG.apply(A4);
+    double[] b = new double[] {1.0, 2.0, 3.0, -1.0};
+    double[] x = result.solve(b);
+    ArrayAsserts.assertArrayEquals("QR decomposition OpenGamma - solve", QRC.apply(A4).solve(b), x, 1.0E-10);
+    ArrayAsserts.assertArrayEquals("QR decomposition OpenGamma - solve", x,
+        result.solve(DoubleArray.copyOf(b)).toArray(), 0d);
+  }
+
+  /**
+   * Tests the least squares solution of AX = B.
+   */
+  public void solveMatrix() {
+    QRDecompositionResult result = QROG.apply(A4);
+    DoubleMatrix b = DoubleMatrix.copyOf(new double[][] { {1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {-1.0, -1.0}});
+    checkEquals(QRC.apply(A4).solve(b), result.solve(b));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void solveSingular() {
+    QROG.apply(DoubleMatrix.copyOf(new double[][] { {1, 2}, {1, 2}})).solve(new double[] {1, 2});
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void solveUnderdetermined() {
+    QROG.apply(A23).solve(new double[] {1, 2});
+  }
+
+  /**
+   * Compare results with Common decomposition
+   */
+  public void compareCommon() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A4, A3N}) {
+      QRDecompositionResult resultOG = QROG.apply(matrix);
+      QRDecompositionResult resultC = QRC.apply(matrix);
+      checkEquals(resultC.getQ(), resultOG.getQ());
+      checkEquals(resultC.getR(), resultOG.getR());
+      checkEquals(resultC.getQT(), resultOG.getQT());
+    }
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertEquals(n, y.rowCount());
+    assertEquals(m, y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertEquals(x.get(i, j), y.get(i, j), EPS);
+      }
+    }
+  }
+
+}
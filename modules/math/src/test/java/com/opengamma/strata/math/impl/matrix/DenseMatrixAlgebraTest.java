@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.cern.MersenneTwister;
+import com.opengamma.strata.math.impl.cern.RandomEngine;
+import com.opengamma.strata.math.impl.util.AssertMatrix;
+
+/**
+ * Test {@link DenseMatrixAlgebra}.
+ */
+@Test
+public class DenseMatrixAlgebraTest {
+
+  private static final RandomEngine RANDOM = new MersenneTwister(MersenneTwister.DEFAULT_SEED);
+  private static final MatrixAlgebra ALGEBRA = MatrixAlgebraFactory.getMatrixAlgebra(MatrixAlgebraFactory.DENSE);
+  private static final MatrixAlgebra OG = MatrixAlgebraFactory.OG_ALGEBRA;
+  private static final MatrixAlgebra COMMONS = MatrixAlgebraFactory.COMMONS_ALGEBRA;
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1., 2., 3.}, {-1., 1., 0.}, {-2., 1., -2.}});
+  private static final DoubleMatrix B = DoubleMatrix.copyOf(new double[][] { {1, 1}, {2, -2}, {3, 1}});
+  private static final DoubleMatrix C = DoubleMatrix.copyOf(new double[][] { {14, 0}, {1, -3}, {-6, -6}});
+  private static final DoubleArray D = DoubleArray.of(1, 1, 1);
+  private static final DoubleMatrix SINGULAR = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+  private static final double EPS = 1e-12;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testMatrixSizeMismatch() {
+    ALGEBRA.multiply(B, A);
+  }
+
+  public void testMultiply() {
+    assertEquals(C, ALGEBRA.multiply(A, B));
+    assertEquals(OG.multiply(A, D), ALGEBRA.multiply(A, D));
+    assertEquals(OG.multiply(D, A), ALGEBRA.multiply(D, A));
+  }
+
+  // the blocked product is identical to the naive product, including across several blocks
+  public void testMultiplyLarge() {
+    DoubleMatrix m1 = DoubleMatrix.of(150, 130, (i, j) -> RANDOM.nextDouble() - 0.5);
+    DoubleMatrix m2 = DoubleMatrix.of(130, 70, (i, j) -> RANDOM.nextDouble() - 0.5);
+    assertEquals(OG.multiply(m1, m2), ALGEBRA.multiply(m1, m2));
+  }
+
+  public void testInverse() {
+    DoubleMatrix m = DoubleMatrix.of(10, 10, (i, j) -> RANDOM.nextDouble() + (i == j ? 10d : 0d));
+    AssertMatrix.assertEqualsMatrix(COMMONS.getInverse(m), ALGEBRA.getInverse(m), EPS);
+    DoubleMatrix product = (DoubleMatrix) ALGEBRA.multiply(m, ALGEBRA.getInverse(m));
+    AssertMatrix.assertEqualsMatrix(DoubleMatrix.identity(10), product, EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInverseSingular() {
+    ALGEBRA.getInverse(SINGULAR);
+  }
+
+  public void testDeterminant() {
+    assertEquals(COMMONS.getDeterminant(A), ALGEBRA.getDeterminant(A), EPS);
+    assertEquals(0d, ALGEBRA.getDeterminant(SINGULAR), EPS);
+  }
+
+  public void testNorms() {
+    assertEquals(COMMONS.getNorm1(A), ALGEBRA.getNorm1(A), EPS);
+    assertEquals(COMMONS.getNorm1(B), ALGEBRA.getNorm1(B), EPS);
+    assertEquals(COMMONS.getNormInfinity(A), ALGEBRA.getNormInfinity(A), EPS);
+    assertEquals(COMMONS.getNormInfinity(B), ALGEBRA.getNormInfinity(B), EPS);
+    DoubleArray e = DoubleArray.of(-1, 2, 3);
+    assertEquals(COMMONS.getNorm1(e), ALGEBRA.getNorm1(e), EPS);
+    assertEquals(COMMONS.getNormInfinity(e), ALGEBRA.getNormInfinity(e), EPS);
+  }
+
+  public void testPower() {
+    AssertMatrix.assertEqualsMatrix(DoubleMatrix.identity(3), ALGEBRA.getPower(A, 0), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getPower(A, 1), ALGEBRA.getPower(A, 1), EPS);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getPower(A, 5), ALGEBRA.getPower(A, 5), 1e-9);
+    AssertMatrix.assertEqualsMatrix(COMMONS.getPower(A, 6), ALGEBRA.getPower(A, 6), 1e-9);
+  }
+
+}
@@ -6,6 +6,7 @@
 package com.opengamma.strata.measure;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.calc.CalculationRunner;
@@ -164,6 +165,32 @@ public final class StandardComponents {
     return MarketDataFactory.of(observableDataProvider, TimeSeriesProvider.none(), marketDataFunctions());
   }
 
+  /**
+   * Returns a market data factory containing the standard set of market data functions
+   * that builds market data concurrently using an executor.
+   * <p>
+   * This factory can create market data values from other market data. For example it
+   * can create calibrated curves given a set of market quotes for the points on the curve.
+   * Independent items of market data, such as curve groups, are built concurrently.
+   * If the market data configuration contains a {@code ScenarioCalibrationConfig}, the scenarios
+   * of a curve group are also calibrated concurrently using the executor.
+   * <p>
+   * The set of functions are the ones provided by {@link #marketDataFunctions()}.
+   *
+   * @param observableDataProvider  the provider of observable data
+   * @param executor  the executor used to build the market data
+   * @return a market data factory containing the standard set of market data functions
+   */
+  public static MarketDataFactory marketDataFactory(ObservableDataProvider observableDataProvider, Executor executor) {
+    List<MarketDataFunction<?, ?>> functions = ImmutableList.of(
+        new CurveMarketDataFunction(),
+        new RatesCurveGroupMarketDataFunction().withExecutor(executor),
+        new RatesCurveInputsMarketDataFunction(),
+        new FxRateMarketDataFunction(),
+        new FxOptionVolatilitiesMarketDataFunction());
+    return MarketDataFactory.of(observableDataProvider, TimeSeriesProvider.none(), executor, functions);
+  }
+
   /**
    * Returns the standard market data functions used to build market data values from other market data.
    * <p>
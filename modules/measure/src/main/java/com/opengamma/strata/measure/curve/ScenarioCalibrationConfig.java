@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Configuration for calibrating curves when there are multiple scenarios.
+ * <p>
+ * When the market data used to calibrate a curve group differs between scenarios,
+ * one curve group is calibrated for each scenario.
+ * If this configuration is present in the {@code MarketDataConfig}, the scenarios are split
+ * into contiguous blocks of a fixed size. The blocks are calibrated concurrently using the
+ * executor of the market data function, see {@code RatesCurveGroupMarketDataFunction.withExecutor}.
+ * <p>
+ * If warm start is enabled, the curves calibrated for a scenario are used as the initial guess
+ * when calibrating the next scenario in the same block. This typically reduces the number of
+ * iterations of the root finder, as nearby scenarios usually have similar market data.
+ * As the blocks only depend on the block size, the calibrated curves do not depend on
+ * the executor or the number of processors.
+ */
+@BeanDefinition(style = "light")
+public final class ScenarioCalibrationConfig implements ImmutableBean, Serializable {
+
+  /** The default number of scenarios in each block. */
+  public static final int DEFAULT_BLOCK_SIZE = 8;
+
+  /** The standard configuration. */
+  private static final ScenarioCalibrationConfig STANDARD = new ScenarioCalibrationConfig(DEFAULT_BLOCK_SIZE, true);
+
+  /**
+   * The number of scenarios in each block.
+   * <p>
+   * The scenarios of a block are calibrated one after another, the last block possibly being smaller.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int blockSize;
+  /**
+   * Whether the result of the previous scenario is used as the initial guess.
+   */
+  @PropertyDefinition
+  private final boolean warmStart;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the standard configuration, using the default block size with warm start enabled.
+   *
+   * @return the standard configuration
+   */
+  public static ScenarioCalibrationConfig standard() {
+    return STANDARD;
+  }
+
+  /**
+   * Obtains an instance using the specified block size.
+   *
+   * @param blockSize  the number of scenarios in each block
+   * @param warmStart  whether the result of the previous scenario is used as the initial guess
+   * @return the configuration
+   */
+  public static ScenarioCalibrationConfig of(int blockSize, boolean warmStart) {
+    return new ScenarioCalibrationConfig(blockSize, warmStart);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   */
+  private static final TypedMetaBean<ScenarioCalibrationConfig> META_BEAN =
+      LightMetaBean.of(
+          ScenarioCalibrationConfig.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "blockSize",
+              "warmStart"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ScenarioCalibrationConfig> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ScenarioCalibrationConfig(
+      int blockSize,
+      boolean warmStart) {
+    ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    this.blockSize = blockSize;
+    this.warmStart = warmStart;
+  }
+
+  @Override
+  public TypedMetaBean<ScenarioCalibrationConfig> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios in each block.
+   * <p>
+   * The scenarios of a block are calibrated one after another, the last block possibly being smaller.
+   * @return the value of the property
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the result of the previous scenario is used as the initial guess.
+   * @return the value of the property
+   */
+  public boolean isWarmStart() {
+    return warmStart;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioCalibrationConfig other = (ScenarioCalibrationConfig) obj;
+      return (blockSize == other.blockSize) &&
+          (warmStart == other.warmStart);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(blockSize);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStart);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("ScenarioCalibrationConfig{");
+    buf.append("blockSize").append('=').append(JodaBeanUtils.toString(blockSize)).append(',').append(' ');
+    buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -38,6 +38,7 @@ import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
 import com.opengamma.strata.product.fra.ResolvedFraTrade;
 
 /**
@@ -134,8 +135,7 @@ final class FraMeasureCalculations {
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    return ratesProvider.parameterSensitivity(pointSensitivity).total().multipliedBy(ONE_BASIS_POINT);
+    return calibratedSensitivity(trade, ratesProvider).total().multipliedBy(ONE_BASIS_POINT);
   }
 
   //-------------------------------------------------------------------------
@@ -154,8 +154,7 @@ final class FraMeasureCalculations {
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
+    return calibratedSensitivity(trade, ratesProvider).multipliedBy(ONE_BASIS_POINT);
   }
 
   //-------------------------------------------------------------------------
@@ -174,8 +173,7 @@ final class FraMeasureCalculations {
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    CurrencyParameterSensitivities parameterSensitivity = ratesProvider.parameterSensitivity(pointSensitivity);
+    CurrencyParameterSensitivities parameterSensitivity = calibratedSensitivity(trade, ratesProvider);
     return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).total().multipliedBy(ONE_BASIS_POINT);
   }
 
@@ -195,11 +193,21 @@ final class FraMeasureCalculations {
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    CurrencyParameterSensitivities parameterSensitivity = ratesProvider.parameterSensitivity(pointSensitivity);
+    CurrencyParameterSensitivities parameterSensitivity = calibratedSensitivity(trade, ratesProvider);
     return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).multipliedBy(ONE_BASIS_POINT);
   }
 
+  // the present value sensitivity to the calibrated curve parameters, merged without sorting the points
+  private CurrencyParameterSensitivities calibratedSensitivity(
+      ResolvedFraTrade trade,
+      RatesProvider ratesProvider) {
+
+    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
+    return PointSensitivityAccumulator.ofCurrentThread()
+        .addAll(pointSensitivity)
+        .parameterSensitivity(ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   // calculates semi-parallel gamma PV01 for all scenarios
   ScenarioArray<CurrencyParameterSensitivities> pv01SemiParallelGammaBucketed(
@@ -5,7 +5,15 @@
  */
 package com.opengamma.strata.measure.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.CurrencyPair;
@@ -88,6 +96,44 @@ final class FxVanillaOptionMeasureCalculations {
             method));
   }
 
+  // calculates present value of several trades for all scenarios, pricing the trades of each scenario together
+  List<MultiCurrencyScenarioArray> presentValue(
+      List<ResolvedFxVanillaOptionTrade> trades,
+      RatesScenarioMarketData ratesMarketData,
+      FxOptionScenarioMarketData optionMarketData,
+      FxVanillaOptionMethod method) {
+
+    if (method == FxVanillaOptionMethod.VANNA_VOLGA) {
+      return trades.stream()
+          .map(trade -> presentValue(trade, ratesMarketData, optionMarketData, method))
+          .collect(toImmutableList());
+    }
+    // the trades are grouped by currency pair, so that the volatilities are queried once per scenario
+    Map<CurrencyPair, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < trades.size(); ++i) {
+      groups.computeIfAbsent(trades.get(i).getProduct().getCurrencyPair(), pair -> new ArrayList<>()).add(i);
+    }
+    int nScenarios = ratesMarketData.getScenarioCount();
+    MultiCurrencyAmount[][] amounts = new MultiCurrencyAmount[trades.size()][nScenarios];
+    for (int j = 0; j < nScenarios; ++j) {
+      RatesProvider ratesProvider = ratesMarketData.scenario(j).ratesProvider();
+      for (Entry<CurrencyPair, List<Integer>> entry : groups.entrySet()) {
+        BlackFxOptionVolatilities volatilities =
+            checkBlackVolatilities(optionMarketData.scenario(j).volatilities(entry.getKey()));
+        List<ResolvedFxVanillaOptionTrade> groupTrades = entry.getValue().stream()
+            .map(trades::get)
+            .collect(toImmutableList());
+        List<MultiCurrencyAmount> groupAmounts = blackPricer.presentValue(groupTrades, ratesProvider, volatilities);
+        for (int k = 0; k < groupTrades.size(); ++k) {
+          amounts[entry.getValue().get(k)][j] = groupAmounts.get(k);
+        }
+      }
+    }
+    return Arrays.stream(amounts)
+        .map(tradeAmounts -> MultiCurrencyScenarioArray.of(Arrays.asList(tradeAmounts)))
+        .collect(toImmutableList());
+  }
+
   // present value for one scenario
   MultiCurrencyAmount presentValue(
       ResolvedFxVanillaOptionTrade trade,
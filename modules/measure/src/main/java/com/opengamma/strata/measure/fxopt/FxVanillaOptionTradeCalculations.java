@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.measure.fxopt;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
@@ -84,6 +86,34 @@ public class FxVanillaOptionTradeCalculations {
         method);
   }
 
+  /**
+   * Calculates present value of several trades across one or more scenarios.
+   * <p>
+   * The result is the same as calling {@link #presentValue(ResolvedFxVanillaOptionTrade,
+   * RatesMarketDataLookup, FxOptionMarketDataLookup, ScenarioMarketData, FxVanillaOptionMethod)}
+   * for each trade, but the market data of each scenario is queried once per currency pair.
+   * 
+   * @param trades  the trades
+   * @param ratesLookup  the lookup used to query the market data
+   * @param fxLookup  the lookup used to query the option market data
+   * @param marketData  the market data
+   * @param method  the pricing method
+   * @return the present value, one entry per trade, each containing one entry per scenario
+   */
+  public List<MultiCurrencyScenarioArray> presentValue(
+      List<ResolvedFxVanillaOptionTrade> trades,
+      RatesMarketDataLookup ratesLookup,
+      FxOptionMarketDataLookup fxLookup,
+      ScenarioMarketData marketData,
+      FxVanillaOptionMethod method) {
+
+    return calc.presentValue(
+        trades,
+        ratesLookup.marketDataView(marketData),
+        fxLookup.marketDataView(marketData),
+        method);
+  }
+
   /**
    * Calculates present value for a single set of market data.
    * 
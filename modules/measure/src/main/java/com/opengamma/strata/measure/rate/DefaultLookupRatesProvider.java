@@ -14,6 +14,8 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import org.joda.beans.ImmutableBean;
@@ -63,6 +65,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * A rates provider based on a rates lookup.
  * <p>
  * This uses a {@link DefaultRatesMarketDataLookup} to provide a view on {@link MarketData}.
+ * <p>
+ * The discount factors, forward rates and FX forward rates are created on first use and cached.
+ * Pricers typically request these once per payment period, thus caching avoids looking up
+ * the curve and time-series and creating the same wrapper many times.
  */
 @BeanDefinition(style = "light")
 final class DefaultLookupRatesProvider
@@ -82,6 +88,22 @@ final class DefaultLookupRatesProvider
    * The FX rate provider.
    */
   private final transient FxRateProvider fxRateProvider;  // derived
+  /**
+   * The discount factors, created on first use.
+   */
+  private final transient ConcurrentMap<Currency, DiscountFactors> discountFactorsCache;  // derived
+  /**
+   * The Ibor index rates, created on first use.
+   */
+  private final transient ConcurrentMap<IborIndex, IborIndexRates> iborIndexRatesCache;  // derived
+  /**
+   * The Overnight index rates, created on first use.
+   */
+  private final transient ConcurrentMap<OvernightIndex, OvernightIndexRates> overnightIndexRatesCache;  // derived
+  /**
+   * The FX forward rates, created on first use.
+   */
+  private final transient ConcurrentMap<CurrencyPair, FxForwardRates> fxForwardRatesCache;  // derived
 
   //-------------------------------------------------------------------------
   /**
@@ -103,6 +125,10 @@ final class DefaultLookupRatesProvider
     this.lookup = ArgChecker.notNull(lookup, "lookup");
     this.marketData = ArgChecker.notNull(marketData, "marketData");
     this.fxRateProvider = lookup.fxRateProvider(marketData);
+    this.discountFactorsCache = new ConcurrentHashMap<>();
+    this.iborIndexRatesCache = new ConcurrentHashMap<>();
+    this.overnightIndexRatesCache = new ConcurrentHashMap<>();
+    this.fxForwardRatesCache = new ConcurrentHashMap<>();
   }
 
   // ensure standard constructor is invoked
@@ -180,6 +206,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public DiscountFactors discountFactors(Currency currency) {
+    return discountFactorsCache.computeIfAbsent(currency, this::createDiscountFactors);
+  }
+
+  // creates the discount factors for the currency
+  private DiscountFactors createDiscountFactors(Currency currency) {
     CurveId curveId = lookup.getDiscountCurves().get(currency);
     if (curveId == null) {
       throw new MarketDataNotFoundException(lookup.msgCurrencyNotFound(currency));
@@ -199,15 +230,25 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    return fxForwardRatesCache.computeIfAbsent(currencyPair, this::createFxForwardRates);
+  }
+
+  // creates the FX forward rates for the currency pair
+  private FxForwardRates createFxForwardRates(CurrencyPair currencyPair) {
     DiscountFactors base = discountFactors(currencyPair.getBase());
     DiscountFactors counter = discountFactors(currencyPair.getCounter());
     FxRate fxRate = FxRate.of(currencyPair, fxRate(currencyPair));
     return DiscountFxForwardRates.of(currencyPair, fxRate, base, counter);
-  };
+  }
 
   //-------------------------------------------------------------------------
   @Override
   public IborIndexRates iborIndexRates(IborIndex index) {
+    return iborIndexRatesCache.computeIfAbsent(index, this::createIborIndexRates);
+  }
+
+  // creates the forward rates for the index
+  private IborIndexRates createIborIndexRates(IborIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       return historicCurve(index);
@@ -227,6 +268,11 @@ final class DefaultLookupRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    return overnightIndexRatesCache.computeIfAbsent(index, this::createOvernightIndexRates);
+  }
+
+  // creates the forward rates for the index
+  private OvernightIndexRates createOvernightIndexRates(OvernightIndex index) {
     CurveId curveId = lookup.getForwardCurves().get(index);
     if (curveId == null) {
       return historicCurve(index);
@@ -11,6 +11,10 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -35,7 +39,9 @@ import com.opengamma.strata.market.curve.RatesCurveGroupId;
 import com.opengamma.strata.market.curve.RatesCurveInputs;
 import com.opengamma.strata.market.curve.RatesCurveInputsId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.measure.curve.RootFinderConfig;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -44,6 +50,11 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * Market data function that builds a curve group.
  * <p>
  * This function calibrates curves, turning a {@link RatesCurveGroupDefinition} into a {@link RatesCurveGroup}.
+ * <p>
+ * When the input data differs between scenarios, one curve group is calibrated for each scenario.
+ * If the {@link MarketDataConfig} contains a {@link ScenarioCalibrationConfig}, the scenarios
+ * are split into blocks that are calibrated concurrently using the executor of this function,
+ * see {@link #withExecutor(Executor)}.
  */
 public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<RatesCurveGroup, RatesCurveGroupId> {
 
@@ -51,6 +62,10 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * The default analytics object that performs the curve calibration.
    */
   private final CalibrationMeasures calibrationMeasures;
+  /**
+   * The executor used to calibrate blocks of scenarios.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -73,7 +88,28 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * @param calibrationMeasures  the calibration measures to be used in the calibrator
    */
   public RatesCurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures) {
+    this(calibrationMeasures, Runnable::run);
+  }
+
+  private RatesCurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures, Executor executor) {
     this.calibrationMeasures = ArgChecker.notNull(calibrationMeasures, "calibrationMeasures");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  /**
+   * Returns a copy of this function that uses the specified executor.
+   * <p>
+   * If the {@link MarketDataConfig} contains a {@link ScenarioCalibrationConfig}, the blocks of scenarios
+   * are submitted to the executor, the calling thread also calibrating blocks.
+   * The calibrated curves do not depend on the executor.
+   * By default, the blocks are calibrated in the calling thread.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate blocks of scenarios
+   * @return the function
+   */
+  public RatesCurveGroupMarketDataFunction withExecutor(Executor executor) {
+    return new RatesCurveGroupMarketDataFunction(calibrationMeasures, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -111,10 +147,11 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
 
-    // calibrate
+    // calibrate, using the configured ScenarioCalibrationConfig if found
     CurveGroupName groupName = id.getCurveGroupName();
     RatesCurveGroupDefinition configuredDefn = marketDataConfig.get(RatesCurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    ScenarioCalibrationConfig scenarioConfig = marketDataConfig.find(ScenarioCalibrationConfig.class).orElse(null);
+    return buildCurveGroup(configuredDefn, calibrator, scenarioConfig, marketData, refData, id.getObservableSource());
   }
 
   @Override
@@ -140,6 +177,31 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(configuredGroup, calibrator, null, marketData, refData, obsSource);
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   * <p>
+   * If the scenario configuration is null, the scenarios are calibrated one after another
+   * in the calling thread.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param scenarioConfig  the configuration for calibrating multiple scenarios, may be null
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<RatesCurveGroup> buildCurveGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -153,9 +215,14 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     boolean multipleValues = inputBoxes.stream().anyMatch(MarketDataBox::isScenarioValue);
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
-    return multipleValues || multipleValuationDates ?
+    if (!multipleValues && !multipleValuationDates) {
+      return buildSingleCurveGroup(
+          configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
+    }
+    return scenarioConfig == null ?
         buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
-        buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
+        buildMultipleCurveGroupsConcurrently(
+            configuredGroup, calibrator, scenarioConfig, valuationDates, inputBoxes, fixings, refData);
   }
 
   // extract the fixings from the input data
@@ -190,6 +257,86 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
+  // calibrates when there are multiple groups, splitting the scenarios into blocks calibrated using the executor
+  // the blocks only depend on the configured block size, thus the result does not depend on the executor
+  private MarketDataBox<RatesCurveGroup> buildMultipleCurveGroupsConcurrently(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<RatesCurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData) {
+
+    int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
+    int blockSize = scenarioConfig.getBlockSize();
+    int blockCount = (scenarioCount + blockSize - 1) / blockSize;
+    RatesCurveGroup[] curveGroups = new RatesCurveGroup[scenarioCount];
+    AtomicInteger nextBlock = new AtomicInteger();
+    CountDownLatch remainingBlocks = new CountDownLatch(blockCount);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    // each worker claims blocks until there are none left
+    // the calling thread is also a worker, thus all blocks are calibrated even if the executor is saturated,
+    // for example when the executor is also being used to build the market data that requires the curve group
+    Runnable worker = () -> {
+      for (int block = nextBlock.getAndIncrement(); block < blockCount; block = nextBlock.getAndIncrement()) {
+        try {
+          int start = block * blockSize;
+          int end = Math.min(start + blockSize, scenarioCount);
+          ImmutableRatesProvider previous = null;
+          for (int i = start; i < end; i++) {
+            LocalDate valuationDate = valuationDateBox.getValue(i);
+            RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
+            List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
+            MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
+            ImmutableRatesProvider calibrated = scenarioConfig.isWarmStart() ?
+                calibrateWarm(filteredGroup, calibrator, inputs, refData, previous) :
+                calibrator.calibrate(filteredGroup, inputs, refData);
+            curveGroups[i] = toCurveGroup(filteredGroup, calibrated);
+            previous = calibrated;
+          }
+        } catch (RuntimeException ex) {
+          failure.compareAndSet(null, ex);
+        } finally {
+          remainingBlocks.countDown();
+        }
+      }
+    };
+    for (int i = 1; i < blockCount; i++) {
+      executor.execute(worker);
+    }
+    worker.run();
+    try {
+      remainingBlocks.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calibrating curve group " + configuredGroup.getName(), ex);
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    return MarketDataBox.ofScenarioValues(ImmutableList.copyOf(curveGroups));
+  }
+
+  // calibrates starting from the previous result, falling back to the initial guess of the definition if necessary
+  private static ImmutableRatesProvider calibrateWarm(
+      RatesCurveGroupDefinition groupDefn,
+      RatesCurveCalibrator calibrator,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider previous) {
+
+    if (previous != null) {
+      try {
+        return calibrator.calibrate(groupDefn, marketData, refData, previous);
+      } catch (MathException ex) {
+        // the root finder may fail to converge if the previous scenario is too far away
+      }
+    }
+    return calibrator.calibrate(groupDefn, marketData, refData);
+  }
+
   private static List<RatesCurveInputs> inputsForScenario(List<MarketDataBox<RatesCurveInputs>> boxes, int scenarioIndex) {
     return boxes.stream()
         .map(box -> box.getValue(scenarioIndex))
@@ -261,6 +408,14 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
         marketData,
         refData);
 
+    return toCurveGroup(groupDefn, calibratedProvider);
+  }
+
+  // extracts the curve group from the calibrated provider
+  private static RatesCurveGroup toCurveGroup(
+      RatesCurveGroupDefinition groupDefn,
+      ImmutableRatesProvider calibratedProvider) {
+
     return RatesCurveGroup.of(
         groupDefn.getName(),
         calibratedProvider.getDiscountCurves(),
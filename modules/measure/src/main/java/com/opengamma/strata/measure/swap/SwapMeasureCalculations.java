@@ -12,6 +12,7 @@ import static java.util.stream.Collectors.toList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -40,11 +41,13 @@ import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.measure.rate.RatesMarketData;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.swap.NotionalPaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwap;
@@ -102,9 +105,11 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return MultiCurrencyScenarioArray.of(
-        marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
+    // the scenarios are priced together, allowing work that is the same in each scenario to be done once
+    List<RatesProvider> ratesProviders = IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(i -> marketData.scenario(i).ratesProvider())
+        .collect(toImmutableList());
+    return MultiCurrencyScenarioArray.of(tradePricer.presentValue(trade, ratesProviders));
   }
 
   // present value for one scenario
@@ -150,8 +155,7 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    return ratesProvider.parameterSensitivity(pointSensitivity).total().multipliedBy(ONE_BASIS_POINT);
+    return calibratedSensitivity(trade, ratesProvider).total().multipliedBy(ONE_BASIS_POINT);
   }
 
   //-------------------------------------------------------------------------
@@ -170,8 +174,7 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
+    return calibratedSensitivity(trade, ratesProvider).multipliedBy(ONE_BASIS_POINT);
   }
 
   //-------------------------------------------------------------------------
@@ -190,8 +193,7 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    CurrencyParameterSensitivities parameterSensitivity = ratesProvider.parameterSensitivity(pointSensitivity);
+    CurrencyParameterSensitivities parameterSensitivity = calibratedSensitivity(trade, ratesProvider);
     return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).total().multipliedBy(ONE_BASIS_POINT);
   }
 
@@ -211,11 +213,22 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
-    CurrencyParameterSensitivities parameterSensitivity = ratesProvider.parameterSensitivity(pointSensitivity);
+    CurrencyParameterSensitivities parameterSensitivity = calibratedSensitivity(trade, ratesProvider);
     return MARKET_QUOTE_SENS.sensitivity(parameterSensitivity, ratesProvider).multipliedBy(ONE_BASIS_POINT);
   }
 
+  // the present value sensitivity to the calibrated curve parameters, merged without sorting the points
+  private CurrencyParameterSensitivities calibratedSensitivity(
+      ResolvedSwapTrade trade,
+      RatesProvider ratesProvider) {
+
+    PointSensitivityBuilder pointSensitivity =
+        tradePricer.getProductPricer().presentValueSensitivity(trade.getProduct(), ratesProvider);
+    return PointSensitivityAccumulator.ofCurrentThread()
+        .add(pointSensitivity)
+        .parameterSensitivity(ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   // calculates semi-parallel gamma PV01 for all scenarios
   ScenarioArray<CurrencyParameterSensitivities> pv01SemiParallelGammaBucketed(
@@ -46,6 +46,7 @@ import com.opengamma.strata.pricer.fra.DiscountingFraProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.fra.FraDummyData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
 import com.opengamma.strata.product.fra.FraTrade;
 import com.opengamma.strata.product.fra.ResolvedFra;
 import com.opengamma.strata.product.fra.ResolvedFraTrade;
@@ -130,7 +131,9 @@ public class FraTradeCalculationFunctionTest {
     DiscountingFraProductPricer pricer = DiscountingFraProductPricer.DEFAULT;
     ResolvedFra resolved = TRADE.getProduct().resolve(REF_DATA);
     PointSensitivities pvPointSens = pricer.presentValueSensitivity(resolved, provider);
-    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(pvPointSens);
+    // the point sensitivities are merged by the calculation before being converted
+    PointSensitivities mergedPointSens = new PointSensitivityAccumulator().addAll(pvPointSens).build();
+    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(mergedPointSens);
     MultiCurrencyAmount expectedPv01Cal = pvParamSens.total().multipliedBy(1e-4);
     CurrencyParameterSensitivities expectedPv01CalBucketed = pvParamSens.multipliedBy(1e-4);
 
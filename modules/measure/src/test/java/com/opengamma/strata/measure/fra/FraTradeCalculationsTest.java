@@ -24,6 +24,7 @@ import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
 import com.opengamma.strata.product.fra.ResolvedFraTrade;
 
 /**
@@ -76,7 +77,9 @@ public class FraTradeCalculationsTest {
     RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
     DiscountingFraTradePricer pricer = DiscountingFraTradePricer.DEFAULT;
     PointSensitivities pvPointSens = pricer.presentValueSensitivity(RTRADE, provider);
-    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(pvPointSens);
+    // the point sensitivities are merged by the calculation before being converted
+    PointSensitivities mergedPointSens = new PointSensitivityAccumulator().addAll(pvPointSens).build();
+    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(mergedPointSens);
     MultiCurrencyAmount expectedPv01Cal = pvParamSens.total().multipliedBy(1e-4);
     CurrencyParameterSensitivities expectedPv01CalBucketed = pvParamSens.multipliedBy(1e-4);
 
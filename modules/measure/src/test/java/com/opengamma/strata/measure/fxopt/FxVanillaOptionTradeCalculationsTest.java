@@ -8,6 +8,8 @@ package com.opengamma.strata.measure.fxopt;
 import static com.opengamma.strata.measure.fxopt.FxVanillaOptionMethod.BLACK;
 import static org.testng.Assert.assertEquals;
 
+import java.util.List;
+
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
@@ -35,6 +37,7 @@ public class FxVanillaOptionTradeCalculationsTest {
   private static final RatesMarketDataLookup RATES_LOOKUP = FxVanillaOptionTradeCalculationFunctionTest.RATES_LOOKUP;
   private static final FxOptionMarketDataLookup FX_OPTION_LOOKUP = FxVanillaOptionTradeCalculationFunctionTest.FX_OPTION_LOOKUP;
   private static final BlackFxOptionVolatilities VOLS = FxVanillaOptionTradeCalculationFunctionTest.VOLS;
+  private static final double TOL = 1.0e-8;
 
   //-------------------------------------------------------------------------
   public void test_presentValue() {
@@ -56,6 +59,25 @@ public class FxVanillaOptionTradeCalculationsTest {
         CurrencyScenarioArray.of(ImmutableList.of(expectedCurrentCash)));
   }
 
+  public void test_presentValue_severalTrades() {
+    ScenarioMarketData md = FxVanillaOptionTradeCalculationFunctionTest.marketData();
+    List<ResolvedFxVanillaOptionTrade> trades = ImmutableList.of(RTRADE, RTRADE);
+    List<MultiCurrencyScenarioArray> computed =
+        FxVanillaOptionTradeCalculations.DEFAULT.presentValue(trades, RATES_LOOKUP, FX_OPTION_LOOKUP, md, BLACK);
+    MultiCurrencyScenarioArray expected =
+        FxVanillaOptionTradeCalculations.DEFAULT.presentValue(RTRADE, RATES_LOOKUP, FX_OPTION_LOOKUP, md, BLACK);
+    assertEquals(computed.size(), trades.size());
+    for (MultiCurrencyScenarioArray pv : computed) {
+      assertEquals(pv.getScenarioCount(), expected.getScenarioCount());
+      for (int i = 0; i < pv.getScenarioCount(); i++) {
+        MultiCurrencyAmount expectedScenario = expected.get(i);
+        assertEquals(pv.get(i).getCurrencies(), expectedScenario.getCurrencies());
+        pv.get(i).getAmounts().forEach(amount -> assertEquals(
+            amount.getAmount(), expectedScenario.getAmount(amount.getCurrency()).getAmount(), TOL));
+      }
+    }
+  }
+
   public void test_pv01() {
     ScenarioMarketData md = FxVanillaOptionTradeCalculationFunctionTest.marketData();
     RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
@@ -17,6 +17,8 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -43,6 +45,7 @@ import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.curve.CurveName;
@@ -62,6 +65,7 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -186,6 +190,97 @@ public class RatesCurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  /**
+   * Tests calibrating multiple scenarios concurrently matches calibrating them one after another.
+   */
+  public void multipleScenariosConcurrently() {
+    RatesCurveGroupDefinition groupDefn = scenarioGroupDefinition();
+    ScenarioMarketData inputMarketData = scenarioMarketData(groupDefn, 20);
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+
+    MarketDataBox<RatesCurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesCurveGroupMarketDataFunction concurrentFunction = function.withExecutor(executor);
+      // without warm start the calibration is identical
+      ScenarioCalibrationConfig coldConfig = ScenarioCalibrationConfig.of(3, false);
+      MarketDataBox<RatesCurveGroup> cold = concurrentFunction.buildCurveGroup(
+          groupDefn, CALIBRATOR, coldConfig, inputMarketData, REF_DATA, ObservableSource.NONE);
+      assertThat(cold).isEqualTo(expected);
+
+      // with warm start the calibration converges to the same curves within the tolerance of the root finder
+      ScenarioCalibrationConfig warmConfig = ScenarioCalibrationConfig.standard();
+      MarketDataBox<RatesCurveGroup> warm = concurrentFunction.buildCurveGroup(
+          groupDefn, CALIBRATOR, warmConfig, inputMarketData, REF_DATA, ObservableSource.NONE);
+      assertThat(warm.getScenarioCount()).isEqualTo(expected.getScenarioCount());
+      for (int i = 0; i < expected.getScenarioCount(); i++) {
+        Curve expectedCurve = expected.getValue(i).findDiscountCurve(Currency.USD).get();
+        Curve warmCurve = warm.getValue(i).findDiscountCurve(Currency.USD).get();
+        assertThat(warmCurve.getParameterCount()).isEqualTo(expectedCurve.getParameterCount());
+        for (int j = 0; j < expectedCurve.getParameterCount(); j++) {
+          assertThat(warmCurve.getParameter(j)).isCloseTo(expectedCurve.getParameter(j), offset(1e-8));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests the curves calibrated with warm start do not depend on the executor.
+   */
+  public void multipleScenariosIndependentOfExecutor() {
+    RatesCurveGroupDefinition groupDefn = scenarioGroupDefinition();
+    ScenarioMarketData inputMarketData = scenarioMarketData(groupDefn, 20);
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    ScenarioCalibrationConfig config = ScenarioCalibrationConfig.of(3, true);
+
+    MarketDataBox<RatesCurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, config, inputMarketData, REF_DATA, ObservableSource.NONE);
+    for (int threads : new int[] {1, 2, 7}) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        MarketDataBox<RatesCurveGroup> test = function.withExecutor(executor)
+            .buildCurveGroup(groupDefn, CALIBRATOR, config, inputMarketData, REF_DATA, ObservableSource.NONE);
+        assertThat(test).isEqualTo(expected);
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  // the curve group used to test multiple scenarios
+  private static RatesCurveGroupDefinition scenarioGroupDefinition() {
+    return RatesCurveGroupDefinition.builder()
+        .name(CurveGroupName.of("Curve Group"))
+        .addCurve(CurveTestUtils.fraSwapCurveDefinition(), Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+  }
+
+  // the market data of the scenarios, the quotes being shifted in each scenario
+  private static ScenarioMarketData scenarioMarketData(RatesCurveGroupDefinition groupDefn, int scenarioCount) {
+    CurveDefinition curveDefn = groupDefn.getCurveDefinitions().get(0);
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+    ImmutableList.Builder<RatesCurveInputs> scenarioInputs = ImmutableList.builder();
+    for (int i = 0; i < scenarioCount; i++) {
+      double shift = i * 0.0001;
+      Map<MarketDataId<?>, Double> inputData = ImmutableMap.<MarketDataId<?>, Double>builder()
+          .put(CurveTestUtils.key(nodes.get(0)), 0.0037 + shift)
+          .put(CurveTestUtils.key(nodes.get(1)), 0.0054 + shift)
+          .put(CurveTestUtils.key(nodes.get(2)), 0.005 + shift)
+          .put(CurveTestUtils.key(nodes.get(3)), 0.0087 + shift)
+          .put(CurveTestUtils.key(nodes.get(4)), 0.012 + shift)
+          .build();
+      scenarioInputs.add(RatesCurveInputs.of(inputData, DefaultCurveMetadata.of(curveName)));
+    }
+    return ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(
+            RatesCurveInputsId.of(groupDefn.getName(), curveName, ObservableSource.NONE), scenarioInputs.build())
+        .build();
+  }
+
   /**
    * Tests that par rates and ibor index are required for curves.
    */
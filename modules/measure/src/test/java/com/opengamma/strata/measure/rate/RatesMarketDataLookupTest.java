@@ -23,6 +23,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -190,11 +191,13 @@ public class RatesMarketDataLookupTest {
     // check discount factors
     SimpleDiscountFactors df = (SimpleDiscountFactors) ratesProvider.discountFactors(USD);
     assertEquals(df.getCurve().getName(), dscCurve.getName());
+    assertSame(ratesProvider.discountFactors(USD), df);
     assertThrowsIllegalArg(() -> ratesProvider.discountFactors(GBP));
     // check Ibor
     DiscountIborIndexRates ibor = (DiscountIborIndexRates) ratesProvider.iborIndexRates(USD_LIBOR_3M);
     SimpleDiscountFactors iborDf = (SimpleDiscountFactors) ibor.getDiscountFactors();
     assertEquals(iborDf.getCurve().getName(), fwdCurve.getName());
+    assertSame(ratesProvider.iborIndexRates(USD_LIBOR_3M), ibor);
     assertThrowsIllegalArg(() -> ratesProvider.iborIndexRates(GBP_LIBOR_3M));
     assertEquals(ratesProvider.iborIndexRates(INACTIVE_IBOR_INDEX).getIndex(), INACTIVE_IBOR_INDEX);
     assertEquals(ratesProvider.iborIndexRates(INACTIVE_IBOR_INDEX).getFixings(), dummyTimeSeries);
@@ -202,6 +205,7 @@ public class RatesMarketDataLookupTest {
     DiscountOvernightIndexRates on = (DiscountOvernightIndexRates) ratesProvider.overnightIndexRates(USD_FED_FUND);
     SimpleDiscountFactors onDf = (SimpleDiscountFactors) on.getDiscountFactors();
     assertEquals(onDf.getCurve().getName(), dscCurve.getName());
+    assertSame(ratesProvider.overnightIndexRates(USD_FED_FUND), on);
     assertThrowsIllegalArg(() -> ratesProvider.overnightIndexRates(GBP_SONIA));
     assertEquals(ratesProvider.overnightIndexRates(INACTIVE_ON_INDEX).getIndex(), INACTIVE_ON_INDEX);
     assertEquals(ratesProvider.overnightIndexRates(INACTIVE_ON_INDEX).getFixings(), dummyTimeSeries);
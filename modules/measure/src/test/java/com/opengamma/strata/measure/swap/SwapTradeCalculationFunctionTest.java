@@ -43,6 +43,7 @@ import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -129,7 +130,9 @@ public class SwapTradeCalculationFunctionTest {
     RatesProvider provider = RATES_LOOKUP.ratesProvider(md.scenario(0));
     DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
     PointSensitivities pvPointSens = pricer.presentValueSensitivity(RTRADE, provider);
-    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(pvPointSens);
+    // the point sensitivities are merged by the calculation before being converted
+    PointSensitivities mergedPointSens = new PointSensitivityAccumulator().addAll(pvPointSens).build();
+    CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(mergedPointSens);
     MultiCurrencyAmount expectedPv01 = pvParamSens.total().multipliedBy(1e-4);
     CurrencyParameterSensitivities expectedBucketedPv01 = pvParamSens.multipliedBy(1e-4);
 
@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import static com.opengamma.strata.market.model.SabrParameterType.ALPHA;
+import static com.opengamma.strata.market.model.SabrParameterType.BETA;
+import static com.opengamma.strata.market.model.SabrParameterType.NU;
+import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 import static com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory.SV_COMMONS;
 import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
 
@@ -14,13 +18,18 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
@@ -29,6 +38,7 @@ import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
 import com.opengamma.strata.math.impl.minimization.DoubleRangeLimitTransform;
@@ -43,7 +53,9 @@ import com.opengamma.strata.math.impl.statistics.leastsquare.NonLinearLeastSquar
 import com.opengamma.strata.pricer.model.SabrParameters;
 import com.opengamma.strata.pricer.option.RawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+import com.opengamma.strata.product.common.PutCall;
 
 /**
  * Caplet volatilities calibration to cap volatilities based on SABR model.
@@ -56,6 +68,10 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The calibration to SABR is computed once the option volatility date is converted to prices. Thus we should note that 
  * the error values in {@code RawOptionData} are applied in the price space rather than the volatility space.
+ * <p>
+ * The caps of each expiry are independent of each other, thus the caps of different strikes can be priced
+ * in parallel during the calibration of an expiry, see {@link #withExecutor(Executor)}.
+ * The SABR parameters calibrated on a previous day can also be used as the starting point of the calibration.
  */
 public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloorletVolatilityCalibrator {
 
@@ -73,12 +89,17 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
    * SABR parameter range. 
    */
   private static final double RHO_LIMIT = 0.999;
+  /**
+   * SABR nu range, to avoid numerical instability in formula for large nu.
+   */
+  private static final double NU_LOWER_LIMIT = 0.001d;
+  private static final double NU_UPPER_LIMIT = 2.50d;
   static {
     TRANSFORMS = new ParameterLimitsTransform[4];
     TRANSFORMS[0] = new SingleRangeLimitTransform(0, LimitType.GREATER_THAN); // alpha > 0
     TRANSFORMS[1] = new DoubleRangeLimitTransform(0.0, 1.0); // 0 <= beta <= 1
     TRANSFORMS[2] = new DoubleRangeLimitTransform(-RHO_LIMIT, RHO_LIMIT); // -1 <= rho <= 1
-    TRANSFORMS[3] = new DoubleRangeLimitTransform(0.001d, 2.50d);
+    TRANSFORMS[3] = new DoubleRangeLimitTransform(NU_LOWER_LIMIT, NU_UPPER_LIMIT);
     // nu > 0  and limit on Nu to avoid numerical instability in formula for large nu.
   }
 
@@ -88,8 +109,15 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
   private final NonLinearLeastSquare solver;
   /**
    * SABR pricer for caplet/floorlet.
+   * <p>
+   * This prices the fixed caplets/floorlets. The caplets/floorlets being calibrated are priced using the same
+   * formulas, the forward and discount factor being computed once per expiry.
    */
   private final SabrIborCapletFloorletPeriodPricer sabrPeriodPricer;
+  /**
+   * The executor used to price the caps.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -121,9 +149,36 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       NonLinearLeastSquare solver,
       ReferenceData referenceData) {
 
+    this(pricer, sabrPeriodPricer, solver, referenceData, MoreExecutors.directExecutor());
+  }
+
+  private SabrIborCapletFloorletVolatilityBootstrapper(
+      VolatilityIborCapFloorLegPricer pricer,
+      SabrIborCapletFloorletPeriodPricer sabrPeriodPricer,
+      NonLinearLeastSquare solver,
+      ReferenceData referenceData,
+      Executor executor) {
+
     super(pricer, referenceData);
     this.sabrPeriodPricer = ArgChecker.notNull(sabrPeriodPricer, "sabrPeriodPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  /**
+   * Returns a copy of this calibrator that uses the specified executor.
+   * <p>
+   * The caps of each expiry are submitted to the executor and priced in parallel.
+   * The expiries are still calibrated sequentially, as each expiry depends on the result of the previous one.
+   * By default, the caps are priced sequentially in the calling thread.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor used to price the caps
+   * @return the calibrator
+   */
+  public SabrIborCapletFloorletVolatilityBootstrapper withExecutor(Executor executor) {
+    return new SabrIborCapletFloorletVolatilityBootstrapper(
+        getLegPricer(), sabrPeriodPricer, solver, getReferenceData(), executor);
   }
 
   //-------------------------------------------------------------------------
@@ -134,6 +189,43 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.empty());
+  }
+
+  /**
+   * Calibrates caplet volatilities to cap volatilities, starting from previously calibrated SABR parameters.
+   * <p>
+   * The SABR parameters of each expiry are calibrated starting from the values of the specified parameters
+   * at the expiry time, rather than from values estimated from the cap volatilities.
+   * This is typically used with the result of the previous day's calibration, reducing the number of iterations.
+   * If the values of the specified parameters are not in the allowed range, the estimated values are used.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param initialParameters  the SABR parameters used as the starting point
+   * @return the calibration result
+   */
+  public IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      SabrParameters initialParameters) {
+
+    ArgChecker.notNull(initialParameters, "initialParameters");
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.of(initialParameters));
+  }
+
+  // calibrates, optionally starting from the specified parameters
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      Optional<SabrParameters> initialParameters) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof SabrIborCapletFloorletVolatilityBootstrapDefinition,
@@ -221,13 +313,18 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     for (int i = 0; i < nExpiries; ++i) {
       DoubleArray start = computeInitialValues(
           ratesProvider, betaCurve, shiftCurve, timeList, volList, capList, startIndex, i, betaFix, capFloorData.getDataType());
+      if (initialParameters.isPresent()) {
+        start = warmStartValues(initialParameters.get(), timeToExpiries.get(i), start, fixed);
+      }
       UncoupledParameterTransforms transform = new UncoupledParameterTransforms(start, TRANSFORMS, fixed);
       int nCaplets = startIndex[i + 1] - startIndex[i];
       int currentStart = startIndex[i];
+      List<List<PeriodInputs>> periodsList =
+          unfixedPeriods(ratesProvider, vols, capList, prevExpiry, currentStart, nCaplets);
       Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, periodsList, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
       Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, periodsList, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
       NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
       DoubleArray adjustedPrices = adjustedPrices(ratesProvider, vols, prevExpiry, capList, priceList, startIndex, i, nCaplets);
       DoubleArray errors = DoubleArray.of(nCaplets, n -> errorList.get(currentStart + n));
@@ -273,12 +370,52 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     return DoubleArray.of(alphaInitial, betaInitial, -0.5 * betaInitial + 0.5 * (1d - betaInitial), nuFirst);
   }
 
+  // computes the starting values from the specified parameters, using the estimated values if out of range
+  private static DoubleArray warmStartValues(
+      SabrParameters parameters,
+      double timeToExpiry,
+      DoubleArray estimatedValues,
+      BitSet fixed) {
+
+    DoubleArray values = DoubleArray.of(
+        parameters.alpha(timeToExpiry),
+        parameters.beta(timeToExpiry),
+        parameters.rho(timeToExpiry),
+        parameters.nu(timeToExpiry));
+    boolean inRange = values.get(0) > 0d &&
+        values.get(1) >= 0d && values.get(1) <= 1d &&
+        Math.abs(values.get(2)) <= RHO_LIMIT &&
+        values.get(3) >= NU_LOWER_LIMIT && values.get(3) <= NU_UPPER_LIMIT;
+    if (!inRange) {
+      return estimatedValues;
+    }
+    // the fixed parameters are not calibrated, thus retain the estimated values
+    return DoubleArray.of(4, n -> fixed.get(n) ? estimatedValues.get(n) : values.get(n));
+  }
+
+  // the inputs of the caplet/floorlet periods of each cap which are not fixed, computed once per expiry
+  private static List<List<PeriodInputs>> unfixedPeriods(
+      RatesProvider ratesProvider,
+      SabrIborCapletFloorletVolatilities volatilities,
+      List<ResolvedIborCapFloorLeg> capList,
+      ZonedDateTime prevExpiry,
+      int currentStart,
+      int nCaplets) {
+
+    List<List<PeriodInputs>> periodsList = new ArrayList<>(nCaplets);
+    for (int n = 0; n < nCaplets; ++n) {
+      periodsList.add(capList.get(currentStart + n).getCapletFloorletPeriods().stream()
+          .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
+          .map(p -> new PeriodInputs(p, ratesProvider, volatilities))
+          .collect(Collectors.toList()));
+    }
+    return periodsList;
+  }
+
   // price function
   private Function<DoubleArray, DoubleArray> createPriceFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<List<PeriodInputs>> periodsList,
       List<Double> priceList,
       int[] startIndex,
       int nExpiries,
@@ -291,11 +428,10 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        return DoubleArray.of(nCaplets,
-            n -> capList.get(currentStart + n).getCapletFloorletPeriods().stream()
-                .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-                .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, volsNew).getAmount())
-                .sum() / priceList.get(currentStart + n));
+        List<Double> prices = Guavate.evaluateInOrder(executor, nCaplets, n -> periodsList.get(n).stream()
+            .mapToDouble(p -> p.presentValue(volsNew))
+            .sum() / priceList.get(currentStart + n));
+        return DoubleArray.of(nCaplets, n -> prices.get(n));
       }
     };
     return priceFunction;
@@ -303,10 +439,8 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // node sensitivity function
   private Function<DoubleArray, DoubleMatrix> createJacobianFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<List<PeriodInputs>> periodsList,
       List<Double> priceList,
       Currency currency,
       int[] startIndex,
@@ -324,29 +458,29 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        double[][] jacobian = new double[nCaplets][4];
-        for (int i = 0; i < nCaplets; ++i) {
-          PointSensitivities point = capList.get(currentStart + i).getCapletFloorletPeriods().stream()
-              .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-              .map(p -> sabrPeriodPricer.presentValueSensitivityModelParamsSabr(p, ratesProvider, volsNew))
+        List<double[]> jacobian = Guavate.evaluateInOrder(executor, nCaplets, i -> {
+          PointSensitivities point = periodsList.get(i).stream()
+              .map(p -> p.presentValueSensitivityModelParamsSabr(volsNew))
               .reduce((c1, c2) -> c1.combinedWith(c2))
               .get()
               .build();
           double targetPrice = priceList.get(currentStart + i);
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
-          jacobian[i][0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          double[] row = new double[4];
+          row[0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
           if (betaFixed) {
-            jacobian[i][1] = 0d;
-            jacobian[i][2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+            row[1] = 0d;
+            row[2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
 
           } else {
-            jacobian[i][1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-            jacobian[i][2] = 0d;
+            row[1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+            row[2] = 0d;
 
           }
-          jacobian[i][3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-        }
-        return DoubleMatrix.ofUnsafe(jacobian);
+          row[3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          return row;
+        });
+        return DoubleMatrix.ofUnsafe(jacobian.toArray(new double[nCaplets][]));
       }
     };
     return jacobianFunction;
@@ -395,4 +529,74 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
             .sum()) / priceList.get(currentStart + n));
   }
 
+  //-------------------------------------------------------------------------
+  // the inputs of a caplet/floorlet period that do not depend on the SABR parameters
+  // the present value and its sensitivity are computed as in SabrIborCapletFloorletPeriodPricer,
+  // without computing the forward and discount factor again for each iteration of the root finder
+  private static final class PeriodInputs {
+    private final IborCapletFloorletPeriod period;
+    private final double expiry;
+    private final boolean paid;
+    private final double discountFactor;
+    private final double forward;
+
+    private PeriodInputs(
+        IborCapletFloorletPeriod period,
+        RatesProvider ratesProvider,
+        SabrIborCapletFloorletVolatilities volatilities) {
+
+      this.period = period;
+      this.expiry = volatilities.relativeTime(period.getFixingDateTime());
+      this.paid = ratesProvider.getValuationDate().isAfter(period.getPaymentDate());
+      // the market data is not used if the period is paid and expired
+      boolean used = !paid || expiry >= 0d;
+      this.discountFactor = used ? ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate()) : 0d;
+      this.forward = used ?
+          ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation()) :
+          0d;
+    }
+
+    // the present value
+    private double presentValue(SabrIborCapletFloorletVolatilities volatilities) {
+      if (paid) {
+        return 0d;
+      }
+      PutCall putCall = period.getPutCall();
+      double strike = period.getStrike();
+      if (expiry < 0d) { // Option has expired already
+        double sign = putCall.isCall() ? 1d : -1d;
+        double payoff = Math.max(sign * (forward - strike), 0d);
+        return discountFactor * payoff * period.getYearFraction() * period.getNotional();
+      }
+      double volatility = volatilities.volatility(expiry, strike, forward);
+      double price = discountFactor * period.getYearFraction() *
+          volatilities.price(expiry, putCall, strike, forward, volatility);
+      return price * period.getNotional();
+    }
+
+    // the present value sensitivity to the SABR model parameters
+    private PointSensitivityBuilder presentValueSensitivityModelParamsSabr(
+        SabrIborCapletFloorletVolatilities volatilities) {
+
+      if (expiry < 0d) { // option expired already
+        return PointSensitivityBuilder.none();
+      }
+      Currency currency = period.getCurrency();
+      PutCall putCall = period.getPutCall();
+      double strike = period.getStrike();
+      double factor = period.getNotional() * period.getYearFraction();
+      ValueDerivatives volatilityAdj = volatilities.volatilityAdjoint(expiry, strike, forward);
+      DoubleArray derivative = volatilityAdj.getDerivatives();
+      double vega = discountFactor * factor *
+          volatilities.priceVega(expiry, putCall, strike, forward, volatilityAdj.getValue());
+      IborCapletFloorletVolatilitiesName name = volatilities.getName();
+
+      return PointSensitivityBuilder.of(
+          IborCapletFloorletSabrSensitivity.of(name, expiry, ALPHA, currency, vega * derivative.get(2)),
+          IborCapletFloorletSabrSensitivity.of(name, expiry, BETA, currency, vega * derivative.get(3)),
+          IborCapletFloorletSabrSensitivity.of(name, expiry, RHO, currency, vega * derivative.get(4)),
+          IborCapletFloorletSabrSensitivity.of(name, expiry, NU, currency, vega * derivative.get(5)));
+    }
+  }
+
 }
@@ -12,7 +12,9 @@ import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.IborIndex;
@@ -29,6 +31,7 @@ import com.opengamma.strata.market.surface.Surfaces;
 import com.opengamma.strata.pricer.impl.option.GenericImpliedVolatiltySolver;
 import com.opengamma.strata.pricer.option.RawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
 /**
@@ -146,9 +149,13 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
     }
     for (int i = start; i < nExpiries; ++i) {
       for (int j = startIndex[i]; j < startIndex[i + 1]; ++j) {
-        Function<Double, double[]> func = getValueVegaFunction(capList.get(j), ratesProvider, vols, prevExpiry, j);
+        // the periods are split once, rather than in each iteration of the root finder
+        ZonedDateTime prevExpiryFinal = prevExpiry;
+        Map<Boolean, List<IborCapletFloorletPeriod>> periods = capList.get(j).getCapletFloorletPeriods().stream()
+            .collect(Collectors.partitioningBy(p -> p.getFixingDateTime().isAfter(prevExpiryFinal)));
+        Function<Double, double[]> func = getValueVegaFunction(periods.get(true), ratesProvider, vols, j);
         GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(func);
-        double priceFixed = i == 0 ? 0d : priceFixed(capList.get(j), ratesProvider, vols, prevExpiry);
+        double priceFixed = i == 0 ? 0d : priceFixed(periods.get(false), ratesProvider, vols);
         double capletVol = solver.impliedVolatility(priceList.get(j) - priceFixed, initialVol.get(j));
         vols = vols.withParameter(j, capletVol);
       }
@@ -160,10 +167,9 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
   //-------------------------------------------------------------------------
   // price and vega function
   private Function<Double, double[]> getValueVegaFunction(
-      ResolvedIborCapFloorLeg cap,
+      List<IborCapletFloorletPeriod> periods,
       RatesProvider ratesProvider,
       IborCapletFloorletVolatilities vols,
-      ZonedDateTime prevExpiry,
       int nodeIndex) {
 
     VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
@@ -171,12 +177,10 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
       @Override
       public double[] apply(Double x) {
         IborCapletFloorletVolatilities newVols = vols.withParameter(nodeIndex, x);
-        double price = cap.getCapletFloorletPeriods().stream()
-            .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
+        double price = periods.stream()
             .mapToDouble(p -> periodPricer.presentValue(p, ratesProvider, newVols).getAmount())
             .sum();
-        PointSensitivities point = cap.getCapletFloorletPeriods().stream()
-            .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
+        PointSensitivities point = periods.stream()
             .map(p -> periodPricer.presentValueSensitivityModelParamsVolatility(p, ratesProvider, newVols))
             .reduce((c1, c2) -> c1.combinedWith(c2))
             .get()
@@ -191,14 +195,12 @@ public class SurfaceIborCapletFloorletVolatilityBootstrapper extends IborCapletF
 
   // sum of caplet prices which are already fixed
   private double priceFixed(
-      ResolvedIborCapFloorLeg cap,
+      List<IborCapletFloorletPeriod> fixedPeriods,
       RatesProvider ratesProvider,
-      IborCapletFloorletVolatilities vols,
-      ZonedDateTime prevExpiry) {
+      IborCapletFloorletVolatilities vols) {
 
     VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
-    return cap.getCapletFloorletPeriods().stream()
-        .filter(p -> !p.getFixingDateTime().isAfter(prevExpiry))
+    return fixedPeriods.stream()
         .mapToDouble(p -> periodPricer.presentValue(p, ratesProvider, vols).getAmount())
         .sum();
   }
@@ -69,6 +69,51 @@ public class DoublesScheduleGenerator {
     return DoubleArray.copyOf(temp, 0, resLength);
   }
 
+  /**
+   * Combines the curve nodes, which have already been merged and sorted.
+   * <p>
+   * This produces the same result as {@link #getIntegrationsPoints(double, double, DoubleArray, DoubleArray)}
+   * where the specified nodes are the sorted union of the discount curve nodes and credit curve nodes,
+   * including any duplicates. This allows the merged nodes to be shared between calls.
+   *
+   * @param start  the first time in the list
+   * @param end  the last time in the list
+   * @param mergedNodes  the sorted discount curve and credit curve nodes
+   * @return the combined list between start and end
+   */
+  static DoubleArray getIntegrationsPoints(double start, double end, double[] mergedNodes) {
+    int lIndex = firstIndexAbove(mergedNodes, start, false);
+    int uIndex = Math.max(firstIndexAbove(mergedNodes, end, true), lIndex);
+    double[] temp = new double[uIndex - lIndex + 2];
+    temp[0] = start;
+    int pos = 0;
+    for (int i = lIndex; i < uIndex; i++) {
+      if (different(temp[pos], mergedNodes[i])) {
+        temp[++pos] = mergedNodes[i];
+      }
+    }
+    if (different(temp[pos], end)) {
+      pos++;
+    }
+    temp[pos] = end;
+    return DoubleArray.copyOf(temp, 0, pos + 1);
+  }
+
+  // finds the first index whose value is greater than (or equal to if inclusive) the specified value
+  private static int firstIndexAbove(double[] sorted, double value, boolean inclusive) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value || (!inclusive && sorted[mid] == value)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
   private static boolean different(double a, double b) {
     return Math.abs(a - b) > TOL;
   }
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Pricer for a book of single-name credit default swaps (CDS) based on ISDA standard model.
+ * <p>
+ * This produces the same results as {@link IsdaCdsProductPricer}, but is optimized for pricing many
+ * CDS against the same curves. For each pair of discount curve and credit curve, the curve nodes are
+ * merged once and the hazard and discount exponents are evaluated once on the merged nodes.
+ * The discount factors and survival probabilities of the coupon dates are also shared between the
+ * CDS of the book, as standard CDS have the same coupon dates.
+ * The pricing formulas are those of {@link IsdaCdsProductPricer}.
+ * <p>
+ * A CDS index can be priced by this pricer by converting it to a single-name CDS
+ * using {@code ResolvedCdsIndex.toSingleNameCds()}, the index factor then being applied by the caller.
+ * <p>
+ * The CDS are priced based on {@code referenceDate}, which is the same for all the CDS of the book.
+ * As in {@link IsdaCdsProductPricer}, the price, present value, protection leg and risky annuity
+ * of a CDS whose protection has ended are zero.
+ */
+public class IsdaCdsBookPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaCdsBookPricer DEFAULT = new IsdaCdsBookPricer(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+
+  /**
+   * The pricer of a single CDS, using the same formula.
+   */
+  private final IsdaCdsProductPricer productPricer;
+
+  /**
+   * Constructor specifying the formula to use for the accrued on default calculation.
+   *
+   * @param formula  the formula
+   */
+  public IsdaCdsBookPricer(AccrualOnDefaultFormula formula) {
+    this.productPricer = new IsdaCdsProductPricer(ArgChecker.notNull(formula, "formula"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the accrual-on-default formula used in this pricer.
+   *
+   * @return the formula
+   */
+  public AccrualOnDefaultFormula getAccrualOnDefaultFormula() {
+    return productPricer.getAccrualOnDefaultFormula();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each CDS product, which is the present value per unit notional.
+   * <p>
+   * This method can calculate the clean or dirty price, see {@link PriceType}.
+   * If calculating the clean price, the accrued interest is calculated based on the step-in date.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the price of each product, in the order of the products
+   */
+  public double[] price(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    BookCurves curves = new BookCurves(ratesProvider, refData);
+    double[] result = new double[cdsList.size()];
+    for (int i = 0; i < result.length; i++) {
+      ResolvedCds cds = cdsList.get(i);
+      if (isExpired(cds, ratesProvider)) {
+        continue;
+      }
+      LocalDate stepinDate = curves.stepinDate(cds);
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+      CurveGrid grid = curves.grid(cds);
+      double protectionLeg =
+          (1d - grid.recoveryRate()) * productPricer.protectionFull(cds, grid, referenceDate, effectiveStartDate);
+      double rpv01 = productPricer.riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
+      result[i] = protectionLeg - rpv01 * cds.getFixedRate();
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the present value of each CDS product.
+   * <p>
+   * The present value of the product is based on {@code referenceDate}.
+   * <p>
+   * This method can calculate the clean or dirty present value, see {@link PriceType}.
+   * If calculating the clean value, the accrued interest is calculated based on the step-in date.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value of each product, in the order of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    double[] prices = price(cdsList, ratesProvider, referenceDate, priceType, refData);
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < prices.length; i++) {
+      ResolvedCds cds = cdsList.get(i);
+      builder.add(CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * prices[i]));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Calculates the price of the protection leg of each CDS product.
+   * <p>
+   * This is the protection leg present value per unit notional.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the protection leg price of each product, in the order of the products
+   */
+  public double[] protectionLeg(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    BookCurves curves = new BookCurves(ratesProvider, refData);
+    double[] result = new double[cdsList.size()];
+    for (int i = 0; i < result.length; i++) {
+      ResolvedCds cds = cdsList.get(i);
+      if (isExpired(cds, ratesProvider)) {
+        continue;
+      }
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(curves.stepinDate(cds));
+      CurveGrid grid = curves.grid(cds);
+      result[i] =
+          (1d - grid.recoveryRate()) * productPricer.protectionFull(cds, grid, referenceDate, effectiveStartDate);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the risky annuity of each CDS product, which is RPV01 per unit notional.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the risky annuity of each product, in the order of the products
+   */
+  public double[] riskyAnnuity(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    BookCurves curves = new BookCurves(ratesProvider, refData);
+    double[] result = new double[cdsList.size()];
+    for (int i = 0; i < result.length; i++) {
+      ResolvedCds cds = cdsList.get(i);
+      if (isExpired(cds, ratesProvider)) {
+        continue;
+      }
+      LocalDate stepinDate = curves.stepinDate(cds);
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+      result[i] = productPricer.riskyAnnuity(
+          cds, curves.grid(cds), referenceDate, stepinDate, effectiveStartDate, priceType);
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  private boolean isExpired(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    return !cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The curves of the book, with the grids built on demand.
+   */
+  private static final class BookCurves {
+    private final CreditRatesProvider ratesProvider;
+    private final ReferenceData refData;
+    private final Map<Pair<StandardId, Currency>, CurveGrid> grids = new HashMap<>();
+    private final Map<DaysAdjustment, LocalDate> stepinDates = new HashMap<>();
+
+    private BookCurves(CreditRatesProvider ratesProvider, ReferenceData refData) {
+      this.ratesProvider = ArgChecker.notNull(ratesProvider, "ratesProvider");
+      this.refData = ArgChecker.notNull(refData, "refData");
+    }
+
+    // the step-in date, which only depends on the offset
+    private LocalDate stepinDate(ResolvedCds cds) {
+      return stepinDates.computeIfAbsent(
+          cds.getStepinDateOffset(), offset -> offset.adjust(ratesProvider.getValuationDate(), refData));
+    }
+
+    // the grid of the discount curve and credit curve of the CDS
+    private CurveGrid grid(ResolvedCds cds) {
+      return grids.computeIfAbsent(
+          Pair.of(cds.getLegalEntityId(), cds.getCurrency()), key -> CurveGrid.of(ratesProvider, key));
+    }
+  }
+
+  /**
+   * The merged nodes of a discount curve and credit curve, with the values needed for pricing.
+   * <p>
+   * The hazard and discount exponents are the zero rates multiplied by the year fraction.
+   * They are evaluated once on the merged nodes, the values at dates being cached.
+   */
+  private static final class CurveGrid extends IsdaCdsCurves {
+    private final double recoveryRate;
+    private final double[] nodes;
+    private final double[] nodeHazardExponents;
+    private final double[] nodeDiscountExponents;
+    private final Map<LocalDate, Double> yearFractions = new HashMap<>();
+    private final Map<LocalDate, Double> discountFactorCache = new HashMap<>();
+    private final Map<LocalDate, Double> survivalProbabilityCache = new HashMap<>();
+
+    // validates the curves as IsdaCdsProductPricer does
+    private static CurveGrid of(CreditRatesProvider ratesProvider, Pair<StandardId, Currency> key) {
+      StandardId legalEntityId = key.getFirst();
+      Currency currency = key.getSecond();
+      CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+      ArgChecker.isTrue(
+          discountFactors.isIsdaCompliant(), "discount factors must be IsdaCompliantZeroRateDiscountFactors");
+      LegalEntitySurvivalProbabilities survivalProbabilities =
+          ratesProvider.survivalProbabilities(legalEntityId, currency);
+      ArgChecker.isTrue(survivalProbabilities.getSurvivalProbabilities().isIsdaCompliant(),
+          "survival probabilities must be IsdaCompliantZeroRateDiscountFactors");
+      ArgChecker.isTrue(
+          discountFactors.getDayCount().equals(survivalProbabilities.getSurvivalProbabilities().getDayCount()),
+          "day count conventions of discounting curve and credit curve must be the same");
+      RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
+      ArgChecker.isTrue(recoveryRates instanceof ConstantRecoveryRates, "recoveryRates must be ConstantRecoveryRates");
+      double recoveryRate = ((ConstantRecoveryRates) recoveryRates).getRecoveryRate();
+      return new CurveGrid(discountFactors, survivalProbabilities, recoveryRate);
+    }
+
+    private CurveGrid(
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities,
+        double recoveryRate) {
+
+      super(discountFactors, survivalProbabilities);
+      this.recoveryRate = recoveryRate;
+      this.nodes = discountFactors.getParameterKeys()
+          .concat(survivalProbabilities.getParameterKeys())
+          .sorted()
+          .toArrayUnsafe();
+      this.nodeHazardExponents = new double[nodes.length];
+      this.nodeDiscountExponents = new double[nodes.length];
+      for (int i = 0; i < nodes.length; i++) {
+        nodeHazardExponents[i] = super.hazardExponent(nodes[i]);
+        nodeDiscountExponents[i] = super.discountExponent(nodes[i]);
+      }
+    }
+
+    private double recoveryRate() {
+      return recoveryRate;
+    }
+
+    @Override
+    double yearFraction(LocalDate date) {
+      return yearFractions.computeIfAbsent(date, super::yearFraction);
+    }
+
+    @Override
+    double discountFactor(LocalDate date) {
+      return discountFactorCache.computeIfAbsent(date, super::discountFactor);
+    }
+
+    @Override
+    double survivalProbability(LocalDate date) {
+      return survivalProbabilityCache.computeIfAbsent(date, super::survivalProbability);
+    }
+
+    // the integration points between the two dates, using the merged nodes
+    @Override
+    DoubleArray integrationPoints(LocalDate start, LocalDate end) {
+      return DoublesScheduleGenerator.getIntegrationsPoints(yearFraction(start), yearFraction(end), nodes);
+    }
+
+    // uses the node value if possible
+    @Override
+    double hazardExponent(double yearFraction) {
+      int index = Arrays.binarySearch(nodes, yearFraction);
+      return index >= 0 ? nodeHazardExponents[index] : super.hazardExponent(yearFraction);
+    }
+
+    // uses the node value if possible
+    @Override
+    double discountExponent(double yearFraction) {
+      int index = Arrays.binarySearch(nodes, yearFraction);
+      return index >= 0 ? nodeDiscountExponents[index] : super.discountExponent(yearFraction);
+    }
+  }
+
+}
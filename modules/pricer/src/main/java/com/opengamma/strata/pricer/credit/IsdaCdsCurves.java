@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The discount curve and credit curve used to price a CDS based on ISDA standard model.
+ * <p>
+ * This provides the values of the curves required by {@link IsdaCdsProductPricer}.
+ * This implementation evaluates the curves directly.
+ * {@link IsdaCdsBookPricer} overrides the methods to share the merged curve nodes
+ * and the values of the curves between the CDS of a book.
+ */
+class IsdaCdsCurves {
+
+  /**
+   * The discount factors.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The survival probabilities.
+   */
+  private final LegalEntitySurvivalProbabilities survivalProbabilities;
+
+  /**
+   * Creates an instance.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   */
+  IsdaCdsCurves(CreditDiscountFactors discountFactors, LegalEntitySurvivalProbabilities survivalProbabilities) {
+    this.discountFactors = discountFactors;
+    this.survivalProbabilities = survivalProbabilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the discount factors.
+   *
+   * @return the discount factors
+   */
+  CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Gets the survival probabilities.
+   *
+   * @return the survival probabilities
+   */
+  LegalEntitySurvivalProbabilities getSurvivalProbabilities() {
+    return survivalProbabilities;
+  }
+
+  /**
+   * Gets the day count of the curves.
+   *
+   * @return the day count
+   */
+  DayCount getDayCount() {
+    return discountFactors.getDayCount();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the year fraction of the date, relative to the valuation date.
+   *
+   * @param date  the date
+   * @return the year fraction
+   */
+  double yearFraction(LocalDate date) {
+    return discountFactors.relativeYearFraction(date);
+  }
+
+  /**
+   * Calculates the discount factor at the date.
+   *
+   * @param date  the date
+   * @return the discount factor
+   */
+  double discountFactor(LocalDate date) {
+    return discountFactors.discountFactor(date);
+  }
+
+  /**
+   * Calculates the survival probability at the date.
+   *
+   * @param date  the date
+   * @return the survival probability
+   */
+  double survivalProbability(LocalDate date) {
+    return survivalProbabilities.survivalProbability(date);
+  }
+
+  /**
+   * Obtains the integration points between two dates.
+   * <p>
+   * The points are the curve nodes of both curves between the dates, together with the dates themselves.
+   *
+   * @param start  the start date
+   * @param end  the end date
+   * @return the integration points, as year fractions
+   */
+  DoubleArray integrationPoints(LocalDate start, LocalDate end) {
+    return DoublesScheduleGenerator.getIntegrationsPoints(
+        yearFraction(start),
+        yearFraction(end),
+        discountFactors.getParameterKeys(),
+        survivalProbabilities.getParameterKeys());
+  }
+
+  /**
+   * Calculates the hazard exponent, the zero hazard rate multiplied by the year fraction.
+   *
+   * @param yearFraction  the year fraction
+   * @return the hazard exponent
+   */
+  double hazardExponent(double yearFraction) {
+    return survivalProbabilities.zeroRate(yearFraction) * yearFraction;
+  }
+
+  /**
+   * Calculates the discount exponent, the zero rate multiplied by the year fraction.
+   *
+   * @param yearFraction  the year fraction
+   * @return the discount exponent
+   */
+  double discountExponent(double yearFraction) {
+    return discountFactors.zeroRate(yearFraction) * yearFraction;
+  }
+
+}
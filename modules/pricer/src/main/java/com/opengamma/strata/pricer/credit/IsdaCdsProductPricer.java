@@ -484,20 +484,28 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       LocalDate effectiveStartDate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+    IsdaCdsCurves curves = new IsdaCdsCurves(discountFactors, survivalProbabilities);
+    return protectionFull(cds, curves, referenceDate, effectiveStartDate);
+  }
+
+  // computes protection leg pv per unit notional, without loss-given-default rate multiplied
+  // the values of the curves are obtained from the specified curves
+  double protectionFull(
+      ResolvedCds cds,
+      IsdaCdsCurves curves,
+      LocalDate referenceDate,
+      LocalDate effectiveStartDate) {
+
+    DoubleArray integrationSchedule = curves.integrationPoints(effectiveStartDate, cds.getProtectionEndDate());
 
     double pv = 0d;
-    double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double rt0 = discountFactors.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
+    double ht0 = curves.hazardExponent(integrationSchedule.get(0));
+    double rt0 = curves.discountExponent(integrationSchedule.get(0));
     double b0 = Math.exp(-ht0 - rt0);
     int n = integrationSchedule.size();
     for (int i = 1; i < n; ++i) {
-      double ht1 = survivalProbabilities.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double rt1 = discountFactors.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
+      double ht1 = curves.hazardExponent(integrationSchedule.get(i));
+      double rt1 = curves.discountExponent(integrationSchedule.get(i));
       double b1 = Math.exp(-ht1 - rt1);
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
@@ -516,7 +524,7 @@ public class IsdaCdsProductPricer {
       b0 = b1;
     }
     // roll to the cash settle date
-    double df = discountFactors.discountFactor(referenceDate);
+    double df = curves.discountFactor(referenceDate);
 
     return pv / df;
   }
@@ -531,11 +539,24 @@ public class IsdaCdsProductPricer {
       LocalDate effectiveStartDate,
       PriceType priceType) {
 
+    IsdaCdsCurves curves = new IsdaCdsCurves(discountFactors, survivalProbabilities);
+    return riskyAnnuity(cds, curves, referenceDate, stepinDate, effectiveStartDate, priceType);
+  }
+
+  // computes risky annuity, the values of the curves are obtained from the specified curves
+  double riskyAnnuity(
+      ResolvedCds cds,
+      IsdaCdsCurves curves,
+      LocalDate referenceDate,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      PriceType priceType) {
+
     double pv = 0d;
     for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
       if (stepinDate.isBefore(coupon.getEndDate())) {
-        double q = survivalProbabilities.survivalProbability(coupon.getEffectiveEndDate());
-        double p = discountFactors.discountFactor(coupon.getPaymentDate());
+        double q = curves.survivalProbability(coupon.getEffectiveEndDate());
+        double p = curves.discountFactor(coupon.getPaymentDate());
         pv += coupon.getYearFraction() * p * q;
       }
     }
@@ -543,18 +564,13 @@ public class IsdaCdsProductPricer {
     if (cds.getPaymentOnDefault().isAccruedInterest()) {
       // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
       LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
+      DoubleArray integrationSchedule = curves.integrationPoints(start, cds.getProtectionEndDate());
       for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-        pv += singlePeriodAccrualOnDefault(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+        pv += singlePeriodAccrualOnDefault(coupon, effectiveStartDate, integrationSchedule, curves);
       }
     }
     // roll to the cash settle date
-    double df = discountFactors.discountFactor(referenceDate);
+    double df = curves.discountFactor(referenceDate);
     pv /= df;
 
     if (priceType.isCleanPrice()) {
@@ -569,8 +585,7 @@ public class IsdaCdsProductPricer {
       CreditCouponPaymentPeriod coupon,
       LocalDate effectiveStartDate,
       DoubleArray integrationSchedule,
-      CreditDiscountFactors discountFactors,
-      LegalEntitySurvivalProbabilities survivalProbabilities) {
+      IsdaCdsCurves curves) {
 
     LocalDate start =
         coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
@@ -578,22 +593,22 @@ public class IsdaCdsProductPricer {
       return 0d; // this coupon has already expired
     }
 
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
+    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(curves.yearFraction(start),
+        curves.yearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
 
     double t0Knot = knots.get(0);
-    double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
-    double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
+    double ht0 = curves.hazardExponent(t0Knot);
+    double rt0 = curves.discountExponent(t0Knot);
     double b0 = Math.exp(-rt0 - ht0);
 
-    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+    double effStart = curves.yearFraction(coupon.getEffectiveStartDate());
     double t0 = t0Knot - effStart + omega;
     double pv = 0d;
     final int nItems = knots.size();
     for (int j = 1; j < nItems; ++j) {
       double t = knots.get(j);
-      double ht1 = survivalProbabilities.zeroRate(t) * t;
-      double rt1 = discountFactors.zeroRate(t) * t;
+      double ht1 = curves.hazardExponent(t);
+      double rt1 = curves.discountExponent(t);
       double b1 = Math.exp(-rt1 - ht1);
 
       double dt = knots.get(j) - knots.get(j - 1);
@@ -625,8 +640,7 @@ public class IsdaCdsProductPricer {
       b0 = b1;
     }
 
-    double yearFractionCurve =
-        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+    double yearFractionCurve = curves.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
     return coupon.getYearFraction() * pv / yearFractionCurve;
   }
 
@@ -6,8 +6,10 @@
 package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -41,6 +43,10 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * The executor used to calculate the derivative of each trade.
+   */
+  private final Executor executor;
 
   /**
    * Creates an instance.
@@ -49,17 +55,20 @@ class CalibrationDerivative
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
    * @param curveOrder  the curve order
+   * @param executor  the executor used to calculate the derivative of each trade
    */
-  public CalibrationDerivative(
+  CalibrationDerivative(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
       RatesProviderGenerator providerGenerator,
-      List<CurveParameterSize> curveOrder) {
+      List<CurveParameterSize> curveOrder,
+      Executor executor) {
 
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.executor = executor;
   }
 
   //-------------------------------------------------------------------------
@@ -69,7 +78,9 @@ class CalibrationDerivative
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    List<DoubleArray> rows = Guavate.evaluateInOrder(
+        executor, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    return DoubleMatrix.ofArrayObjects(size, size, rows::get);
   }
 
 }
@@ -6,8 +6,10 @@
 package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -34,6 +36,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * The executor used to calculate the value of each trade.
+   */
+  private final Executor executor;
 
   /**
    * Creates an instance.
@@ -41,15 +47,18 @@ class CalibrationValue
    * @param trades  the trades
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
+   * @param executor  the executor used to calculate the value of each trade
    */
   CalibrationValue(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
-      RatesProviderGenerator providerGenerator) {
+      RatesProviderGenerator providerGenerator,
+      Executor executor) {
 
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.executor = executor;
   }
 
   //-------------------------------------------------------------------------
@@ -58,7 +67,9 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
-    return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    double[] values = Guavate.evaluateDoublesInOrder(
+        executor, trades.size(), i -> measures.value(trades.get(i), childProvider));
+    return DoubleArray.ofUnsafe(values);
   }
 
 }
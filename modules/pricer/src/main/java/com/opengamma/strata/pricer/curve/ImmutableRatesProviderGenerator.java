@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
@@ -25,7 +26,9 @@ import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.RatesCurveGroupEntry;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -35,6 +38,10 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * <p>
  * This takes a base {@link ImmutableRatesProvider} and list of curve definitions
  * to generate a child provider.
+ * <p>
+ * Curve calibration generates many child providers that differ only in their parameters.
+ * For interpolated nodal curves, the first curve generated for each definition is retained,
+ * with later curves created by replacing its y-values, avoiding the recalculation of the node times.
  */
 public final class ImmutableRatesProviderGenerator
     implements RatesProviderGenerator {
@@ -65,6 +72,12 @@ public final class ImmutableRatesProviderGenerator
    * than the curve definition list. Only the curves in the definitions list are created
    */
   private final ImmutableSetMultimap<CurveName, Index> forwardCurveNames;
+  /**
+   * The first curve generated for each definition, used as a template for later curves.
+   * Only populated for interpolated nodal curves, where the node times are fixed and only
+   * the y-values change between iterations of the root finder.
+   */
+  private final AtomicReferenceArray<NodalCurve> templateCurves;
 
   /**
    * Obtains a generator from an existing provider and definition.
@@ -119,6 +132,7 @@ public final class ImmutableRatesProviderGenerator
     this.curveMetadata = ImmutableList.copyOf(ArgChecker.notNull(curveMetadata, "curveMetadata"));
     this.discountCurveNames = ImmutableSetMultimap.copyOf(ArgChecker.notNull(discountCurveNames, "discountCurveNames"));
     this.forwardCurveNames = ImmutableSetMultimap.copyOf(ArgChecker.notNull(forwardCurveNames, "forwardCurveNames"));
+    this.templateCurves = new AtomicReferenceArray<>(curveDefinitions.size());
   }
 
   //-------------------------------------------------------------------------
@@ -146,7 +160,7 @@ public final class ImmutableRatesProviderGenerator
       startIndex += paramCount;
       // create the child curve
       CurveMetadata childMetadata = childMetadata(metadata, curveDefn, jacobians, sensitivitiesMarketQuote);
-      Curve curve = curveDefn.curve(knownProvider.getValuationDate(), childMetadata, curveParams);
+      Curve curve = childCurve(i, curveDefn, metadata, childMetadata, curveParams);
       // put child curve into maps
       Set<Currency> currencies = discountCurveNames.get(name);
       for (Currency currency : currencies) {
@@ -163,6 +177,25 @@ public final class ImmutableRatesProviderGenerator
         .build();
   }
 
+  // create the child curve, reusing the node times of the template curve where possible
+  private Curve childCurve(
+      int index,
+      CurveDefinition curveDefn,
+      CurveMetadata metadata,
+      CurveMetadata childMetadata,
+      DoubleArray curveParams) {
+
+    NodalCurve template = templateCurves.get(index);
+    if (template != null && childMetadata == metadata) {
+      return template.withYValues(curveParams);
+    }
+    Curve curve = curveDefn.curve(knownProvider.getValuationDate(), childMetadata, curveParams);
+    if (template == null && childMetadata == metadata && curveDefn instanceof InterpolatedNodalCurveDefinition) {
+      templateCurves.compareAndSet(index, null, (NodalCurve) curve);
+    }
+    return curve;
+  }
+
   // build the map of additional info
   private CurveMetadata childMetadata(
       CurveMetadata metadata,
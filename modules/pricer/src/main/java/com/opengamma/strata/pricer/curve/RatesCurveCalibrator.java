@@ -9,13 +9,21 @@ import static com.opengamma.strata.collect.Guavate.filtering;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.ArgChecker;
@@ -24,7 +32,10 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -52,6 +63,13 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * The trades of a group can be priced in parallel during each step of the root finding,
+ * see {@link #withExecutor(Executor)}.
+ * <p>
+ * When calibrating repeatedly, such as for scenarios or when quotes tick, the trades resolved
+ * from the nodes can be cached, see {@link #withResolvedTradeCache()}.
+ * The calibrators obtained from the static methods hold no cache.
  */
 public final class RatesCurveCalibrator {
 
@@ -64,6 +82,10 @@ public final class RatesCurveCalibrator {
    * The matrix algebra used for matrix inversion.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  /**
+   * The maximum number of resolved trades held by a calibrator that caches them.
+   */
+  private static final int MAX_RESOLVED_TRADES = 10_000;
 
   /**
    * The root finder used for curve calibration.
@@ -79,6 +101,14 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * The executor used to price the trades.
+   */
+  private final Executor executor;
+  /**
+   * The cache of the trades resolved from the curve nodes, null if the trades are not cached.
+   */
+  private final Cache<NodeTradeKey, ResolvedTrade> resolvedTrades;
 
   //-------------------------------------------------------------------------
   /**
@@ -181,9 +211,59 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
+    this(rootFinder, measures, pvMeasures, MoreExecutors.directExecutor(), null);
+  }
+
+  private RatesCurveCalibrator(
+      NewtonVectorRootFinder rootFinder,
+      CalibrationMeasures measures,
+      CalibrationMeasures pvMeasures,
+      Executor executor,
+      Cache<NodeTradeKey, ResolvedTrade> resolvedTrades) {
+
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.executor = ArgChecker.notNull(executor, "executor");
+    this.resolvedTrades = resolvedTrades;
+  }
+
+  /**
+   * Returns a copy of this calibrator that uses the specified executor.
+   * <p>
+   * In each step of the root finding, the value and the derivative of each trade of the group are
+   * submitted to the executor and calculated in parallel. The results are combined in trade order,
+   * so the calibrated curves are identical to those obtained when calculating sequentially.
+   * By default, the trades are priced sequentially in the calling thread.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to price the trades
+   * @return the calibrator
+   */
+  public RatesCurveCalibrator withExecutor(Executor executor) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, executor, resolvedTrades);
+  }
+
+  /**
+   * Returns a copy of this calibrator that caches the trades resolved from the curve nodes.
+   * <p>
+   * The trade of each node is cached, keyed by the node, the valuation date, the reference data
+   * and the market data the node requires. The reference data is compared by identity.
+   * When calibrating repeatedly with the returned calibrator, only the nodes whose market data
+   * has changed are resolved again. The least recently used trades are evicted once
+   * the cache holds 10,000 trades.
+   * <p>
+   * The cache is held by the returned calibrator, and by the copies made from it using
+   * {@link #withExecutor(Executor)}, thus its life-cycle is managed by the caller.
+   * Each call to this method creates a new, empty, cache.
+   *
+   * @return the calibrator
+   */
+  public RatesCurveCalibrator withResolvedTradeCache() {
+    Cache<NodeTradeKey, ResolvedTrade> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_RESOLVED_TRADES)
+        .build();
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, executor, cache);
   }
 
   //-------------------------------------------------------------------------
@@ -216,16 +296,38 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
-    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
-        .flatMap(filtering(IndexQuoteId.class))
-        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
-        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
-        .timeSeries(timeSeries)
-        .build();
+    ImmutableRatesProvider knownData = knownData(marketData);
     return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
+  /**
+   * Calibrates a single curve group, containing one or more curves, starting from a previous calibration.
+   * <p>
+   * This is identical to {@link #calibrate(RatesCurveGroupDefinition, MarketData, ReferenceData)}
+   * except that the parameters of the curves in the specified provider are used as the initial guess.
+   * This is intended for use when calibrating the same curve group many times with slightly different
+   * market data, such as when calibrating one curve group per scenario, where the result of
+   * a nearby calibration is typically much closer to the solution than the initial guess of the definition.
+   * The initial guess of the definition is used for any curve that is not in the provider
+   * or that has a different number of parameters.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param startingPoint  the rates provider containing the curves used as the initial guess
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider startingPoint) {
+
+    ArgChecker.notNull(startingPoint, "startingPoint");
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, startingPoint.getCurves());
+  }
+
   /**
    * Calibrates a list of curve groups, each containing one or more curves.
    * <p>
@@ -245,6 +347,17 @@ public final class RatesCurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupDefns, knownData, marketData, refData, ImmutableMap.of());
+  }
+
+  // calibrates the groups, using the parameters of the starting curves as the initial guess where possible
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, Curve> startingCurves) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -263,8 +376,10 @@ public final class RatesCurveCalibrator {
       RatesCurveGroupDefinition groupDefnBound =
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
+      ImmutableList<ResolvedTrade> trades = resolvedTrades != null ?
+          resolvedTrades(groupDefnBound, marketData, refData) :
+          groupDefnBound.resolvedTrades(marketData, refData);
+      ImmutableList<Double> initialGuesses = initialGuesses(groupDefnBound, marketData, startingCurves);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
@@ -296,11 +411,72 @@ public final class RatesCurveCalibrator {
   }
 
   //-------------------------------------------------------------------------
+  // creates the known data from the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
+        .flatMap(filtering(IndexQuoteId.class))
+        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  // the initial guesses, taken from the starting curves if the number of parameters matches
+  private static ImmutableList<Double> initialGuesses(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData marketData,
+      Map<CurveName, Curve> startingCurves) {
+
+    if (startingCurves.isEmpty()) {
+      return groupDefn.initialGuesses(marketData);
+    }
+    ImmutableList.Builder<Double> result = ImmutableList.builder();
+    for (CurveDefinition defn : groupDefn.getCurveDefinitions()) {
+      Curve curve = startingCurves.get(defn.getName());
+      if (curve != null && curve.getParameterCount() == defn.getParameterCount()) {
+        for (int i = 0; i < curve.getParameterCount(); i++) {
+          result.add(curve.getParameter(i));
+        }
+      } else {
+        result.addAll(defn.initialGuess(marketData));
+      }
+    }
+    return result.build();
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(RatesCurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
   }
 
+  //-------------------------------------------------------------------------
+  // resolves the trade of each node, in the same order as RatesCurveGroupDefinition.resolvedTrades()
+  // a cached trade is used if the node was resolved before with the same date, reference data and market data
+  private ImmutableList<ResolvedTrade> resolvedTrades(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableList.Builder<ResolvedTrade> result = ImmutableList.builder();
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      for (CurveNode node : curveDefn.getNodes()) {
+        Map<MarketDataId<?>, Optional<?>> values = new HashMap<>();
+        for (MarketDataId<?> id : node.requirements()) {
+          values.put(id, marketData.findValue(id));
+        }
+        NodeTradeKey key = new NodeTradeKey(node, marketData.getValuationDate(), refData, values);
+        ResolvedTrade trade = resolvedTrades.getIfPresent(key);
+        if (trade == null) {
+          trade = node.resolvedTrade(1d, marketData, refData);
+          resolvedTrades.put(key, trade);
+        }
+        result.add(trade);
+      }
+    }
+    return result.build();
+  }
+
   //-------------------------------------------------------------------------
   // calibrates a single group
   private DoubleArray calibrateGroup(
@@ -310,9 +486,10 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, executor);
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, executor);
 
     // calibrate
     DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
@@ -473,4 +650,50 @@ public final class RatesCurveCalibrator {
     return Messages.format("CurveCalibrator[{}]", measures);
   }
 
+  //-------------------------------------------------------------------------
+  // the key of a resolved trade
+  // the reference data is compared by identity, as its hash code and equality are expensive
+  private static final class NodeTradeKey {
+
+    private final CurveNode node;
+    private final LocalDate valuationDate;
+    private final ReferenceData refData;
+    private final Map<MarketDataId<?>, Optional<?>> values;
+    private final int hashCode;
+
+    private NodeTradeKey(
+        CurveNode node,
+        LocalDate valuationDate,
+        ReferenceData refData,
+        Map<MarketDataId<?>, Optional<?>> values) {
+
+      this.node = node;
+      this.valuationDate = valuationDate;
+      this.refData = refData;
+      this.values = values;
+      this.hashCode = Objects.hash(node, valuationDate, System.identityHashCode(refData), values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof NodeTradeKey)) {
+        return false;
+      }
+      NodeTradeKey other = (NodeTradeKey) obj;
+      return hashCode == other.hashCode &&
+          refData == other.refData &&
+          valuationDate.equals(other.valuationDate) &&
+          values.equals(other.values) &&
+          node.equals(other.node);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
 }
@@ -5,6 +5,12 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
@@ -103,6 +109,95 @@ public class BlackFxVanillaOptionProductPricer {
     return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * price);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each of the foreign exchange vanilla option products.
+   * <p>
+   * This is equivalent to calling {@link #price(ResolvedFxVanillaOption, RatesProvider, BlackFxOptionVolatilities)}
+   * for each option, but the options are priced together using the Black formula over arrays.
+   * This is intended for pricing a book of options against the same market data, such as a scenario.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the prices of the products, in the order of the options
+   */
+  public double[] price(
+      List<ResolvedFxVanillaOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    int nOptions = options.size();
+    double[] prices = new double[nOptions];
+    // options before or at expiry are priced directly, the others are collected for the Black formula
+    int[] indices = new int[nOptions];
+    double[] forwards = new double[nOptions];
+    double[] strikes = new double[nOptions];
+    double[] timesToExpiry = new double[nOptions];
+    double[] vols = new double[nOptions];
+    boolean[] isCall = new boolean[nOptions];
+    int nBlack = 0;
+    for (int i = 0; i < nOptions; ++i) {
+      ResolvedFxVanillaOption option = options.get(i);
+      double timeToExpiry = volatilities.relativeTime(option.getExpiry());
+      if (timeToExpiry <= 0d) {
+        prices[i] = price(option, ratesProvider, volatilities);
+        continue;
+      }
+      ResolvedFxSingle underlying = option.getUnderlying();
+      CurrencyPair strikePair = underlying.getCurrencyPair();
+      double forwardRate = fxPricer.forwardFxRate(underlying, ratesProvider).fxRate(strikePair);
+      indices[nBlack] = i;
+      forwards[nBlack] = forwardRate;
+      strikes[nBlack] = option.getStrike();
+      timesToExpiry[nBlack] = timeToExpiry;
+      vols[nBlack] = volatilities.volatility(strikePair, option.getExpiry(), option.getStrike(), forwardRate);
+      isCall[nBlack] = option.getPutCall().isCall();
+      nBlack++;
+    }
+    double[] forwardPrices = new double[nBlack];
+    BlackFormulaRepository.price(
+        Arrays.copyOf(forwards, nBlack),
+        Arrays.copyOf(strikes, nBlack),
+        Arrays.copyOf(timesToExpiry, nBlack),
+        Arrays.copyOf(vols, nBlack),
+        Arrays.copyOf(isCall, nBlack),
+        forwardPrices);
+    for (int j = 0; j < nBlack; ++j) {
+      ResolvedFxVanillaOption option = options.get(indices[j]);
+      double discountFactor =
+          ratesProvider.discountFactor(option.getCounterCurrency(), option.getUnderlying().getPaymentDate());
+      prices[indices[j]] = discountFactor * forwardPrices[j];
+    }
+    return prices;
+  }
+
+  /**
+   * Calculates the present value of each of the foreign exchange vanilla option products.
+   * <p>
+   * This is equivalent to calling
+   * {@link #presentValue(ResolvedFxVanillaOption, RatesProvider, BlackFxOptionVolatilities)} for each option,
+   * but the options are priced together, see {@link #price(List, RatesProvider, BlackFxOptionVolatilities)}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxVanillaOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double[] prices = price(options, ratesProvider, volatilities);
+    return IntStream.range(0, options.size())
+        .mapToObj(i -> {
+          ResolvedFxVanillaOption option = options.get(i);
+          return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * prices[i]);
+        })
+        .collect(toImmutableList());
+  }
+
   // the price without discounting
   private double undiscountedPrice(
       ResolvedFxVanillaOption option,
@@ -5,7 +5,11 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -78,6 +82,35 @@ public class BlackFxVanillaOptionTradePricer {
     return MultiCurrencyAmount.of(pvProduct).plus(pvPremium);
   }
 
+  /**
+   * Calculates the present value of each of the FX vanilla option trades.
+   * <p>
+   * This is equivalent to calling
+   * {@link #presentValue(ResolvedFxVanillaOptionTrade, RatesProvider, BlackFxOptionVolatilities)} for each trade,
+   * but the options are priced together using the Black formula over arrays.
+   * 
+   * @param trades  the option trades
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the trades, in the order of the trades
+   */
+  public List<MultiCurrencyAmount> presentValue(
+      List<ResolvedFxVanillaOptionTrade> trades,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    List<ResolvedFxVanillaOption> products = trades.stream()
+        .map(ResolvedFxVanillaOptionTrade::getProduct)
+        .collect(toImmutableList());
+    List<CurrencyAmount> pvProducts = productPricer.presentValue(products, ratesProvider, volatilities);
+    return IntStream.range(0, trades.size())
+        .mapToObj(i -> {
+          CurrencyAmount pvPremium = paymentPricer.presentValue(trades.get(i).getPremium(), ratesProvider);
+          return MultiCurrencyAmount.of(pvProducts.get(i)).plus(pvPremium);
+        })
+        .collect(toImmutableList());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX vanilla option trade.
@@ -5,11 +5,20 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -19,11 +28,13 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
 import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -39,6 +50,9 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  * <p>
  * All of the computation is be based on the counter currency of the underlying FX transaction.
  * For example, price, PV and risk measures of the product will be expressed in USD for an option on EUR/USD.
+ * <p>
+ * When pricing several options, the calibrated tree is shared by all the options on the same currency pair
+ * with the same expiry, see {@link #presentValue(List, RatesProvider, BlackFxOptionVolatilities)}.
  */
 public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
 
@@ -196,6 +210,75 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of each of the FX barrier option products.
+   * <p>
+   * The trinomial tree is calibrated once for each combination of currency pair and expiry.
+   * The options sharing the same tree are then priced together in a single sweep of the tree.
+   * The result is the same as calling
+   * {@linkplain #price(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities) price}
+   * for each option.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the prices of the products, in the order of the options
+   */
+  public double[] price(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    // group the options by the tree used to price them
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < options.size(); ++i) {
+      ResolvedFxVanillaOption underlyingOption = options.get(i).getUnderlyingOption();
+      Pair<CurrencyPair, ZonedDateTime> key =
+          Pair.of(underlyingOption.getUnderlying().getCurrencyPair(), underlyingOption.getExpiry());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+    double[] prices = new double[options.size()];
+    for (List<Integer> group : groups.values()) {
+      List<ResolvedFxSingleBarrierOption> groupOptions = group.stream().map(options::get).collect(toImmutableList());
+      RecombiningTrinomialTreeData treeData =
+          calibrator.calibrateTrinomialTree(groupOptions.get(0).getUnderlyingOption(), ratesProvider, volatilities);
+      List<ValueDerivatives> groupPrices = priceDerivatives(groupOptions, ratesProvider, volatilities, treeData);
+      for (int i = 0; i < group.size(); ++i) {
+        prices[group.get(i)] = groupPrices.get(i).getValue();
+      }
+    }
+    return prices;
+  }
+
+  /**
+   * Calculates the present value of each of the FX barrier option products.
+   * <p>
+   * The trinomial tree is calibrated once for each combination of currency pair and expiry.
+   * The options sharing the same tree are then priced together in a single sweep of the tree.
+   * The result is the same as calling
+   * {@linkplain #presentValue(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities) presentValue}
+   * for each option.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double[] prices = price(options, ratesProvider, volatilities);
+    return IntStream.range(0, options.size())
+        .mapToObj(i -> {
+          ResolvedFxVanillaOption underlyingOption = options.get(i).getUnderlyingOption();
+          return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * prices[i]);
+        })
+        .collect(toImmutableList());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX barrier option product.
@@ -328,61 +411,89 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData data) {
 
-    validate(option, ratesProvider, volatilities);
-    validateData(option, ratesProvider, volatilities, data);
-    int nSteps = data.getNumberOfSteps();
-    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
-    double timeToExpiry = data.getTime(nSteps);
-    ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
-    Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    double rebateAtExpiry = 0d; // used to price knock-in option
-    double rebateAtExpiryDerivative = 0d; // used to price knock-in option
-    double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
-    double[] rebateArray = new double[nSteps + 1];
-    SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
-    if (option.getRebate().isPresent()) {
-      CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
-      double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
-      boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
-      double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
-      if (barrier.getKnockType().isKnockIn()) { // use in-out parity
-        double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
-        double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
-        for (int i = 0; i < nSteps + 1; ++i) {
-          rebateArray[i] = isCounter ?
-              rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
-              rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
-        }
-        if (isCounter) {
-          rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
+    return priceDerivatives(ImmutableList.of(option), ratesProvider, volatilities, data).get(0);
+  }
+
+  // prices the options in a single sweep of the tree, knock-in options being priced by the in-out parity
+  private List<ValueDerivatives> priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data) {
+
+    List<OptionFunction> functions = new ArrayList<>();
+    List<Optional<ValueDerivatives>> rebatesAtExpiry = new ArrayList<>();
+    for (ResolvedFxSingleBarrierOption option : options) {
+      validate(option, ratesProvider, volatilities);
+      validateData(option, ratesProvider, volatilities, data);
+      int nSteps = data.getNumberOfSteps();
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      double timeToExpiry = data.getTime(nSteps);
+      ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
+      Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
+      DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+      double rebateAtExpiry = 0d; // used to price knock-in option
+      double rebateAtExpiryDerivative = 0d; // used to price knock-in option
+      double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
+      double[] rebateArray = new double[nSteps + 1];
+      SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
+      if (option.getRebate().isPresent()) {
+        CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
+        double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
+        boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
+        double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
+        if (barrier.getKnockType().isKnockIn()) { // use in-out parity
+          double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
+          double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
+          for (int i = 0; i < nSteps + 1; ++i) {
+            rebateArray[i] = isCounter ?
+                rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
+                rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
+          }
+          if (isCounter) {
+            rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
+          } else {
+            rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
+            rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
+          }
         } else {
-          rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
-          rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
+          Arrays.fill(rebateArray, rebate);
         }
+      }
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          underlyingOption.getStrike(),
+          timeToExpiry,
+          underlyingOption.getPutCall(),
+          nSteps,
+          barrier.getBarrierType(),
+          barrier.getBarrierLevel(),
+          DoubleArray.ofUnsafe(rebateArray)));
+      if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
+        functions.add(EuropeanVanillaOptionFunction.of(
+            underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps));
+        rebatesAtExpiry.add(Optional.of(ValueDerivatives.of(rebateAtExpiry, DoubleArray.of(rebateAtExpiryDerivative))));
       } else {
-        Arrays.fill(rebateArray, rebate);
+        rebatesAtExpiry.add(Optional.empty());
       }
     }
-    ConstantContinuousSingleBarrierKnockoutFunction barrierFunction = ConstantContinuousSingleBarrierKnockoutFunction.of(
-        underlyingOption.getStrike(),
-        timeToExpiry,
-        underlyingOption.getPutCall(),
-        nSteps,
-        barrier.getBarrierType(),
-        barrier.getBarrierLevel(),
-        DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
-    if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
-      EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
-          underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    List<ValueDerivatives> prices = TREE.optionPriceAdjoint(functions, data);
+    List<ValueDerivatives> result = new ArrayList<>(options.size());
+    int index = 0;
+    for (Optional<ValueDerivatives> rebateAtExpiry : rebatesAtExpiry) {
+      ValueDerivatives barrierPrice = prices.get(index++);
+      if (rebateAtExpiry.isPresent()) {
+        ValueDerivatives vanillaPrice = prices.get(index++);
+        ValueDerivatives rebate = rebateAtExpiry.get();
+        double price = vanillaPrice.getValue() + rebate.getValue() - barrierPrice.getValue();
+        double delta = vanillaPrice.getDerivative(0) + rebate.getDerivative(0) - barrierPrice.getDerivative(0);
+        result.add(ValueDerivatives.of(price, DoubleArray.of(delta)));
+      } else {
+        result.add(barrierPrice);
+      }
     }
-    return barrierPrice;
+    return result;
   }
 
   //-------------------------------------------------------------------------
@@ -41,6 +41,7 @@ import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
 import com.opengamma.strata.market.param.ParameterizedDataCombiner;
+import com.opengamma.strata.pricer.impl.DoublesCache;
 
 /**
  * An interpolated term structure of smiles as used in Forex market.
@@ -55,6 +56,9 @@ import com.opengamma.strata.market.param.ParameterizedDataCombiner;
  * <p>
  * The default for the time direction is time squire interpolation with flat extrapolation.
  * The default for the strike direction is linear interpolation with flat extrapolation.
+ * <p>
+ * The smile interpolated for a time, and the strike interpolator bound to the strikes derived from it, are cached.
+ * A perturbed term structure, such as one built for a scenario, is priced against its own cache.
  */
 @BeanDefinition(builderScope = "private")
 public final class InterpolatedStrikeSmileDeltaTermStructure
@@ -111,6 +115,14 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
    * The parameter combiner.
    */
   private final transient ParameterizedDataCombiner paramCombiner;  // not a property
+  /**
+   * The cache of smiles, keyed by time to expiry.
+   */
+  private final transient DoublesCache<SmileDeltaParameters> smileCache;  // cached, not a property
+  /**
+   * The cache of strike interpolators, keyed by time to expiry and forward.
+   */
+  private final transient DoublesCache<BoundCurveInterpolator> strikeCache;  // cached, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -541,6 +553,8 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
     this.strikeExtrapolatorRight = strikeExtrapolatorRight;
     this.expiries = expiries;
     this.paramCombiner = ParameterizedDataCombiner.of(volatilityTerm);
+    this.smileCache = DoublesCache.of((time, unused1, unused2) -> interpolateSmile(time));
+    this.strikeCache = DoublesCache.of((time, forward, unused) -> createStrikeInterpolator(time, forward));
   }
 
   private Object readResolve() {
@@ -609,29 +623,39 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
   @Override
   public double volatility(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
-    return bound.interpolate(strike);
+    return boundStrikeInterpolator(time, forward).interpolate(strike);
   }
 
   @Override
   public VolatilityAndBucketedSensitivities volatilityAndSensitivities(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+    BoundCurveInterpolator bound = boundStrikeInterpolator(time, forward);
     double volatility = bound.interpolate(strike);
     DoubleArray smileVolatilityBar = bound.parameterSensitivity(strike);
     SmileAndBucketedSensitivities smileAndSensitivities = smileAndSensitivitiesForExpiry(time, smileVolatilityBar);
     return VolatilityAndBucketedSensitivities.of(volatility, smileAndSensitivities.getSensitivities());
   }
 
+  // the strike interpolator bound to the smile at the time, with the delta converted to strike using the forward
+  private BoundCurveInterpolator boundStrikeInterpolator(double time, double forward) {
+    return strikeCache.get(time, forward);
+  }
+
+  // creates the strike interpolator bound to the smile at the time
+  private BoundCurveInterpolator createStrikeInterpolator(double time, double forward) {
+    SmileDeltaParameters smile = smileForExpiry(time);
+    DoubleArray strikes = smile.strike(forward);
+    return strikeInterpolator.bind(strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public SmileDeltaParameters smileForExpiry(double expiry) {
+    return smileCache.get(expiry);
+  }
+
+  // interpolates the smile in the time dimension
+  private SmileDeltaParameters interpolateSmile(double expiry) {
     int nbVol = getStrikeCount();
     int nbTime = getSmileCount();
     ArgChecker.isTrue(nbTime > 1, "Need more than one time value to perform interpolation");
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of values keyed by up to three {@code double} values.
+ * <p>
+ * The cache is a fixed size table, with each combination of keys mapping to a single slot.
+ * When two combinations map to the same slot, the value held in the slot is replaced.
+ * As such, the memory used is bounded without discarding all the values when the cache is full.
+ * The table is only allocated when the first value is requested, thus an unused cache is cheap.
+ * <p>
+ * The keys are compared as {@link Double#equals(Object)} does, and no object is created when
+ * the value is found in the cache. Keys that are not used are set to zero.
+ * <p>
+ * This class is thread-safe. The value may be computed more than once if the same keys
+ * are requested concurrently, thus the loader must be a pure function of the keys.
+ *
+ * @param <V>  the type of the values
+ */
+public final class DoublesCache<V> {
+
+  /**
+   * The default number of slots.
+   */
+  private static final int DEFAULT_SIZE = 1024;
+
+  /**
+   * The function used to create a value that is not in the cache.
+   */
+  private final Loader<V> loader;
+  /**
+   * The slots, the length being a power of two, null until first used.
+   */
+  private volatile AtomicReferenceArray<Entry<V>> entries;
+  /**
+   * The mask used to obtain the slot index from the hash.
+   */
+  private final int mask;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the default size.
+   *
+   * @param <V>  the type of the values
+   * @param loader  the function used to create a value that is not in the cache
+   * @return the cache
+   */
+  public static <V> DoublesCache<V> of(Loader<V> loader) {
+    return of(DEFAULT_SIZE, loader);
+  }
+
+  /**
+   * Obtains an instance with the specified size.
+   * <p>
+   * The size is rounded up to a power of two.
+   *
+   * @param <V>  the type of the values
+   * @param size  the maximum number of values held
+   * @param loader  the function used to create a value that is not in the cache
+   * @return the cache
+   */
+  public static <V> DoublesCache<V> of(int size, Loader<V> loader) {
+    ArgChecker.isTrue(size > 0 && size <= (1 << 30), "Size must be between 1 and 2^30");
+    int length = Integer.highestOneBit(size);
+    return new DoublesCache<>(length < size ? length << 1 : length, loader);
+  }
+
+  // creates an instance
+  private DoublesCache(int length, Loader<V> loader) {
+    this.loader = ArgChecker.notNull(loader, "loader");
+    this.mask = length - 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the value for a single key, creating it if necessary.
+   *
+   * @param key  the key
+   * @return the value
+   */
+  public V get(double key) {
+    return get(key, 0d, 0d);
+  }
+
+  /**
+   * Gets the value for two keys, creating it if necessary.
+   *
+   * @param key1  the first key
+   * @param key2  the second key
+   * @return the value
+   */
+  public V get(double key1, double key2) {
+    return get(key1, key2, 0d);
+  }
+
+  /**
+   * Gets the value for three keys, creating it if necessary.
+   *
+   * @param key1  the first key
+   * @param key2  the second key
+   * @param key3  the third key
+   * @return the value
+   */
+  public V get(double key1, double key2, double key3) {
+    long bits1 = Double.doubleToLongBits(key1);
+    long bits2 = Double.doubleToLongBits(key2);
+    long bits3 = Double.doubleToLongBits(key3);
+    int index = index(bits1, bits2, bits3);
+    AtomicReferenceArray<Entry<V>> table = entries();
+    Entry<V> entry = table.get(index);
+    if (entry != null && entry.bits1 == bits1 && entry.bits2 == bits2 && entry.bits3 == bits3) {
+      return entry.value;
+    }
+    V value = ArgChecker.notNull(loader.load(key1, key2, key3), "value");
+    table.set(index, new Entry<>(bits1, bits2, bits3, value));
+    return value;
+  }
+
+  // the slots, allocated on first use
+  // if two threads allocate concurrently, the values stored in the losing table are simply not cached
+  private AtomicReferenceArray<Entry<V>> entries() {
+    AtomicReferenceArray<Entry<V>> result = entries;
+    if (result == null) {
+      result = new AtomicReferenceArray<>(mask + 1);
+      entries = result;
+    }
+    return result;
+  }
+
+  // the slot of the keys, mixing the bits so that close keys are spread
+  private int index(long bits1, long bits2, long bits3) {
+    long hash = (bits1 * 0x9E3779B97F4A7C15L + bits2) * 0x9E3779B97F4A7C15L + bits3;
+    hash *= 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32) ^ (hash >>> 48)) & mask;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The function used to create a value that is not in the cache.
+   *
+   * @param <V>  the type of the values
+   */
+  @FunctionalInterface
+  public interface Loader<V> {
+
+    /**
+     * Creates the value for the keys.
+     * <p>
+     * Keys that are not used are zero.
+     *
+     * @param key1  the first key
+     * @param key2  the second key
+     * @param key3  the third key
+     * @return the value, not null
+     */
+    public abstract V load(double key1, double key2, double key3);
+  }
+
+  // an immutable entry, safely published through the final fields
+  private static final class Entry<V> {
+    private final long bits1;
+    private final long bits2;
+    private final long bits3;
+    private final V value;
+
+    private Entry(long bits1, long bits2, long bits3, V value) {
+      this.bits1 = bits1;
+      this.bits2 = bits2;
+      this.bits3 = bits3;
+      this.value = value;
+    }
+  }
+
+}
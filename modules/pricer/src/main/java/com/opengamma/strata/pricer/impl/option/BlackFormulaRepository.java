@@ -62,16 +62,45 @@ public final class BlackFormulaRepository {
       double lognormalVol,
       boolean isCall) {
 
-    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
-    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
-    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
-    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+    checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    return priceForSigmaRootT(forward, strike, sigmaRootT(lognormalVol * Math.sqrt(timeToExpiry)), isCall);
+  }
 
-    double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
-    if (Double.isNaN(sigmaRootT)) {
-      log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
-      sigmaRootT = 1d;
+  /**
+   * Computes the forward price of a batch of options.
+   * <p>
+   * The price of the option at index {@code i} is the result of
+   * {@link #price(double, double, double, double, boolean)} for the inputs at index {@code i}.
+   * The prices are written to the specified array, which is not otherwise allocated.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param prices  the array that the forward prices are written to
+   */
+  public static void price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall,
+      double[] prices) {
+
+    int size = checkInputs(forwards, strikes, timesToExpiry, lognormalVols, isCall);
+    ArgChecker.isTrue(prices.length == size, "prices wrong length");
+    // the prices are used to hold sigma * sqrt(t), this loop is simple enough to be vectorized
+    for (int i = 0; i < size; i++) {
+      prices[i] = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      prices[i] = priceForSigmaRootT(forwards[i], strikes[i], sigmaRootT(prices[i]), isCall[i]);
     }
+  }
+
+  // computes the forward price from the volatility multiplied by the square root of time to expiry
+  private static double priceForSigmaRootT(double forward, double strike, double sigmaRootT, boolean isCall) {
     int sign = isCall ? 1 : -1;
     boolean bFwd = (forward > LARGE);
     boolean bStr = (strike > LARGE);
@@ -103,6 +132,42 @@ public final class BlackFormulaRepository {
     return Math.max(0., res);
   }
 
+  // replaces an ambiguous volatility multiplied by the square root of time to expiry
+  private static double sigmaRootT(double sigmaRootT) {
+    if (Double.isNaN(sigmaRootT)) {
+      log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
+      return 1d;
+    }
+    return sigmaRootT;
+  }
+
+  // checks the inputs of the price formulas
+  private static void checkInputs(double forward, double strike, double timeToExpiry, double lognormalVol) {
+    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+  }
+
+  // checks the inputs of the batch price formulas, returning the batch size
+  private static int checkInputs(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall) {
+
+    int size = forwards.length;
+    ArgChecker.isTrue(strikes.length == size, "strikes wrong length");
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry wrong length");
+    ArgChecker.isTrue(lognormalVols.length == size, "lognormalVols wrong length");
+    ArgChecker.isTrue(isCall.length == size, "isCall wrong length");
+    for (int i = 0; i < size; i++) {
+      checkInputs(forwards[i], strikes[i], timesToExpiry[i], lognormalVols[i]);
+    }
+    return size;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price without numeraire and its derivatives.
@@ -129,16 +194,72 @@ public final class BlackFormulaRepository {
       double lognormalVol,
       boolean isCall) {
 
-    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
-    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
-    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
-    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+    checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    double sigmaRootT = sigmaRootT(lognormalVol * Math.sqrt(timeToExpiry));
+    double[] derivatives = new double[4];
+    double price = priceAdjoint(forward, strike, timeToExpiry, lognormalVol, sigmaRootT, isCall, derivatives, 0, 1);
+    return ValueDerivatives.of(price, DoubleArray.ofUnsafe(derivatives));
+  }
 
-    double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
-    if (Double.isNaN(sigmaRootT)) {
-      log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
-      sigmaRootT = 1d;
+  /**
+   * Computes the price without numeraire and its derivatives for a batch of options.
+   * <p>
+   * The price and derivatives of the option at index {@code i} are the result of
+   * {@link #priceAdjoint(double, double, double, double, boolean)} for the inputs at index {@code i}.
+   * The derivatives are written to a single array of four times the batch size, one block per derivative,
+   * such that the derivative {@code j} of the option {@code i} is at index {@code j * size + i}.
+   * The blocks are in the following order:
+   * <ul>
+   * <li>[0] derivatives with respect to the forward
+   * <li>[1] derivatives with respect to the strike
+   * <li>[2] derivatives with respect to the time to expiry
+   * <li>[3] derivatives with respect to the volatility
+   * </ul>
+   * The results are written to the specified arrays, which are not otherwise allocated.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param prices  the array that the forward prices are written to
+   * @param derivatives  the array that the derivatives are written to
+   */
+  public static void priceAdjoint(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall,
+      double[] prices,
+      double[] derivatives) {
+
+    int size = checkInputs(forwards, strikes, timesToExpiry, lognormalVols, isCall);
+    ArgChecker.isTrue(prices.length == size, "prices wrong length");
+    ArgChecker.isTrue(derivatives.length == 4 * size, "derivatives wrong length");
+    // the prices are used to hold sigma * sqrt(t), this loop is simple enough to be vectorized
+    for (int i = 0; i < size; i++) {
+      prices[i] = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = sigmaRootT(prices[i]);
+      prices[i] = priceAdjoint(
+          forwards[i], strikes[i], timesToExpiry[i], lognormalVols[i], sigmaRootT, isCall[i], derivatives, i, size);
     }
+  }
+
+  // computes the price and writes the four derivatives to the array, starting at offset and separated by stride
+  private static double priceAdjoint(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      double sigmaRootT,
+      boolean isCall,
+      double[] derivatives,
+      int offset,
+      int stride) {
+
     int sign = isCall ? 1 : -1;
     boolean bFwd = (forward > LARGE);
     boolean bStr = (strike > LARGE);
@@ -149,12 +270,14 @@ public final class BlackFormulaRepository {
     if (bFwd && bStr) {
       log.info("(large value)/(large value) ambiguous");
       double price = isCall ? (forward >= strike ? forward : 0d) : (strike >= forward ? strike : 0d); // ???
-      return ValueDerivatives.of(price, DoubleArray.filled(4)); // ??
+      setDerivatives(derivatives, offset, stride, 0d, 0d, 0d, 0d); // ??
+      return price;
     }
     if (sigmaRootT < SMALL) {
       boolean isItm = (sign * (forward - strike)) > 0;
       double price = isItm ? sign * (forward - strike) : 0d;
-      return ValueDerivatives.of(price, DoubleArray.of(isItm ? sign : 0d, isItm ? -sign : 0d, 0d, 0d));
+      setDerivatives(derivatives, offset, stride, isItm ? sign : 0d, isItm ? -sign : 0d, 0d, 0d);
+      return price;
     }
     if (Math.abs(forward - strike) < SMALL || bSigRt) {
       d1 = 0.5 * sigmaRootT;
@@ -184,7 +307,24 @@ public final class BlackFormulaRepository {
     double sigmaRootTBar = d1Bar;
     double lognormalVolBar = Math.sqrt(timeToExpiry) * sigmaRootTBar;
     double timeToExpiryBar = 0.5 / Math.sqrt(timeToExpiry) * lognormalVol * sigmaRootTBar;
-    return ValueDerivatives.of(price, DoubleArray.of(forwardBar, strikeBar, timeToExpiryBar, lognormalVolBar));
+    setDerivatives(derivatives, offset, stride, forwardBar, strikeBar, timeToExpiryBar, lognormalVolBar);
+    return price;
+  }
+
+  // writes the four derivatives to the array
+  private static void setDerivatives(
+      double[] derivatives,
+      int offset,
+      int stride,
+      double forwardBar,
+      double strikeBar,
+      double timeToExpiryBar,
+      double lognormalVolBar) {
+
+    derivatives[offset] = forwardBar;
+    derivatives[offset + stride] = strikeBar;
+    derivatives[offset + 2 * stride] = timeToExpiryBar;
+    derivatives[offset + 3 * stride] = lognormalVolBar;
   }
 
   /**
@@ -1154,6 +1294,39 @@ public final class BlackFormulaRepository {
     return impliedVolatility(targetPrice, forward, strike, timeToExpiry, sigmaGuess);
   }
 
+  /**
+   * Computes the log-normal implied volatility of a batch of options.
+   * <p>
+   * The implied volatility of the option at index {@code i} is the result of
+   * {@link #impliedVolatility(double, double, double, double, boolean)} for the inputs at index {@code i}.
+   * The implied volatilities are written to the specified array.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param impliedVols  the array that the log-normal (Black) implied volatilities are written to
+   */
+  public static void impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall,
+      double[] impliedVols) {
+
+    int size = prices.length;
+    ArgChecker.isTrue(forwards.length == size, "forwards wrong length");
+    ArgChecker.isTrue(strikes.length == size, "strikes wrong length");
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry wrong length");
+    ArgChecker.isTrue(isCall.length == size, "isCall wrong length");
+    ArgChecker.isTrue(impliedVols.length == size, "impliedVols wrong length");
+    for (int i = 0; i < size; i++) {
+      impliedVols[i] = impliedVolatility(prices[i], forwards[i], strikes[i], timesToExpiry[i], isCall[i]);
+    }
+  }
+
   /**
    * Computes the log-normal implied volatility and its derivative with respect to price.
    * 
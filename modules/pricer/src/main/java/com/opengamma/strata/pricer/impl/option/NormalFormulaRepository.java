@@ -99,6 +99,21 @@ public final class NormalFormulaRepository {
       double numeraire,
       PutCall putCall) {
 
+    double[] derivatives = new double[3];
+    double price = priceAdjoint(forward, strike, timeToExpiry, normalVol, numeraire, putCall, derivatives);
+    return ValueDerivatives.of(price, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  // computes the price and writes the three derivatives to the array
+  private static double priceAdjoint(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double normalVol,
+      double numeraire,
+      PutCall putCall,
+      double[] derivatives) {
+
     int sign = putCall.isCall() ? 1 : -1;
     double price;
     double cdf = 0d;
@@ -135,7 +150,10 @@ public final class NormalFormulaRepository {
       double sigmaRootTBar = -arg / sigmaRootT * argBar + numeraire * pdf * priceBar;
       volatilityDerivative = Math.sqrt(timeToExpiry) * sigmaRootTBar;
     }
-    return ValueDerivatives.of(price, DoubleArray.of(forwardDerivative, volatilityDerivative, strikeDerivative));
+    derivatives[0] = forwardDerivative;
+    derivatives[1] = volatilityDerivative;
+    derivatives[2] = strikeDerivative;
+    return price;
   }
 
   //-------------------------------------------------------------------------
@@ -273,6 +291,71 @@ public final class NormalFormulaRepository {
       double numeraire,
       PutCall putCall) {
 
+    return impliedVolatility(
+        optionPrice, forward, strike, timeToExpiry, initialNormalVol, numeraire, putCall, new double[3]);
+  }
+
+  /**
+   * Computes the implied volatility of a batch of options.
+   * <p>
+   * The implied volatility of the option at index {@code i} is the result of
+   * {@link #impliedVolatility(double, double, double, double, double, double, PutCall)}
+   * for the inputs at index {@code i}.
+   * The implied volatilities are written to the specified array.
+   * The root finding does not allocate unless it falls back to bisection.
+   * 
+   * @param optionPrices  the prices of the options
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param initialNormalVols  the normal volatilities used to start the search
+   * @param numeraires  the numeraires
+   * @param putCalls  whether each option is put or call
+   * @param impliedVols  the array that the implied volatilities are written to
+   */
+  public static void impliedVolatility(
+      double[] optionPrices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] initialNormalVols,
+      double[] numeraires,
+      PutCall[] putCalls,
+      double[] impliedVols) {
+
+    int size = optionPrices.length;
+    ArgChecker.isTrue(forwards.length == size, "forwards wrong length");
+    ArgChecker.isTrue(strikes.length == size, "strikes wrong length");
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry wrong length");
+    ArgChecker.isTrue(initialNormalVols.length == size, "initialNormalVols wrong length");
+    ArgChecker.isTrue(numeraires.length == size, "numeraires wrong length");
+    ArgChecker.isTrue(putCalls.length == size, "putCalls wrong length");
+    ArgChecker.isTrue(impliedVols.length == size, "impliedVols wrong length");
+    double[] derivatives = new double[3];
+    for (int i = 0; i < size; i++) {
+      impliedVols[i] = impliedVolatility(
+          optionPrices[i],
+          forwards[i],
+          strikes[i],
+          timesToExpiry[i],
+          initialNormalVols[i],
+          numeraires[i],
+          putCalls[i],
+          derivatives);
+    }
+  }
+
+  // computes the implied volatility, using the array to hold the derivatives of each trial price
+  private static double impliedVolatility(
+      double optionPrice,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double initialNormalVol,
+      double numeraire,
+      PutCall putCall,
+      double[] derivatives) {
+
     double intrinsicPrice = numeraire * Math.max(0, (putCall.isCall() ? 1 : -1) * (forward - strike));
     ArgChecker.isTrue(optionPrice > intrinsicPrice || DoubleMath.fuzzyEquals(optionPrice, intrinsicPrice, 1e-6),
         "Option price (" + optionPrice + ") less than intrinsic value (" + intrinsicPrice + ")");
@@ -281,9 +364,9 @@ public final class NormalFormulaRepository {
     }
     double sigma = (Math.abs(initialNormalVol) < 1e-10 ? 0.3 * forward : initialNormalVol);
     double maxChange = 0.5 * forward;
-    ValueDerivatives price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall);
-    double vega = price.getDerivative(1);
-    double change = (price.getValue() - optionPrice) / vega;
+    double price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall, derivatives);
+    double vega = derivatives[1];
+    double change = (price - optionPrice) / vega;
     double sign = Math.signum(change);
     change = sign * Math.min(maxChange, Math.abs(change));
     if (change > 0 && change > sigma) {
@@ -292,9 +375,9 @@ public final class NormalFormulaRepository {
     int count = 0;
     while (Math.abs(change) > EPS) {
       sigma -= change;
-      price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall);
-      vega = price.getDerivative(1);
-      change = (price.getValue() - optionPrice) / vega;
+      price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall, derivatives);
+      vega = derivatives[1];
+      change = (price - optionPrice) / vega;
       sign = Math.signum(change);
       change = sign * Math.min(maxChange, Math.abs(change));
       if (change > 0 && change > sigma) {
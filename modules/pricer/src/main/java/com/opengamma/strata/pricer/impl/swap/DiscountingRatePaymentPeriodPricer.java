@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.impl.swap;
 import static java.time.temporal.ChronoUnit.DAYS;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
@@ -15,6 +16,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -23,6 +25,7 @@ import com.opengamma.strata.pricer.fx.FxIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.SwapPaymentPeriodPricer;
+import com.opengamma.strata.product.rate.FixedRateComputation;
 import com.opengamma.strata.product.rate.RateComputation;
 import com.opengamma.strata.product.swap.CompoundingMethod;
 import com.opengamma.strata.product.swap.FxReset;
@@ -67,6 +70,39 @@ public class DiscountingRatePaymentPeriodPricer
     return forecastValue(period, provider) * df;
   }
 
+  @Override
+  public DoubleArray presentValue(RatePaymentPeriod period, List<? extends RatesProvider> providers) {
+    // only the simple case of a single accrual period without FX reset is handled directly
+    if (period.getAccrualPeriods().size() != 1 || period.getFxReset().isPresent()) {
+      return SwapPaymentPeriodPricer.super.presentValue(period, providers);
+    }
+    int size = providers.size();
+    double[] result = new double[size];
+    if (size == 0) {
+      return DoubleArray.ofUnsafe(result);
+    }
+    // the same calculation as the single provider case, looping over the providers within the period
+    // the period data is extracted once, the rate and discount factor are still obtained from each provider
+    RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+    Currency currency = period.getCurrency();
+    LocalDate paymentDate = period.getPaymentDate();
+    double notional = period.getNotional();
+    if (accrualPeriod.getRateComputation() instanceof FixedRateComputation) {
+      // the accrual of a fixed rate does not depend on the provider
+      double forecastValue = unitNotionalAccrual(accrualPeriod, accrualPeriod.getSpread(), providers.get(0)) * notional;
+      for (int i = 0; i < size; i++) {
+        result[i] = forecastValue * providers.get(i).discountFactor(currency, paymentDate);
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        RatesProvider provider = providers.get(i);
+        double df = provider.discountFactor(currency, paymentDate);
+        result[i] = unitNotionalAccrual(accrualPeriod, accrualPeriod.getSpread(), provider) * notional * df;
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public double forecastValue(RatePaymentPeriod period, RatesProvider provider) {
     // notional * fxRate
@@ -5,8 +5,11 @@
  */
 package com.opengamma.strata.pricer.impl.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -65,6 +68,18 @@ public class DispatchingSwapPaymentPeriodPricer
     }
   }
 
+  @Override
+  public DoubleArray presentValue(SwapPaymentPeriod paymentPeriod, List<? extends RatesProvider> providers) {
+    // dispatch by runtime type
+    if (paymentPeriod instanceof RatePaymentPeriod) {
+      return ratePaymentPeriodPricer.presentValue((RatePaymentPeriod) paymentPeriod, providers);
+    } else if (paymentPeriod instanceof KnownAmountSwapPaymentPeriod) {
+      return knownAmountPaymentPeriodPricer.presentValue((KnownAmountSwapPaymentPeriod) paymentPeriod, providers);
+    } else {
+      throw new IllegalArgumentException("Unknown PaymentPeriod type: " + paymentPeriod.getClass().getSimpleName());
+    }
+  }
+
   @Override
   public PointSensitivityBuilder presentValueSensitivity(SwapPaymentPeriod paymentPeriod,
       RatesProvider provider) {
@@ -131,4 +131,35 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing them to the specified array.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)},
+   * but operates on primitive arrays so that the tree can be rolled back over preallocated buffers.
+   * The option values in the (i+1)-th layer are the first (2*i+3) elements of {@code value},
+   * and the option values in the i-th layer are written to the first (2*i+1) elements of {@code result}.
+   * The two arrays must be different.
+   * <p>
+   * The default implementation delegates to the method above, thus implementations overriding
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)} should also override this method.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the option value in the (i+1)-th layer
+   * @param result  the array that the option values in the i-th layer are written to
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    DoubleArray values = DoubleArray.copyOf(value, 0, 2 * i + 3);
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, values, i).copyInto(result, 0);
+  }
+
 }
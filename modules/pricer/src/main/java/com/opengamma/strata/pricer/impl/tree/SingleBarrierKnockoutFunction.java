@@ -97,8 +97,21 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       DoubleArray values,
       int i) {
 
+    double[] res = new double[2 * i + 1];
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, values.toArrayUnsafe(), res, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      double[] res,
+      int i) {
+
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
@@ -111,7 +124,7 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         double middleProb = transitionProbability.get(j, 1);
         double downProb = transitionProbability.get(j, 0);
         res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+            (upProb * values[j + 2] + middleProb * values[j + 1] + downProb * values[j]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
@@ -126,7 +139,6 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
@@ -5,9 +5,16 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,6 +24,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * In this case, the option values are rolled back over two preallocated arrays, 
+ * and several options can be priced in a single sweep of the tree.
  */
 public class TrinomialTree {
 
@@ -76,14 +85,26 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    return rollBack(ImmutableList.of(function), data, false)[0][0];
+  }
+
+  /**
+   * Price several options under the specified trinomial tree gird.
+   * <p>
+   * The options are priced in a single backward sweep of the tree, the option values of each option
+   * being rolled back over two preallocated buffers.
+   * The result is the same as pricing the options one by one using
+   * {@link #optionPrice(OptionFunction, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public double[] optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    return rollBack(functions, data, false)[0];
   }
 
   /**
@@ -100,21 +121,71 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    double[][] result = rollBack(ImmutableList.of(function), data, true);
+    return ValueDerivatives.of(result[0][0], DoubleArray.of(result[1][0]));
+  }
+
+  /**
+   * Compute the price and delta of several options under the specified trinomial tree gird.
+   * <p>
+   * The options are priced in a single backward sweep of the tree, the option values of each option
+   * being rolled back over two preallocated buffers.
+   * The result is the same as pricing the options one by one using
+   * {@link #optionPriceAdjoint(OptionFunction, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[][] result = rollBack(functions, data, true);
+    return IntStream.range(0, functions.size())
+        .mapToObj(k -> ValueDerivatives.of(result[0][k], DoubleArray.of(result[1][k])))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls back the options to the first layer, returning the prices and, if requested, the deltas
+  private double[][] rollBack(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      boolean computeDelta) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    double[][] values = new double[nFunctions][];
+    double[][] buffers = new double[nFunctions][2 * nSteps + 1];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      ArgChecker.isTrue(nSteps == functions.get(k).getNumberOfSteps(), "mismatch in number of steps");
+      values[k] = functions.get(k).getPayoffAtExpiryTrinomial(stateValueAtExpiry).toArray();
+    }
+    double[] deltas = new double[nFunctions];
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(discountFactor, probability, stateValue, values[k], buffers[k], i);
+        // swap the buffers, the values of the i-th layer being used to compute the next layer
+        double[] next = buffers[k];
+        buffers[k] = values[k];
+        values[k] = next;
+        if (computeDelta && i == 1) {
+          double d1 = (values[k][2] - values[k][1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[k][1] - values[k][0]) / (stateValue.get(1) - stateValue.get(0));
+          deltas[k] = 0.5 * (d1 + d2);
+        }
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    double[] prices = new double[nFunctions];
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k][0];
+    }
+    return new double[][] {prices, deltas};
   }
 
 }
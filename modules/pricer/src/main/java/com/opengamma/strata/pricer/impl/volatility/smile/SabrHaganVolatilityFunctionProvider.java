@@ -22,6 +22,7 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
+import com.opengamma.strata.pricer.model.SabrVolatilitySmile;
 
 /**
  * The Hagan SABR volatility function provider.
@@ -80,56 +81,7 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
-
-    if (alpha == 0.0) {
-      return 0.0;
-    }
-    double cutoff = forward * CUTOFF_MONEYNESS;
-    double k;
-    if (strike < cutoff) {
-      log.info("Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}", new Object[] {
-          strike, cutoff, cutoff});
-      k = cutoff;
-    } else {
-      k = strike;
-    }
-    double vol, z, zOverChi;
-    double beta1 = 1 - beta;
-    if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) {
-      double f1 = Math.pow(forward, beta1);
-      vol = alpha *
-          (1 + timeToExpiry *
-              (beta1 * beta1 * alpha * alpha / 24 / f1 / f1 + rho * alpha * beta * nu / 4 / f1 + nu * nu *
-                  (2 - 3 * rho * rho) / 24)) /
-          f1;
-    } else {
-      if (DoubleMath.fuzzyEquals(beta, 0, BETA_EPS)) {
-        double ln = Math.log(forward / k);
-        z = nu * Math.sqrt(forward * k) * ln / alpha;
-        zOverChi = getZOverChi(rho, z);
-        vol = alpha * ln * zOverChi *
-            (1 + timeToExpiry * (alpha * alpha / forward / k + nu * nu * (2 - 3 * rho * rho)) / 24) / (forward - k);
-      } else if (DoubleMath.fuzzyEquals(beta, 1, BETA_EPS)) {
-        double ln = Math.log(forward / k);
-        z = nu * ln / alpha;
-        zOverChi = getZOverChi(rho, z);
-        vol = alpha * zOverChi * (1 + timeToExpiry * (rho * alpha * nu / 4 + nu * nu * (2 - 3 * rho * rho) / 24));
-      } else {
-        double ln = Math.log(forward / k);
-        double f1 = Math.pow(forward * k, beta1);
-        double f1Sqrt = Math.sqrt(f1);
-        double lnBetaSq = Math.pow(beta1 * ln, 2);
-        z = nu * f1Sqrt * ln / alpha;
-        zOverChi = getZOverChi(rho, z);
-        double first = alpha / (f1Sqrt * (1 + lnBetaSq / 24 + lnBetaSq * lnBetaSq / 1920));
-        double second = zOverChi;
-        double third = 1 + timeToExpiry * (beta1 * beta1 * alpha * alpha / 24 / f1 +
-            rho * nu * beta * alpha / 4 / f1Sqrt + nu * nu * (2 - 3 * rho * rho) / 24);
-        vol = first * second * third;
-      }
-    }
-    //There is nothing to prevent the nu * nu * (2 - 3 * rho * rho) / 24 to be large negative, and hence the volatility negative
-    return Math.max(MIN_VOL, vol);
+    return new HaganSmile(forward, timeToExpiry, alpha, beta, rho, nu).volatility(strike);
   }
 
   /**
@@ -196,137 +148,41 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
-    double cutoff = forward * CUTOFF_MONEYNESS;
-    double k = strike;
-    if (k < cutoff) {
-      log.info(
-          "Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}",
-          new Object[] {k, cutoff, cutoff});
-      k = cutoff;
-    }
-    double betaStar = 1 - beta;
-    double rhoStar = 1.0 - rho;
-
-    if (alpha == 0.0) {
-      double alphaBar;
-      if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) { //TODO should this is relative
-        alphaBar = (1 + (2 - 3 * rho * rho) * nu * nu / 24 * timeToExpiry) / Math.pow(forward, betaStar);
-      } else {
-        //for non-atm options the alpha sensitivity at alpha = 0 is infinite. Returning this will most likely break calibrations,
-        // so we return an arbitrary large number
-        alphaBar = 1e7;
-      }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
-    }
-
-    // Implementation note: Forward sweep.
-    double sfK = Math.pow(forward * k, betaStar / 2);
-    double lnrfK = Math.log(forward / k);
-    double z = nu / alpha * sfK * lnrfK;
-    double rzxz;
-    double xz = 0;
-    if (DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z)) {
-      rzxz = 1.0 - 0.5 * z * rho; //small z expansion to z^2 terms
-    } else {
-      if (DoubleMath.fuzzyEquals(rhoStar, 0.0, RHO_EPS)) {
-        if (z < 1.0) {
-          xz = -Math.log(1.0d - z);
-          rzxz = z / xz;
-        } else {
-          throw new IllegalArgumentException("can't handle z>=1, rho=1");
-        }
-      } else {
-        double arg;
-        if (z < LARGE_NEG_Z) {
-          arg = (rho * rho - 1) / 2 / z; //get rounding errors due to fine balanced cancellation for very large negative z
-        } else if (z > LARGE_POS_Z) {
-          arg = 2 * (z - rho);
-        } else {
-          arg = (Math.sqrt(1 - 2 * rho * z + z * z) + z - rho);
-        }
-        if (arg <= 0.0) { //Mathematically this cannot be less than zero, but you know what computers are like.
-          rzxz = 0.0;
-        } else {
-          xz = Math.log(arg / (1 - rho));
-          rzxz = z / xz;
-        }
-      }
-    }
-    double sf1 = sfK * (1 + betaStar * betaStar / 24 * (lnrfK * lnrfK) + Math.pow(betaStar, 4) / 1920 * Math.pow(lnrfK, 4));
-    double sf2 = (1 + (Math.pow(betaStar * alpha / sfK, 2) / 24 + (rho * beta * nu * alpha) /
-        (4 * sfK) + (2 - 3 * rho * rho) * nu * nu / 24) * timeToExpiry);
-    double volatility = Math.max(MIN_VOL, alpha / sf1 * rzxz * sf2);
-
-    // Implementation note: Backward sweep.
-    double vBar = 1;
-    double sf2Bar = alpha / sf1 * rzxz * vBar;
-    double sf1Bar = -alpha / (sf1 * sf1) * rzxz * sf2 * vBar;
-    double rzxzBar = alpha / sf1 * sf2 * vBar;
-    double zBar;
-    double xzBar = 0.0;
-    if (DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z)) {
-      zBar = -rho / 2 * rzxzBar;
-    } else {
-      if (DoubleMath.fuzzyEquals(rhoStar, 0.0, RHO_EPS)) {
-        if (z < 1.0) {
-          xzBar = -z / (xz * xz) * rzxzBar;
-          zBar = 1.0d / xz * rzxzBar + 1.0d / (1.0d - z) * xzBar;
-        } else {
-          throw new IllegalArgumentException("can't handle z>=1, rho=1");
-        }
-      } else {
-        if (z < LARGE_NEG_Z) {
-          zBar = 1 / xz * rzxzBar + xzBar / (xz * xz) * rzxzBar;
-        } else if (z > LARGE_POS_Z) {
-          zBar = 1 / xz * rzxzBar - xzBar / (xz * xz) * rzxzBar;
-        } else {
-          xzBar = -z / (xz * xz) * rzxzBar;
-          zBar = 1 / xz * rzxzBar + 1 / ((Math.sqrt(1 - 2 * rho * z + z * z) + z - rho)) *
-              (0.5 * Math.pow(1 - 2 * rho * z + z * z, -0.5) * (-2 * rho + 2 * z) + 1) * xzBar;
-        }
-      }
-    }
-
-    double lnrfKBar = sfK * (betaStar * betaStar / 12 * lnrfK + Math.pow(betaStar, 4) / 1920 * 4 * Math.pow(lnrfK, 3)) * sf1Bar +
-        nu / alpha * sfK * zBar;
-    double sfKBar = nu / alpha * lnrfK * zBar + sf1 / sfK * sf1Bar -
-        (Math.pow(betaStar * alpha, 2) / Math.pow(sfK, 3) / 12 + (rho * beta * nu * alpha) / 4 / (sfK * sfK)) * timeToExpiry *
-            sf2Bar;
-    double strikeBar = -1 / k * lnrfKBar + betaStar * sfK / (2 * k) * sfKBar;
-    double forwardBar = 1 / forward * lnrfKBar + betaStar * sfK / (2 * forward) * sfKBar;
-    double nuBar = 1 / alpha * sfK * lnrfK * zBar +
-        ((rho * beta * alpha) / (4 * sfK) + (2 - 3 * rho * rho) * nu / 12) * timeToExpiry * sf2Bar;
-
-    double rhoBar;
-    if (Math.abs(forward - k) < ATM_EPS) {
-      rhoBar = -z / 2 * rzxzBar;
-    } else {
-      if (DoubleMath.fuzzyEquals(rhoStar, 0.0, RHO_EPS)) {
-        if (z >= 1) {
-          if (rhoStar == 0.0) {
-            rhoBar = Double.NEGATIVE_INFINITY; //the derivative at rho = 1 is infinite  - this sets it to some arbitrary large number
-          } else {
-            rhoBar = xzBar * (1.0 / rhoStar + (0.5 - z) / (z - 1.0) / (z - 1.0));
-          }
-        } else {
-          rhoBar = (0.5 * Math.pow(z / (1 - z), 2) + 0.25 * (z - 4.0) * Math.pow(z / (1.0 - z), 3) / (1.0 - z) *
-              rhoStar) * xzBar;
-        }
-      } else {
-        rhoBar = (1 / (Math.sqrt(1 - 2 * rho * z + z * z) + z - rho) *
-            (-Math.pow(1 - 2 * rho * z + z * z, -0.5) * z - 1) + 1 / rhoStar) * xzBar;
-      }
-    }
-    rhoBar += ((beta * nu * alpha) / (4 * sfK) - rho * nu * nu / 4) * timeToExpiry * sf2Bar;
+    double[] derivatives = new double[6];
+    HaganSmile smile = new HaganSmile(forward, timeToExpiry, alpha, beta, rho, nu);
+    double volatility = smile.volatilityAdjoint(strike, derivatives);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
 
-    double alphaBar = -nu / (alpha * alpha) * sfK * lnrfK * zBar +
-        ((betaStar * alpha / sfK) * (betaStar / sfK) / 12 + (rho * beta * nu) / (4 * sfK)) * timeToExpiry * sf2Bar +
-        1 / sf1 * rzxz * sf2 * vBar;
-    double betaBar = -0.5 * Math.log(forward * k) * sfK * sfKBar - sfK *
-        (betaStar / 12 * (lnrfK * lnrfK) + Math.pow(betaStar, 3) / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
-        (-betaStar * alpha * alpha / sfK / sfK / 12 + rho * nu * alpha / 4 / sfK) * timeToExpiry * sf2Bar;
+  /**
+   * Prepares the volatility smile for a forward, time to expiry and set of model parameters.
+   * <p>
+   * The smile computes the terms that do not depend on the strike once.
+   * The volatility and adjoint at each strike are those of
+   * {@link #volatility(double, double, double, double, double, double, double)} and
+   * {@link #volatilityAdjoint(double, double, double, double, double, double, double)},
+   * which are computed using a smile for a single strike.
+   * The adjoint can be obtained without allocation using
+   * {@link SabrVolatilitySmile#volatilityAdjoint(double, double[])}.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param timeToExpiry  the time to expiry of the option
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @return the volatility smile
+   */
+  @Override
+  public SabrVolatilitySmile smile(
+      double forward,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    return new HaganSmile(forward, timeToExpiry, alpha, beta, rho, nu);
   }
 
   /**
@@ -535,7 +391,7 @@ public final class SabrHaganVolatilityFunctionProvider
     return sigma;
   }
 
-  private double getZOverChi(double rho, double z) {
+  private static double getZOverChi(double rho, double z) {
 
     // Implementation comment: To avoid numerical instability (0/0) around ATM the first order approximation is used.
     if (DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z)) {
@@ -607,6 +463,299 @@ public final class SabrHaganVolatilityFunctionProvider
     return "SABR (Hagan)";
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The Hagan volatility smile.
+   * <p>
+   * This implements the volatility and adjoint formulas of the provider, with the terms that
+   * do not depend on the strike computed in the constructor.
+   */
+  private static final class HaganSmile implements SabrVolatilitySmile {
+
+    private final double forward;
+    private final double timeToExpiry;
+    private final double alpha;
+    private final double rho;
+    private final double nu;
+    private final double cutoff;
+    private final double betaStar;
+    private final double rhoStar;
+    private final boolean betaZero;
+    private final boolean betaOne;
+    private final boolean rhoStarZero;
+    // volatility terms
+    private final double atmVolatility;
+    private final double alphaSqOverForward;
+    private final double nuSqRhoTerm;
+    private final double betaOneFactor;
+    private final double betaAlphaTerm;
+    private final double rhoNuBetaAlphaTerm;
+    private final double nuTerm;
+    // adjoint terms
+    private final double nuOverAlpha;
+    private final double betaStarSqOver24;
+    private final double betaStarPow4Over1920;
+    private final double betaStarAlphaSq;
+    private final double rhoBetaNuAlpha;
+    private final double nuTermAdjoint;
+    private final double betaStarSqOver12;
+    private final double betaStarPow4Over1920Times4;
+    private final double oneOverForward;
+    private final double twoForward;
+    private final double oneOverAlpha;
+    private final double rhoBetaAlpha;
+    private final double nuRhoTerm;
+    private final double betaNuAlpha;
+    private final double rhoNuSqOver4;
+    private final double minusNuOverAlphaSq;
+    private final double rhoBetaNu;
+    private final double betaStarOver12;
+    private final double betaStarPow3Over480;
+    private final double minusBetaStarAlphaSq;
+    private final double rhoNuAlphaOver4;
+
+    private HaganSmile(double forward, double timeToExpiry, double alpha, double beta, double rho, double nu) {
+      ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+      ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+      this.forward = forward;
+      this.timeToExpiry = timeToExpiry;
+      this.alpha = alpha;
+      this.rho = rho;
+      this.nu = nu;
+      this.cutoff = forward * CUTOFF_MONEYNESS;
+      this.betaStar = 1 - beta;
+      this.rhoStar = 1.0 - rho;
+      this.betaZero = DoubleMath.fuzzyEquals(beta, 0, BETA_EPS);
+      this.betaOne = DoubleMath.fuzzyEquals(beta, 1, BETA_EPS);
+      this.rhoStarZero = DoubleMath.fuzzyEquals(rhoStar, 0.0, RHO_EPS);
+      double beta1 = betaStar;
+      double f1 = Math.pow(forward, beta1);
+      this.atmVolatility = alpha *
+          (1 + timeToExpiry *
+              (beta1 * beta1 * alpha * alpha / 24 / f1 / f1 + rho * alpha * beta * nu / 4 / f1 + nu * nu *
+                  (2 - 3 * rho * rho) / 24)) /
+          f1;
+      this.alphaSqOverForward = alpha * alpha / forward;
+      this.nuSqRhoTerm = nu * nu * (2 - 3 * rho * rho);
+      this.betaOneFactor = 1 + timeToExpiry * (rho * alpha * nu / 4 + nu * nu * (2 - 3 * rho * rho) / 24);
+      this.betaAlphaTerm = beta1 * beta1 * alpha * alpha / 24;
+      this.rhoNuBetaAlphaTerm = rho * nu * beta * alpha / 4;
+      this.nuTerm = nu * nu * (2 - 3 * rho * rho) / 24;
+      this.nuOverAlpha = nu / alpha;
+      this.betaStarSqOver24 = betaStar * betaStar / 24;
+      double betaStarPow4 = Math.pow(betaStar, 4);
+      this.betaStarPow4Over1920 = betaStarPow4 / 1920;
+      this.betaStarAlphaSq = Math.pow(betaStar * alpha, 2);
+      this.rhoBetaNuAlpha = rho * beta * nu * alpha;
+      this.nuTermAdjoint = (2 - 3 * rho * rho) * nu * nu / 24;
+      this.betaStarSqOver12 = betaStar * betaStar / 12;
+      this.betaStarPow4Over1920Times4 = betaStarPow4 / 1920 * 4;
+      this.oneOverForward = 1 / forward;
+      this.twoForward = 2 * forward;
+      this.oneOverAlpha = 1 / alpha;
+      this.rhoBetaAlpha = rho * beta * alpha;
+      this.nuRhoTerm = (2 - 3 * rho * rho) * nu / 12;
+      this.betaNuAlpha = beta * nu * alpha;
+      this.rhoNuSqOver4 = rho * nu * nu / 4;
+      this.minusNuOverAlphaSq = -nu / (alpha * alpha);
+      this.rhoBetaNu = rho * beta * nu;
+      this.betaStarOver12 = betaStar / 12;
+      this.betaStarPow3Over480 = Math.pow(betaStar, 3) / 480;
+      this.minusBetaStarAlphaSq = -betaStar * alpha * alpha;
+      this.rhoNuAlphaOver4 = rho * nu * alpha / 4;
+    }
+
+    // applies the strike cutoff
+    private double cutoffStrike(double strike) {
+      if (strike < cutoff) {
+        log.info("Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}", new Object[] {
+            strike, cutoff, cutoff});
+        return cutoff;
+      }
+      return strike;
+    }
+
+    @Override
+    public double volatility(double strike) {
+      ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
+      if (alpha == 0.0) {
+        return 0.0;
+      }
+      double k = cutoffStrike(strike);
+      double vol, z, zOverChi;
+      double beta1 = betaStar;
+      if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) {
+        vol = atmVolatility;
+      } else {
+        if (betaZero) {
+          double ln = Math.log(forward / k);
+          z = nu * Math.sqrt(forward * k) * ln / alpha;
+          zOverChi = getZOverChi(rho, z);
+          vol = alpha * ln * zOverChi *
+              (1 + timeToExpiry * (alphaSqOverForward / k + nuSqRhoTerm) / 24) / (forward - k);
+        } else if (betaOne) {
+          double ln = Math.log(forward / k);
+          z = nu * ln / alpha;
+          zOverChi = getZOverChi(rho, z);
+          vol = alpha * zOverChi * betaOneFactor;
+        } else {
+          double ln = Math.log(forward / k);
+          double f1 = Math.pow(forward * k, beta1);
+          double f1Sqrt = Math.sqrt(f1);
+          double lnBetaSq = Math.pow(beta1 * ln, 2);
+          z = nu * f1Sqrt * ln / alpha;
+          zOverChi = getZOverChi(rho, z);
+          double first = alpha / (f1Sqrt * (1 + lnBetaSq / 24 + lnBetaSq * lnBetaSq / 1920));
+          double second = zOverChi;
+          double third = 1 + timeToExpiry * (betaAlphaTerm / f1 + rhoNuBetaAlphaTerm / f1Sqrt + nuTerm);
+          vol = first * second * third;
+        }
+      }
+      return Math.max(MIN_VOL, vol);
+    }
+
+    @Override
+    public double volatilityAdjoint(double strike, double[] derivatives) {
+      ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
+      double k = cutoffStrike(strike);
+      if (alpha == 0.0) {
+        double alphaBar;
+        if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) {
+          alphaBar = (1 + (2 - 3 * rho * rho) * nu * nu / 24 * timeToExpiry) / Math.pow(forward, betaStar);
+        } else {
+          // for non-atm options the alpha sensitivity at alpha = 0 is infinite, an arbitrary large number is returned
+          alphaBar = 1e7;
+        }
+        setDerivatives(derivatives, 0, 0, alphaBar, 0, 0, 0);
+        return 0d;
+      }
+
+      // Implementation note: Forward sweep.
+      double sfK = Math.pow(forward * k, betaStar / 2);
+      double lnrfK = Math.log(forward / k);
+      double z = nuOverAlpha * sfK * lnrfK;
+      double rzxz;
+      double xz = 0;
+      boolean smallZ = DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z);
+      if (smallZ) {
+        rzxz = 1.0 - 0.5 * z * rho;
+      } else {
+        if (rhoStarZero) {
+          if (z < 1.0) {
+            xz = -Math.log(1.0d - z);
+            rzxz = z / xz;
+          } else {
+            throw new IllegalArgumentException("can't handle z>=1, rho=1");
+          }
+        } else {
+          double arg;
+          if (z < LARGE_NEG_Z) {
+            arg = (rho * rho - 1) / 2 / z;
+          } else if (z > LARGE_POS_Z) {
+            arg = 2 * (z - rho);
+          } else {
+            arg = (Math.sqrt(1 - 2 * rho * z + z * z) + z - rho);
+          }
+          if (arg <= 0.0) {
+            rzxz = 0.0;
+          } else {
+            xz = Math.log(arg / (1 - rho));
+            rzxz = z / xz;
+          }
+        }
+      }
+      double sf1 = sfK * (1 + betaStarSqOver24 * (lnrfK * lnrfK) + betaStarPow4Over1920 * Math.pow(lnrfK, 4));
+      double sf2 = (1 + (Math.pow(betaStar * alpha / sfK, 2) / 24 + rhoBetaNuAlpha /
+          (4 * sfK) + nuTermAdjoint) * timeToExpiry);
+      double volatility = Math.max(MIN_VOL, alpha / sf1 * rzxz * sf2);
+
+      // Implementation note: Backward sweep.
+      double vBar = 1;
+      double sf2Bar = alpha / sf1 * rzxz * vBar;
+      double sf1Bar = -alpha / (sf1 * sf1) * rzxz * sf2 * vBar;
+      double rzxzBar = alpha / sf1 * sf2 * vBar;
+      double zBar;
+      double xzBar = 0.0;
+      if (smallZ) {
+        zBar = -rho / 2 * rzxzBar;
+      } else {
+        if (rhoStarZero) {
+          xzBar = -z / (xz * xz) * rzxzBar;
+          zBar = 1.0d / xz * rzxzBar + 1.0d / (1.0d - z) * xzBar;
+        } else {
+          if (z < LARGE_NEG_Z) {
+            zBar = 1 / xz * rzxzBar + xzBar / (xz * xz) * rzxzBar;
+          } else if (z > LARGE_POS_Z) {
+            zBar = 1 / xz * rzxzBar - xzBar / (xz * xz) * rzxzBar;
+          } else {
+            xzBar = -z / (xz * xz) * rzxzBar;
+            zBar = 1 / xz * rzxzBar + 1 / ((Math.sqrt(1 - 2 * rho * z + z * z) + z - rho)) *
+                (0.5 * Math.pow(1 - 2 * rho * z + z * z, -0.5) * (-2 * rho + 2 * z) + 1) * xzBar;
+          }
+        }
+      }
+
+      double lnrfKBar = sfK * (betaStarSqOver12 * lnrfK + betaStarPow4Over1920Times4 * Math.pow(lnrfK, 3)) * sf1Bar +
+          nuOverAlpha * sfK * zBar;
+      double sfKBar = nuOverAlpha * lnrfK * zBar + sf1 / sfK * sf1Bar -
+          (betaStarAlphaSq / Math.pow(sfK, 3) / 12 + rhoBetaNuAlpha / 4 / (sfK * sfK)) * timeToExpiry * sf2Bar;
+      double strikeBar = -1 / k * lnrfKBar + betaStar * sfK / (2 * k) * sfKBar;
+      double forwardBar = oneOverForward * lnrfKBar + betaStar * sfK / twoForward * sfKBar;
+      double nuBar = oneOverAlpha * sfK * lnrfK * zBar +
+          (rhoBetaAlpha / (4 * sfK) + nuRhoTerm) * timeToExpiry * sf2Bar;
+
+      double rhoBar;
+      if (Math.abs(forward - k) < ATM_EPS) {
+        rhoBar = -z / 2 * rzxzBar;
+      } else {
+        if (rhoStarZero) {
+          if (z >= 1) {
+            if (rhoStar == 0.0) {
+              rhoBar = Double.NEGATIVE_INFINITY;
+            } else {
+              rhoBar = xzBar * (1.0 / rhoStar + (0.5 - z) / (z - 1.0) / (z - 1.0));
+            }
+          } else {
+            rhoBar = (0.5 * Math.pow(z / (1 - z), 2) + 0.25 * (z - 4.0) * Math.pow(z / (1.0 - z), 3) / (1.0 - z) *
+                rhoStar) * xzBar;
+          }
+        } else {
+          rhoBar = (1 / (Math.sqrt(1 - 2 * rho * z + z * z) + z - rho) *
+              (-Math.pow(1 - 2 * rho * z + z * z, -0.5) * z - 1) + 1 / rhoStar) * xzBar;
+        }
+      }
+      rhoBar += (betaNuAlpha / (4 * sfK) - rhoNuSqOver4) * timeToExpiry * sf2Bar;
+
+      double alphaBar = minusNuOverAlphaSq * sfK * lnrfK * zBar +
+          ((betaStar * alpha / sfK) * (betaStar / sfK) / 12 + rhoBetaNu / (4 * sfK)) * timeToExpiry * sf2Bar +
+          1 / sf1 * rzxz * sf2 * vBar;
+      double betaBar = -0.5 * Math.log(forward * k) * sfK * sfKBar - sfK *
+          (betaStarOver12 * (lnrfK * lnrfK) + betaStarPow3Over480 * Math.pow(lnrfK, 4)) * sf1Bar +
+          (minusBetaStarAlphaSq / sfK / sfK / 12 + rhoNuAlphaOver4 / sfK) * timeToExpiry * sf2Bar;
+
+      setDerivatives(derivatives, forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar);
+      return volatility;
+    }
+
+    // writes the derivatives to the array
+    private static void setDerivatives(
+        double[] derivatives,
+        double forwardBar,
+        double strikeBar,
+        double alphaBar,
+        double betaBar,
+        double rhoBar,
+        double nuBar) {
+
+      derivatives[0] = forwardBar;
+      derivatives[1] = strikeBar;
+      derivatives[2] = alphaBar;
+      derivatives[3] = betaBar;
+      derivatives[4] = rhoBar;
+      derivatives[5] = nuBar;
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code SabrHaganVolatilityFunctionProvider}.
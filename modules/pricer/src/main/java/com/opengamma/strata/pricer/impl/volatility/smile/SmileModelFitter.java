@@ -15,7 +15,6 @@ import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.math.impl.minimization.NonLinearParameterTransforms;
-import com.opengamma.strata.math.impl.minimization.NonLinearTransformFunction;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResults;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 import com.opengamma.strata.math.impl.statistics.leastsquare.NonLinearLeastSquare;
@@ -41,6 +40,9 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
   };
 
   private final VolatilityFunctionProvider<T> model;
+  private final double forward;
+  private final DoubleArray strikes;
+  private final double timeToExpiry;
   private final Function<DoubleArray, DoubleArray> volFunc;
   private final Function<DoubleArray, DoubleMatrix> volAdjointFunc;
   private final DoubleArray marketValues;
@@ -76,6 +78,9 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
     this.marketValues = impliedVols;
     this.errors = error;
     this.model = model;
+    this.forward = forward;
+    this.strikes = strikes;
+    this.timeToExpiry = timeToExpiry;
     this.volFunc = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray x) {
@@ -84,7 +89,7 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
         for (int i = 0; i < n; ++i) {
           res[i] = model.volatility(forward, strikes.get(i), timeToExpiry, data);
         }
-        return DoubleArray.copyOf(res);
+        return DoubleArray.ofUnsafe(res);
       }
     };
     this.volAdjointFunc = new Function<DoubleArray, DoubleMatrix>() {
@@ -96,7 +101,7 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
           DoubleArray deriv = model.volatilityAdjoint(forward, strikes.get(i), timeToExpiry, data).getDerivatives();
           resAdj[i] = deriv.subArray(2).toArrayUnsafe();
         }
-        return DoubleMatrix.copyOf(resAdj);
+        return DoubleMatrix.ofUnsafe(resAdj);
       }
     };
   }
@@ -138,9 +143,10 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
    * @return the calibration results
    */
   public LeastSquareResultsWithTransform solve(DoubleArray start, NonLinearParameterTransforms transform) {
-    NonLinearTransformFunction transFunc = new NonLinearTransformFunction(volFunc, volAdjointFunc, transform);
-    LeastSquareResults solRes = SOLVER.solve(marketValues, errors, transFunc.getFittingFunction(),
-        transFunc.getFittingJacobian(), transform.transform(start), getConstraintFunction(transform), getMaximumStep());
+    Function<DoubleArray, DoubleArray> fittingFunction = x -> volFunc.apply(transform.inverseTransform(x));
+    LeastSquareResults solRes = SOLVER.solve(marketValues, errors, fittingFunction,
+        getFittingJacobianFunction(transform), transform.transform(start), getConstraintFunction(transform),
+        getMaximumStep());
     return new LeastSquareResultsWithTransform(solRes, transform);
   }
 
@@ -166,6 +172,44 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
     return volAdjointFunc;
   }
 
+  /**
+   * Obtains Jacobian function of the smile model with respect to the fitting parameters.
+   * <p>
+   * The fitting parameters are the model parameters transformed by {@code transform}.
+   * The Jacobian is the product of the model Jacobian, obtained analytically from
+   * {@link VolatilityFunctionProvider#volatilityAdjoint}, and the Jacobian of the inverse transform.
+   * The product is formed row by row as each adjoint is calculated, rather than building the model Jacobian first.
+   * 
+   * @param transform  transform from model parameters to fitting parameters, and vice versa
+   * @return the function
+   */
+  protected Function<DoubleArray, DoubleMatrix> getFittingJacobianFunction(NonLinearParameterTransforms transform) {
+    return new Function<DoubleArray, DoubleMatrix>() {
+      @Override
+      public DoubleMatrix apply(DoubleArray x) {
+        T data = toSmileModelData(transform.inverseTransform(x));
+        DoubleMatrix invJac = transform.inverseJacobian(x);
+        int nModel = invJac.rowCount();
+        int nFit = invJac.columnCount();
+        int n = strikes.size();
+        double[][] res = new double[n][nFit];
+        for (int i = 0; i < n; ++i) {
+          DoubleArray deriv = model.volatilityAdjoint(forward, strikes.get(i), timeToExpiry, data).getDerivatives();
+          ArgChecker.isTrue(deriv.size() == nModel + 2, "Jacobian is wrong size");
+          // summed in the same order as the matrix product of the model Jacobian and the inverse transform Jacobian
+          for (int j = 0; j < nFit; ++j) {
+            double sum = 0d;
+            for (int k = 0; k < nModel; ++k) {
+              sum += deriv.get(k + 2) * invJac.get(k, j);
+            }
+            res[i][j] = sum;
+          }
+        }
+        return DoubleMatrix.ofUnsafe(res);
+      }
+    };
+  }
+
   /**
    * Obtains the maximum number of iterations.
    * 
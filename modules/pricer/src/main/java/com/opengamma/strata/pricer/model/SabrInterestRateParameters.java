@@ -30,6 +30,7 @@ import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceInfoType;
 import com.opengamma.strata.market.surface.Surfaces;
+import com.opengamma.strata.pricer.impl.DoublesCache;
 
 /**
  * The volatility surface description under SABR model.
@@ -98,6 +99,10 @@ public final class SabrInterestRateParameters
    * The parameter combiner.
    */
   private final transient ParameterizedDataCombiner paramCombiner;  // cached, not a property
+  /**
+   * The smiles, keyed by expiry, tenor and forward.
+   */
+  private final transient DoublesCache<ShiftedSabrSmile> smileCache;  // cached, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -204,6 +209,7 @@ public final class SabrInterestRateParameters
     this.sabrVolatilityFormula = sabrFormula;
     this.dayCount = dayCount;
     this.paramCombiner = ParameterizedDataCombiner.of(alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface);
+    this.smileCache = DoublesCache.of(this::createSmile);
   }
 
   // basic value tpe checks
@@ -345,12 +351,7 @@ public final class SabrInterestRateParameters
    * @return the volatility
    */
   public double volatility(double expiry, double tenor, double strike, double forward) {
-    double alpha = alpha(expiry, tenor);
-    double beta = beta(expiry, tenor);
-    double rho = rho(expiry, tenor);
-    double nu = nu(expiry, tenor);
-    double shift = shift(expiry, tenor);
-    return sabrVolatilityFormula.volatility(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
+    return smile(expiry, tenor, forward).volatility(strike);
   }
 
   /**
@@ -373,12 +374,20 @@ public final class SabrInterestRateParameters
    * @return the volatility and associated derivatives
    */
   public ValueDerivatives volatilityAdjoint(double expiry, double tenor, double strike, double forward) {
-    double alpha = alpha(expiry, tenor);
-    double beta = beta(expiry, tenor);
-    double rho = rho(expiry, tenor);
-    double nu = nu(expiry, tenor);
+    return smile(expiry, tenor, forward).volatilityAdjoint(strike);
+  }
+
+  // obtains the smile, with the shift applied to the forward
+  private ShiftedSabrSmile smile(double expiry, double tenor, double forward) {
+    return smileCache.get(expiry, tenor, forward);
+  }
+
+  // creates the smile, the forward being shifted
+  private ShiftedSabrSmile createSmile(double expiry, double tenor, double forward) {
     double shift = shift(expiry, tenor);
-    return sabrVolatilityFormula.volatilityAdjoint(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
+    SabrVolatilitySmile smile = sabrVolatilityFormula.smile(
+        forward + shift, expiry, alpha(expiry, tenor), beta(expiry, tenor), rho(expiry, tenor), nu(expiry, tenor));
+    return new ShiftedSabrSmile(smile, shift);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
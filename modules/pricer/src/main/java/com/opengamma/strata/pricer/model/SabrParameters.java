@@ -30,6 +30,7 @@ import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
 import com.opengamma.strata.market.param.ParameterizedDataCombiner;
+import com.opengamma.strata.pricer.impl.DoublesCache;
 
 /**
  * The volatility surface description under SABR model.
@@ -98,6 +99,10 @@ public final class SabrParameters
    * The parameter combiner.
    */
   private final transient ParameterizedDataCombiner paramCombiner;  // cached, not a property
+  /**
+   * The smiles, keyed by expiry and forward.
+   */
+  private final transient DoublesCache<ShiftedSabrSmile> smileCache;  // cached, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -200,6 +205,7 @@ public final class SabrParameters
     this.sabrVolatilityFormula = sabrFormula;
     this.dayCount = dayCount;
     this.paramCombiner = ParameterizedDataCombiner.of(alphaCurve, betaCurve, rhoCurve, nuCurve, shiftCurve);
+    this.smileCache = DoublesCache.of((expiry, forward, unused) -> createSmile(expiry, forward));
   }
 
   // basic value tpe checks
@@ -332,12 +338,7 @@ public final class SabrParameters
    * @return the volatility
    */
   public double volatility(double expiry, double strike, double forward) {
-    double alpha = alpha(expiry);
-    double beta = beta(expiry);
-    double rho = rho(expiry);
-    double nu = nu(expiry);
-    double shift = shift(expiry);
-    return sabrVolatilityFormula.volatility(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
+    return smile(expiry, forward).volatility(strike);
   }
 
   /**
@@ -359,12 +360,20 @@ public final class SabrParameters
    * @return the volatility and associated derivatives
    */
   public ValueDerivatives volatilityAdjoint(double expiry, double strike, double forward) {
-    double alpha = alpha(expiry);
-    double beta = beta(expiry);
-    double rho = rho(expiry);
-    double nu = nu(expiry);
+    return smile(expiry, forward).volatilityAdjoint(strike);
+  }
+
+  // obtains the smile, with the shift applied to the forward
+  private ShiftedSabrSmile smile(double expiry, double forward) {
+    return smileCache.get(expiry, forward);
+  }
+
+  // creates the smile, the forward being shifted
+  private ShiftedSabrSmile createSmile(double expiry, double forward) {
     double shift = shift(expiry);
-    return sabrVolatilityFormula.volatilityAdjoint(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
+    SabrVolatilitySmile smile = sabrVolatilityFormula.smile(
+        forward + shift, expiry, alpha(expiry), beta(expiry), rho(expiry), nu(expiry));
+    return new ShiftedSabrSmile(smile, shift);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
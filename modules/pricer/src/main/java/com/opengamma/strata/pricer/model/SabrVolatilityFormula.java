@@ -75,4 +75,48 @@ public interface SabrVolatilityFormula {
       double rho,
       double nu);
 
+  /**
+   * Prepares the volatility smile for a forward, time to expiry and set of model parameters.
+   * <p>
+   * The smile provides the volatility and adjoint at any strike, with the other inputs fixed.
+   * By default, the smile calls this formula for each strike.
+   * Implementations should override this to compute the terms that do not depend on the strike only once.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param timeToExpiry  the time to expiry of the option
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @return the volatility smile
+   */
+  public default SabrVolatilitySmile smile(
+      double forward,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
+
+    SabrVolatilityFormula formula = this;
+    return new SabrVolatilitySmile() {
+      @Override
+      public double volatility(double strike) {
+        return formula.volatility(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+      }
+
+      @Override
+      public double volatilityAdjoint(double strike, double[] derivatives) {
+        ValueDerivatives adjoint = formula.volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+        adjoint.getDerivatives().copyInto(derivatives, 0);
+        return adjoint.getValue();
+      }
+
+      @Override
+      public ValueDerivatives volatilityAdjoint(double strike) {
+        return formula.volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+      }
+    };
+  }
+
 }
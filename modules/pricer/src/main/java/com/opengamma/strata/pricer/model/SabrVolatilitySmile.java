@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.model;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A SABR volatility smile, for a fixed forward, time to expiry and set of model parameters.
+ * <p>
+ * Instances are obtained from {@link SabrVolatilityFormula#smile(double, double, double, double, double, double)}.
+ * The terms that do not depend on the strike are computed once, when the smile is created,
+ * allowing the volatility to be evaluated efficiently for many strikes.
+ * <p>
+ * The results match those of the formula that created the smile.
+ */
+public interface SabrVolatilitySmile {
+
+  /**
+   * Calculates the volatility.
+   *
+   * @param strike  the strike value of the option
+   * @return the volatility
+   */
+  public abstract double volatility(double strike);
+
+  /**
+   * Calculates the volatility and the adjoint, writing the derivatives to the specified array.
+   * <p>
+   * The derivatives are written to the first six elements of the array:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the strike
+   * <li>[2] derivative with respect to the alpha
+   * <li>[3] derivative with respect to the beta
+   * <li>[4] derivative with respect to the rho
+   * <li>[5] derivative with respect to the nu
+   * </ul>
+   *
+   * @param strike  the strike value of the option
+   * @param derivatives  the array that the derivatives are written to, at least of size six
+   * @return the volatility
+   */
+  public abstract double volatilityAdjoint(double strike, double[] derivatives);
+
+  /**
+   * Calculates the volatility and the adjoint.
+   * <p>
+   * The derivatives are in the same order as {@link #volatilityAdjoint(double, double[])}.
+   *
+   * @param strike  the strike value of the option
+   * @return the volatility and associated derivatives
+   */
+  public default ValueDerivatives volatilityAdjoint(double strike) {
+    double[] derivatives = new double[6];
+    double volatility = volatilityAdjoint(strike, derivatives);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+}
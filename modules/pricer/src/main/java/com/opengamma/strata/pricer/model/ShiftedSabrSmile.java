@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.model;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+
+/**
+ * A volatility smile of the shifted SABR model.
+ * <p>
+ * The smile has been created with the shifted forward, and the shift is applied to each strike.
+ * The smiles of a set of SABR parameters are cached, keyed by the inputs that determine
+ * the model parameters and the forward.
+ */
+final class ShiftedSabrSmile {
+
+  /**
+   * The smile of the shifted forward.
+   */
+  private final SabrVolatilitySmile smile;
+  /**
+   * The shift.
+   */
+  private final double shift;
+
+  ShiftedSabrSmile(SabrVolatilitySmile smile, double shift) {
+    this.smile = smile;
+    this.shift = shift;
+  }
+
+  //-------------------------------------------------------------------------
+  double volatility(double strike) {
+    return smile.volatility(strike + shift);
+  }
+
+  ValueDerivatives volatilityAdjoint(double strike) {
+    return smile.volatilityAdjoint(strike + shift);
+  }
+
+}
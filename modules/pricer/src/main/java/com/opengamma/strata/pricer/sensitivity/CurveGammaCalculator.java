@@ -13,15 +13,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Doubles;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.index.RateIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -53,6 +57,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The delta computed for the unbumped rates provider is shared by all the bumped revaluations.
+ * The bumped revaluations are independent of each other, and by default are performed sequentially.
+ * An {@link Executor} can be specified to perform them in parallel, see {@link #withExecutor(Executor)}.
+ * The sensitivity function must then be thread-safe. The result does not depend on the executor.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -66,6 +75,18 @@ public final class CurveGammaCalculator {
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * The executor used for the bumped revaluations.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -106,7 +127,34 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Create an instance of the finite difference calculator.
+   * 
+   * @param fdType  the finite difference type
+   * @param shift  the shift to be applied to the curves
+   * @param executor  the executor used for the bumped revaluations
+   */
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, Executor executor) {
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.fdType = fdType;
+    this.shift = shift;
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  /**
+   * Returns a copy of this calculator that uses the specified executor for the bumped revaluations.
+   * <p>
+   * Each bumped revaluation of the cross gamma is submitted to the executor, allowing them to be performed in parallel.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor used for the bumped revaluations
+   * @return the calculator
+   */
+  public CurveGammaCalculator withExecutor(Executor executor) {
+    return new CurveGammaCalculator(fdType, shift, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -136,7 +184,7 @@ public final class CurveGammaCalculator {
       Curve curve = entry.getValue();
       if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
         CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            curve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
+            baseDelta, curve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
         result = result.combinedWith(gammaSingle);
       } else if (curve.split().size() > 1) {
         ImmutableList<Curve> curves = curve.split();
@@ -146,6 +194,7 @@ public final class CurveGammaCalculator {
           Curve underlyingCurve = curves.get(currentIndex);
           if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
             CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+                baseDelta,
                 underlyingCurve,
                 currency,
                 c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
@@ -163,7 +212,7 @@ public final class CurveGammaCalculator {
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
           CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              curve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
+              baseDelta, curve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
           result = result.combinedWith(gammaSingle);
         } else if (curve.split().size() > 1) {
           ImmutableList<Curve> curves = curve.split();
@@ -173,6 +222,7 @@ public final class CurveGammaCalculator {
             Curve underlyingCurve = curves.get(currentIndex);
             if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
               CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+                  baseDelta,
                   underlyingCurve,
                   currency,
                   c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
@@ -215,6 +265,7 @@ public final class CurveGammaCalculator {
       CurveName curveName = curve.getName();
       if (baseDelta.findSensitivity(curveName, currency).isPresent()) {
         CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+            baseDelta,
             curveName,
             curve,
             currency,
@@ -231,6 +282,7 @@ public final class CurveGammaCalculator {
             CurveName underlyingCurveName = underlyingCurve.getName();
             if (baseDelta.findSensitivity(underlyingCurveName, currency).isPresent()) {
               CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+                  baseDelta,
                   underlyingCurveName,
                   underlyingCurve,
                   currency,
@@ -251,6 +303,7 @@ public final class CurveGammaCalculator {
       CurveName curveName = curve.getName();
       if (baseDelta.findSensitivity(curveName, currency).isPresent()) {
         CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+            baseDelta,
             curveName,
             curve,
             currency,
@@ -267,6 +320,7 @@ public final class CurveGammaCalculator {
             CurveName underlyingCurveName = underlyingCurve.getName();
             if (baseDelta.findSensitivity(underlyingCurveName, rgCcy.getSecond()).isPresent()) {
               CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
+                  baseDelta,
                   underlyingCurveName,
                   underlyingCurve,
                   currency,
@@ -375,6 +429,7 @@ public final class CurveGammaCalculator {
 
   // compute the second order sensitivity to Curve
   CrossGammaParameterSensitivity computeGammaForCurve(
+      CurrencyParameterSensitivities baseDelta,
       Curve curve,
       Currency sensitivityCurrency,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
@@ -390,7 +445,8 @@ public final class CurveGammaCalculator {
       }
     };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    DoubleArray baseSensi = baseDelta.getSensitivity(curve.getName(), sensitivityCurrency).getSensitivity();
+    DoubleMatrix sensi = differentiate(function, DoubleArray.of(nParams, n -> curve.getParameter(n)), baseSensi);
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -414,7 +470,8 @@ public final class CurveGammaCalculator {
       }
     };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    DoubleMatrix sensi = differentiate(
+        function, DoubleArray.of(nParams, n -> curve.getParameter(n)), baseDeltaSingle.getSensitivity());
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -427,6 +484,35 @@ public final class CurveGammaCalculator {
         sensi);
   }
 
+  // differentiates the function at x using the executor, the value of the function at x is known
+  private DoubleMatrix differentiate(Function<DoubleArray, DoubleArray> function, DoubleArray x, DoubleArray y) {
+    int n = x.size();
+    int m = y.size();
+    List<DoubleArray[]> bumped = Guavate.evaluateInOrder(executor, n, j -> {
+      double xj = x.get(j);
+      switch (fdType) {
+        case FORWARD:
+          return new DoubleArray[] {function.apply(x.with(j, xj + shift)), y};
+        case CENTRAL:
+          return new DoubleArray[] {function.apply(x.with(j, xj + shift)), function.apply(x.with(j, xj - shift))};
+        case BACKWARD:
+          return new DoubleArray[] {y, function.apply(x.with(j, xj - shift))};
+        default:
+          throw new IllegalArgumentException("Can only handle forward, backward and central differencing");
+      }
+    });
+    double width = fdType == FiniteDifferenceType.CENTRAL ? 2 * shift : shift;
+    double[][] res = new double[m][n];
+    for (int j = 0; j < n; j++) {
+      DoubleArray up = bumped.get(j)[0];
+      DoubleArray down = bumped.get(j)[1];
+      for (int i = 0; i < m; i++) {
+        res[i][j] = (up.get(i) - down.get(i)) / width;
+      }
+    }
+    return DoubleMatrix.ofUnsafe(res);
+  }
+
   private CrossGammaParameterSensitivity combineSensitivities(
       CurrencyParameterSensitivity baseDeltaSingle,
       CrossGammaParameterSensitivities blockCrossGamma) {
@@ -517,6 +603,7 @@ public final class CurveGammaCalculator {
   }
 
   private CrossGammaParameterSensitivity computeGammaForCurve(
+      CurrencyParameterSensitivities baseDelta,
       CurveName curveName,
       Curve curve,
       Currency sensitivityCurrency,
@@ -533,7 +620,8 @@ public final class CurveGammaCalculator {
       }
     };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    DoubleArray baseSensi = baseDelta.getSensitivity(curveName, sensitivityCurrency).getSensitivity();
+    DoubleMatrix sensi = differentiate(function, DoubleArray.of(nParams, n -> curve.getParameter(n)), baseSensi);
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -0,0 +1,472 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Mutable accumulator of point sensitivities backed by primitive arrays.
+ * <p>
+ * {@link PointSensitivityBuilder} combines sensitivities by building a tree of small objects,
+ * which must then be sorted and merged by {@link MutablePointSensitivities#normalize()}.
+ * This class instead merges each sensitivity as it is added, into a buffer keyed by the curve
+ * and the point on the curve. There is one buffer for each curve and sensitivity currency,
+ * holding the point keys and sensitivity values in primitive arrays.
+ * <p>
+ * Zero rate, Ibor and Overnight sensitivities are merged into the buffers.
+ * The point on the curve is the year fraction for zero rate sensitivities, the fixing date
+ * for Ibor sensitivities, and the fixing and end dates for Overnight sensitivities.
+ * Any other type of sensitivity is held in a list and normalized when the result is built.
+ * <p>
+ * The buffers are retained when the accumulator is {@linkplain #reset() reset}, thus an
+ * instance that is reused for many trades allocates very little once its buffers have grown.
+ * The order of the resulting sensitivities is the order in which each point was first added,
+ * no sort is performed.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * Use {@link #ofCurrentThread()} to obtain an instance that is reused by the current thread.
+ */
+public final class PointSensitivityAccumulator {
+
+  /**
+   * The instance reused by each thread.
+   */
+  private static final ThreadLocal<PointSensitivityAccumulator> THREAD_INSTANCE =
+      ThreadLocal.withInitial(PointSensitivityAccumulator::new);
+  /**
+   * The type of buffer holding zero rate sensitivities.
+   */
+  private static final int ZERO_RATE = 0;
+  /**
+   * The type of buffer holding Ibor sensitivities.
+   */
+  private static final int IBOR = 1;
+  /**
+   * The type of buffer holding Overnight sensitivities.
+   */
+  private static final int OVERNIGHT = 2;
+
+  /**
+   * The buffers, one for each type, curve and sensitivity currency.
+   */
+  private Buffer[] buffers = new Buffer[8];
+  /**
+   * The number of buffers.
+   */
+  private int bufferCount;
+  /**
+   * The buffer used most recently, checked first when adding.
+   */
+  private Buffer lastBuffer;
+  /**
+   * The sensitivities that are not held in the buffers.
+   */
+  private final List<PointSensitivity> others = new ArrayList<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the instance reused by the current thread.
+   * <p>
+   * The instance is reset before being returned.
+   * The instance must not be shared with other threads, and must not be used again
+   * by the caller once any other code on the same thread may have obtained it.
+   *
+   * @return the reset accumulator of the current thread
+   */
+  public static PointSensitivityAccumulator ofCurrentThread() {
+    PointSensitivityAccumulator accumulator = THREAD_INSTANCE.get();
+    accumulator.reset();
+    return accumulator;
+  }
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a zero rate sensitivity expressed as primitives.
+   * <p>
+   * This is equivalent to adding {@link ZeroRateSensitivity#of(Currency, double, Currency, double)}
+   * without creating the sensitivity object.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the year fraction that was looked up on the curve
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return this accumulator, for chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    ArgChecker.notNull(curveCurrency, "curveCurrency");
+    ArgChecker.notNull(sensitivityCurrency, "sensitivityCurrency");
+    buffer(ZERO_RATE, curveCurrency, sensitivityCurrency)
+        .add(Double.doubleToLongBits(yearFraction), sensitivity, null);
+    return this;
+  }
+
+  /**
+   * Adds the sensitivities of a builder.
+   * <p>
+   * If the builder is a single point sensitivity, it is added without creating any object.
+   * Otherwise the builder is built and each of the resulting sensitivities is added.
+   * The builder must not be used once this method returns.
+   *
+   * @param builder  the builder to add
+   * @return this accumulator, for chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivityBuilder builder) {
+    ArgChecker.notNull(builder, "builder");
+    if (builder instanceof PointSensitivity) {
+      addPoint((PointSensitivity) builder);
+    } else if (builder instanceof MutablePointSensitivities) {
+      addPoints(((MutablePointSensitivities) builder).getSensitivities());
+    } else {
+      addPoints(builder.build().getSensitivities());
+    }
+    return this;
+  }
+
+  /**
+   * Adds point sensitivities.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this accumulator, for chaining
+   */
+  public PointSensitivityAccumulator addAll(PointSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    addPoints(sensitivities.getSensitivities());
+    return this;
+  }
+
+  // adds each point
+  private void addPoints(List<PointSensitivity> points) {
+    for (int i = 0; i < points.size(); i++) {
+      addPoint(points.get(i));
+    }
+  }
+
+  // adds a single point, to the matching buffer if there is one
+  private void addPoint(PointSensitivity point) {
+    if (point instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+      buffer(ZERO_RATE, pt.getCurveCurrency(), pt.getCurrency())
+          .add(Double.doubleToLongBits(pt.getYearFraction()), pt.getSensitivity(), null);
+
+    } else if (point instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) point;
+      buffer(IBOR, pt.getIndex(), pt.getCurrency())
+          .add(pt.getObservation().getFixingDate().toEpochDay(), pt.getSensitivity(), pt);
+
+    } else if (point instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+      long fixingDay = pt.getObservation().getFixingDate().toEpochDay();
+      long endDay = pt.getEndDate().toEpochDay();
+      // the epoch day of any date fits in an int, thus the fixing day is held losslessly in the high 32 bits
+      // and the end day in the low 32 bits, and the key is unique even when the dates are before 1970
+      buffer(OVERNIGHT, pt.getIndex(), pt.getCurrency())
+          .add((fixingDay << 32) | (endDay & 0xFFFFFFFFL), pt.getSensitivity(), pt);
+
+    } else {
+      others.add(point);
+    }
+  }
+
+  // finds or creates the buffer, without allocating when the buffer exists
+  private Buffer buffer(int type, Object curve, Currency currency) {
+    if (lastBuffer != null && lastBuffer.matches(type, curve, currency)) {
+      return lastBuffer;
+    }
+    for (int i = 0; i < bufferCount; i++) {
+      if (buffers[i].matches(type, curve, currency)) {
+        lastBuffer = buffers[i];
+        return lastBuffer;
+      }
+    }
+    if (bufferCount == buffers.length) {
+      buffers = Arrays.copyOf(buffers, bufferCount * 2);
+    }
+    lastBuffer = new Buffer(type, curve, currency);
+    buffers[bufferCount++] = lastBuffer;
+    return lastBuffer;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of distinct point sensitivities that have been added.
+   * <p>
+   * Sensitivities that are not held in the buffers are counted before being merged.
+   *
+   * @return the number of point sensitivities
+   */
+  public int size() {
+    int size = others.size();
+    for (int i = 0; i < bufferCount; i++) {
+      size += buffers[i].size;
+    }
+    return size;
+  }
+
+  /**
+   * Builds the point sensitivities.
+   * <p>
+   * Each point on each curve occurs once in the result.
+   * The accumulator is unchanged and can continue to be used.
+   *
+   * @return the point sensitivities
+   */
+  public PointSensitivities build() {
+    List<PointSensitivity> result = new ArrayList<>(size());
+    for (int i = 0; i < bufferCount; i++) {
+      buffers[i].buildInto(result);
+    }
+    if (!others.isEmpty()) {
+      result.addAll(new MutablePointSensitivities(others).normalize().getSensitivities());
+    }
+    return PointSensitivities.of(result);
+  }
+
+  /**
+   * Computes the parameter sensitivity of the accumulated point sensitivities.
+   * <p>
+   * This is equivalent to calling {@link RatesProvider#parameterSensitivity(PointSensitivities)}
+   * with the result of {@link #build()}, without building the point sensitivities.
+   * The curve of each buffer is obtained from the provider once, and the parameter sensitivities
+   * are summed into one array for each curve, rather than combining immutable instances.
+   *
+   * @param provider  the rates provider
+   * @return the sensitivity to the curve parameters
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    ParameterSums sums = new ParameterSums();
+    for (int i = 0; i < bufferCount; i++) {
+      buffers[i].parameterSensitivityInto(provider, sums);
+    }
+    if (!others.isEmpty()) {
+      for (PointSensitivity point : new MutablePointSensitivities(others).normalize().getSensitivities()) {
+        sums.add(provider.parameterSensitivity(PointSensitivities.of(point)));
+      }
+    }
+    return sums.build();
+  }
+
+  /**
+   * Resets the accumulator, so that it is empty.
+   * <p>
+   * The buffers are retained to be reused.
+   */
+  public void reset() {
+    for (int i = 0; i < bufferCount; i++) {
+      buffers[i].reset();
+    }
+    others.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "PointSensitivityAccumulator[size=" + size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Buffer of the sensitivities to one curve in one currency.
+   * <p>
+   * The point keys and values are held in insertion order, with an open addressing hash table
+   * mapping each key to its position.
+   */
+  private static final class Buffer {
+
+    private final int type;
+    private final Object curve;
+    private final Currency currency;
+    private long[] keys = new long[16];
+    private double[] values = new double[16];
+    // the first sensitivity added at each position, null for zero rate sensitivities
+    private PointSensitivity[] points = new PointSensitivity[16];
+    // the position plus one, zero when the entry is empty
+    private int[] table = new int[32];
+    private int size;
+
+    private Buffer(int type, Object curve, Currency currency) {
+      this.type = type;
+      this.curve = curve;
+      this.currency = currency;
+    }
+
+    private boolean matches(int type, Object curve, Currency currency) {
+      return this.type == type && this.curve.equals(curve) && this.currency.equals(currency);
+    }
+
+    private void add(long key, double value, PointSensitivity point) {
+      int mask = table.length - 1;
+      int index = hash(key) & mask;
+      while (true) {
+        int position = table[index] - 1;
+        if (position < 0) {
+          break;
+        }
+        if (keys[position] == key) {
+          values[position] += value;
+          return;
+        }
+        index = (index + 1) & mask;
+      }
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+        points = Arrays.copyOf(points, size * 2);
+      }
+      keys[size] = key;
+      values[size] = value;
+      points[size] = point;
+      size++;
+      table[index] = size;
+      if (size * 2 > table.length) {
+        rehash(table.length * 2);
+      }
+    }
+
+    private void rehash(int tableSize) {
+      table = new int[tableSize];
+      int mask = tableSize - 1;
+      for (int position = 0; position < size; position++) {
+        int index = hash(keys[position]) & mask;
+        while (table[index] != 0) {
+          index = (index + 1) & mask;
+        }
+        table[index] = position + 1;
+      }
+    }
+
+    private static int hash(long key) {
+      long mixed = key * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private void buildInto(List<PointSensitivity> result) {
+      for (int i = 0; i < size; i++) {
+        if (type == ZERO_RATE) {
+          result.add(ZeroRateSensitivity.of((Currency) curve, Double.longBitsToDouble(keys[i]), currency, values[i]));
+        } else {
+          result.add(points[i].withSensitivity(values[i]));
+        }
+      }
+    }
+
+    private void parameterSensitivityInto(RatesProvider provider, ParameterSums sums) {
+      if (type == ZERO_RATE) {
+        DiscountFactors factors = provider.discountFactors((Currency) curve);
+        for (int i = 0; i < size; i++) {
+          ZeroRateSensitivity point =
+              ZeroRateSensitivity.of((Currency) curve, Double.longBitsToDouble(keys[i]), currency, values[i]);
+          sums.add(factors.parameterSensitivity(point));
+        }
+      } else if (type == IBOR) {
+        IborIndexRates rates = provider.iborIndexRates((IborIndex) curve);
+        for (int i = 0; i < size; i++) {
+          sums.add(rates.parameterSensitivity((IborRateSensitivity) points[i].withSensitivity(values[i])));
+        }
+      } else {
+        OvernightIndexRates rates = provider.overnightIndexRates((OvernightIndex) curve);
+        for (int i = 0; i < size; i++) {
+          sums.add(rates.parameterSensitivity((OvernightRateSensitivity) points[i].withSensitivity(values[i])));
+        }
+      }
+    }
+
+    private void reset() {
+      if (size > 0) {
+        Arrays.fill(table, 0);
+        Arrays.fill(points, 0, size, null);
+        size = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sum of the parameter sensitivities to each curve.
+   * <p>
+   * The values are summed in the order they are added, as done by
+   * {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}.
+   */
+  private static final class ParameterSums {
+
+    // the first sensitivity added for each curve and currency, providing the metadata
+    private final List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>();
+    // the sum of the values for each curve and currency
+    private final List<double[]> sums = new ArrayList<>();
+
+    private void add(CurrencyParameterSensitivities parameterSensitivities) {
+      List<CurrencyParameterSensitivity> added = parameterSensitivities.getSensitivities();
+      for (int i = 0; i < added.size(); i++) {
+        CurrencyParameterSensitivity sensitivity = added.get(i);
+        int index = indexOf(sensitivity);
+        if (index < 0) {
+          sensitivities.add(sensitivity);
+          sums.add(sensitivity.getSensitivity().toArray());
+        } else {
+          double[] sum = sums.get(index);
+          DoubleArray values = sensitivity.getSensitivity();
+          if (values.size() != sum.length) {
+            throw new IllegalArgumentException(Messages.format(
+                "Sensitivity array size {} must match size {}", values.size(), sum.length));
+          }
+          for (int j = 0; j < sum.length; j++) {
+            sum[j] += values.get(j);
+          }
+        }
+      }
+    }
+
+    private int indexOf(CurrencyParameterSensitivity sensitivity) {
+      for (int i = 0; i < sensitivities.size(); i++) {
+        if (sensitivities.get(i).compareKey(sensitivity) == 0) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private CurrencyParameterSensitivities build() {
+      List<CurrencyParameterSensitivity> result = new ArrayList<>(sensitivities.size());
+      for (int i = 0; i < sensitivities.size(); i++) {
+        result.add(sensitivities.get(i).withSensitivity(DoubleArray.ofUnsafe(sums.get(i))));
+      }
+      return CurrencyParameterSensitivities.of(result);
+    }
+  }
+
+}
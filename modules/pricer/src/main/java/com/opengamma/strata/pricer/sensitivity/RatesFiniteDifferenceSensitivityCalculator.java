@@ -8,14 +8,19 @@ package com.opengamma.strata.pricer.sensitivity;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
 
 import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
@@ -39,6 +44,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * The bumped revaluations are independent of each other, and by default are performed sequentially.
+ * An {@link Executor} can be specified to perform them in parallel, see {@link #withExecutor(Executor)}.
+ * The function must then be thread-safe. The result does not depend on the executor.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,6 +61,10 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The executor used for the bumped revaluations.
+   */
+  private final Executor executor;
 
   /**
    * Create an instance of the finite difference calculator.
@@ -59,7 +72,34 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Create an instance of the finite difference calculator that uses an executor for the bumped revaluations.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @param executor  the executor used for the bumped revaluations
+   */
+  public RatesFiniteDifferenceSensitivityCalculator(double shift, Executor executor) {
     this.shift = shift;
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  /**
+   * Returns a copy of this calculator that uses the specified executor for the bumped revaluations.
+   * <p>
+   * Each bumped revaluation is submitted to the executor, allowing them to be performed in parallel.
+   * The unbumped value is computed once and shared by all the bumped revaluations.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor used for the bumped revaluations
+   * @return the calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator withExecutor(Executor executor) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -105,7 +145,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
     for (Entry<T, Curve> entry : baseCurves.entrySet()) {
       Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
+      DoubleArray sensitivity = bumpedSensitivity(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(entry.getKey(), dscBumped);
@@ -152,17 +192,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     for (Pair<T, Currency> key : baseCurves.keySet()) {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = bumpedSensitivity(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
         ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      });
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -203,17 +240,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = bumpedSensitivity(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      });
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -231,23 +265,25 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = bumpedSensitivity(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
             credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      });
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
 
   //-------------------------------------------------------------------------
+  // computes the sensitivity to each parameter, using the executor for the bumped revaluations
+  private DoubleArray bumpedSensitivity(int paramCount, IntToDoubleFunction bumpedFn) {
+    return DoubleArray.ofUnsafe(Guavate.evaluateDoublesInOrder(executor, paramCount, bumpedFn));
+  }
+
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
     if (discountFactors instanceof ZeroRateDiscountFactors) {
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.swap;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
@@ -126,6 +127,47 @@ public class DiscountingSwapLegPricer {
     return presentValuePeriodsInternal(leg, provider) + presentValueEventsInternal(leg, provider);
   }
 
+  /**
+   * Calculates the present value of the swap leg for each of a list of rates providers.
+   * <p>
+   * This is used when pricing multiple scenarios, with one rates provider for each scenario.
+   * The result is the same as calling {@link #presentValue(ResolvedSwapLeg, RatesProvider)} for each provider,
+   * but each payment period is priced for all the providers at once, allowing the period pricer to
+   * avoid repeating the work that does not depend on the provider.
+   * The result is expressed using the payment currency of the leg.
+   * 
+   * @param leg  the leg
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the swap leg, one value for each provider
+   */
+  public DoubleArray presentValue(ResolvedSwapLeg leg, List<? extends RatesProvider> providers) {
+    int size = providers.size();
+    if (size == 0) {
+      return DoubleArray.EMPTY;
+    }
+    LocalDate valuationDate = providers.get(0).getValuationDate();
+    for (int i = 1; i < size; i++) {
+      if (!providers.get(i).getValuationDate().equals(valuationDate)) {
+        // the periods to be priced vary by provider
+        return DoubleArray.of(size, j -> presentValueInternal(leg, providers.get(j)));
+      }
+    }
+    double[] periods = new double[size];
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(valuationDate)) {
+        DoubleArray pv = paymentPeriodPricer.presentValue(period, providers);
+        for (int i = 0; i < size; i++) {
+          periods[i] += pv.get(i);
+        }
+      }
+    }
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = periods[i] + presentValueEventsInternal(leg, providers.get(i));
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   /**
    * Calculates the forecast value of the swap leg.
    * <p>
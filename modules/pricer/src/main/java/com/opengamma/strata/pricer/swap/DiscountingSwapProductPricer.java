@@ -8,7 +8,9 @@ package com.opengamma.strata.pricer.swap;
 import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.ToDoubleBiFunction;
@@ -17,7 +19,9 @@ import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
@@ -111,6 +115,26 @@ public class DiscountingSwapProductPricer {
     return swapValue(provider, swap, legPricer::presentValueInternal);
   }
 
+  /**
+   * Calculates the present value of the swap product for each of a list of rates providers.
+   * <p>
+   * This is used when pricing multiple scenarios, with one rates provider for each scenario.
+   * The result is the same as calling {@link #presentValue(ResolvedSwap, RatesProvider)} for each provider,
+   * but the legs are priced for all the providers at once.
+   * The result is expressed using the payment currency of each leg.
+   * 
+   * @param swap  the product
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the swap product, one amount for each provider
+   */
+  public MultiCurrencyAmountArray presentValue(ResolvedSwap swap, List<? extends RatesProvider> providers) {
+    Map<Currency, DoubleArray> values = new LinkedHashMap<>();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      values.merge(leg.getCurrency(), legPricer.presentValue(leg, providers), DoubleArray::plus);
+    }
+    return MultiCurrencyAmountArray.of(values);
+  }
+
   /**
    * Calculates the forecast value of the swap product.
    * <p>
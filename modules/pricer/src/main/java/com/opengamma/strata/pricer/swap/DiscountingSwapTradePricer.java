@@ -5,9 +5,12 @@
  */
 package com.opengamma.strata.pricer.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainMap;
@@ -86,6 +89,21 @@ public class DiscountingSwapTradePricer {
     return productPricer.presentValue(trade.getProduct(), provider);
   }
 
+  /**
+   * Calculates the present value of the swap trade for each of a list of rates providers.
+   * <p>
+   * This is used when pricing multiple scenarios, with one rates provider for each scenario.
+   * The result is the same as calling {@link #presentValue(ResolvedSwapTrade, RatesProvider)} for each provider.
+   * The result is expressed using the payment currency of each leg.
+   * 
+   * @param trade  the trade
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the swap trade, one amount for each provider
+   */
+  public MultiCurrencyAmountArray presentValue(ResolvedSwapTrade trade, List<? extends RatesProvider> providers) {
+    return productPricer.presentValue(trade.getProduct(), providers);
+  }
+
   /**
    * Explains the present value of the swap trade.
    * <p>
@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.pricer.swap;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentPeriodPricer;
@@ -62,6 +65,24 @@ public interface SwapPaymentPeriodPricer<T extends SwapPaymentPeriod> {
    */
   public abstract PointSensitivityBuilder presentValueSensitivity(T period, RatesProvider provider);
 
+  /**
+   * Calculates the present value of a single payment period for each of a list of rates providers.
+   * <p>
+   * This is used when pricing multiple scenarios, with one rates provider for each scenario.
+   * The result is the same as calling {@link #presentValue(SwapPaymentPeriod, RatesProvider)}
+   * for each provider. Implementations may override this to avoid repeating the work that
+   * does not depend on the rates provider, such as the accrual of a fixed rate.
+   * <p>
+   * The payment date of the period should not be in the past in any of the providers.
+   * 
+   * @param period  the period
+   * @param providers  the rates providers, one for each scenario
+   * @return the present value of the period, one value for each provider
+   */
+  public default DoubleArray presentValue(T period, List<? extends RatesProvider> providers) {
+    return DoubleArray.of(providers.size(), i -> presentValue(period, providers.get(i)));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value of a single payment period.
@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -20,6 +23,7 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
@@ -51,6 +55,10 @@ import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
  * Swaption SABR calibrator.
  * <p>
  * This calibrator takes raw data and produces calibrated SABR parameters.
+ * <p>
+ * The expiry/tenor points of a cube are calibrated independently of each other.
+ * An {@link Executor} can be specified to calibrate them in parallel, see {@link #withExecutor(Executor)}.
+ * The result does not depend on the executor, as the points are always combined in the same order.
  */
 public final class SabrSwaptionCalibrator {
 
@@ -67,9 +75,15 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * The executor used to calibrate the expiry/tenor points.
+   */
+  private final Executor executor;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /** The executor used by default, calibrating the points sequentially in the calling thread. */
+  private static final Executor DIRECT_EXECUTOR = Runnable::run;
 
   /**
    * The default instance of the class.
@@ -118,9 +132,33 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
+    this(sabrVolatilityFormula, swapPricer, refData, DIRECT_EXECUTOR);
+  }
+
+  private SabrSwaptionCalibrator(
+      SabrVolatilityFormula sabrVolatilityFormula,
+      DiscountingSwapProductPricer swapPricer,
+      ReferenceData refData,
+      Executor executor) {
+
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  /**
+   * Returns a copy of this calibrator that uses the specified executor.
+   * <p>
+   * The expiry/tenor points of the cube are submitted to the executor and calibrated in parallel.
+   * By default, the points are calibrated sequentially in the calling thread.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor used to calibrate the expiry/tenor points
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withExecutor(Executor executor) {
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -203,63 +241,69 @@ public final class SabrSwaptionCalibrator {
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    // calibrate each expiry/tenor using the executor, including the forward rate of the underlying swap
+    List<CalibrationPoint> points = new ArrayList<>();
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
       int nbExpiries = expiries.size();
       for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+        Period expiry = expiries.get(loopexpiry);
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
         double beta = betaSurface.zValue(timeToExpiry, timeTenor);
         double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+        Supplier<Pair<SabrFormulaData, DoubleMatrix>> task = () -> {
+          // the forward is not part of the calibration, thus a failure is never skipped
+          double forward = forward(convention, calibrationDate, exerciseDate, tenor, ratesProvider);
+          try {
+            return calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData);
+          } catch (MathException e) {
+            if (stopOnMathException) {
+              String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(), expiry, tenor);
+              throw new MathException(message, e);
+            }
+            return null;
           }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+        };
+        CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result = CompletableFuture.supplyAsync(task, executor);
+        points.add(new CalibrationPoint(expiry, tenor, timeToExpiry, timeTenor, result));
+      }
+    }
+    // combine the results in the order of submission, so that the result is deterministic
+    for (CalibrationPoint point : points) {
+      double timeToExpiry = point.timeToExpiry;
+      double timeTenor = point.timeTenor;
+      Pair<SabrFormulaData, DoubleMatrix> calibrationResult = Guavate.joinUnwrapped(point.result);
+      if (calibrationResult != null) {
+        SabrFormulaData sabrPoint = calibrationResult.getFirst();
+        DoubleMatrix inverseJacobian = calibrationResult.getSecond();
+        if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+          parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+          sabrPointTmp.put(timeToExpiry, new TreeMap<>());
         }
+        TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+        TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+        parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            point.expiry.toString() + "x" + point.tenor.toString()));
+        dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
+        dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
+        dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
+        sabrPointExpiryMap.put(timeTenor, sabrPoint);
       }
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
@@ -431,11 +475,8 @@ public final class SabrSwaptionCalibrator {
       for (int looptenor = 0; looptenor < nbTenors; looptenor++) {
         double timeTenor = tenors.get(looptenor).getPeriod().getYears() + tenors.get(looptenor).getPeriod().getMonths() / 12;
         LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        LocalDate endDate = effectiveDate.plus(tenors.get(looptenor));
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+        double forward = forward(convention, calibrationDate, exerciseDate, tenors.get(looptenor), ratesProvider);
         double atmVolatility = atmVolatilities.volatility(timeToExpiry, timeTenor, forward, forward);
         ValueType volatilityType = atmVolatilities.getVolatilityType();
         // Currently there is no 'SwaptionVolatilities' with Black shifted.
@@ -899,4 +940,44 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  // the forward rate of the swap starting at the spot date of the exercise date
+  private double forward(
+      FixedIborSwapConvention convention,
+      LocalDate calibrationDate,
+      LocalDate exerciseDate,
+      Tenor tenor,
+      RatesProvider ratesProvider) {
+
+    LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+    LocalDate endDate = effectiveDate.plus(tenor);
+    SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+    return swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The calibration of an expiry/tenor point, which may be running in another thread.
+   */
+  private static final class CalibrationPoint {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result;
+
+    private CalibrationPoint(
+        Period expiry,
+        Tenor tenor,
+        double timeToExpiry,
+        double timeTenor,
+        CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result) {
+
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.result = result;
+    }
+  }
+
 }
@@ -12,6 +12,8 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -35,6 +37,16 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
   private static final SabrIborCapletFloorletVolatilityBootstrapper CALIBRATOR =
       SabrIborCapletFloorletVolatilityBootstrapper.DEFAULT;
   private static final double TOL = 1.0e-3;
+  private static final SabrIborCapletFloorletVolatilityBootstrapDefinition FIXED_BETA_DEFINITION =
+      SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
+          IborCapletFloorletVolatilitiesName.of("test"),
+          USD_LIBOR_3M,
+          ACT_ACT_ISDA,
+          0.85,
+          CurveInterpolators.STEP_UPPER,
+          CurveExtrapolators.FLAT,
+          CurveExtrapolators.FLAT,
+          SabrHaganVolatilityFunctionProvider.DEFAULT);
 
   public void test_recovery_black() {
     SabrIborCapletFloorletVolatilityBootstrapDefinition definition =
@@ -122,6 +134,47 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
     assertEquals(resVols.getParameters().getRhoCurve(), definition.getRhoCurve().get());
   }
 
+  public void test_executor() {
+    RawOptionData data = fixedBetaData();
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(FIXED_BETA_DEFINITION, CALIBRATION_TIME, data, RATES_PROVIDER);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      IborCapletFloorletVolatilityCalibrationResult computed = CALIBRATOR.withExecutor(executor)
+          .calibrate(FIXED_BETA_DEFINITION, CALIBRATION_TIME, data, RATES_PROVIDER);
+      assertEquals(computed, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_warmStart() {
+    RawOptionData data = fixedBetaData();
+    IborCapletFloorletVolatilityCalibrationResult previous =
+        CALIBRATOR.calibrate(FIXED_BETA_DEFINITION, CALIBRATION_TIME, data, RATES_PROVIDER);
+    SabrParametersIborCapletFloorletVolatilities previousVols =
+        (SabrParametersIborCapletFloorletVolatilities) previous.getVolatilities();
+    IborCapletFloorletVolatilityCalibrationResult res = CALIBRATOR.calibrate(
+        FIXED_BETA_DEFINITION, CALIBRATION_TIME, data, RATES_PROVIDER, previousVols.getParameters());
+    SabrParametersIborCapletFloorletVolatilities resVols = (SabrParametersIborCapletFloorletVolatilities) res.getVolatilities();
+    for (int i = 0; i < NUM_BLACK_STRIKES; ++i) {
+      Pair<List<ResolvedIborCapFloorLeg>, List<Double>> capsAndVols = getCapsBlackVols(i);
+      List<ResolvedIborCapFloorLeg> caps = capsAndVols.getFirst();
+      List<Double> vols = capsAndVols.getSecond();
+      int nCaps = caps.size();
+      for (int j = 0; j < nCaps; ++j) {
+        ConstantSurface volSurface = ConstantSurface.of(
+            Surfaces.blackVolatilityByExpiryStrike("test", ACT_ACT_ISDA), vols.get(j));
+        BlackIborCapletFloorletExpiryStrikeVolatilities constVol = BlackIborCapletFloorletExpiryStrikeVolatilities.of(
+            USD_LIBOR_3M, CALIBRATION_TIME, volSurface);
+        double priceOrg = LEG_PRICER_BLACK.presentValue(caps.get(j), RATES_PROVIDER, constVol).getAmount();
+        double priceCalib = LEG_PRICER_SABR.presentValue(caps.get(j), RATES_PROVIDER, resVols).getAmount();
+        assertEquals(priceOrg, priceCalib, Math.max(priceOrg, 1d) * TOL * 3d);
+      }
+    }
+    assertEquals(resVols.getParameters().getBetaCurve(), FIXED_BETA_DEFINITION.getBetaCurve().get());
+  }
+
   public void test_invalid_data() {
     SabrIborCapletFloorletVolatilityBootstrapDefinition definition =
         SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
@@ -299,4 +352,13 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
     }
   }
 
+  //-------------------------------------------------------------------------
+  // the market data of the executor and warm start tests
+  private static RawOptionData fixedBetaData() {
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    return RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+  }
+
 }
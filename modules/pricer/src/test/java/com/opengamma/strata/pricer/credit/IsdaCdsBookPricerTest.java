@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.JPY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.pricer.common.PriceType.CLEAN;
+import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.datasets.CreditRatesProviderDataSets;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test {@link IsdaCdsBookPricer}.
+ */
+@Test
+public class IsdaCdsBookPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final LocalDate REFERENCE_DATE = LocalDate.of(2014, 1, 8);
+  private static final StandardId LEGAL_ENTITY_US = StandardId.of("OG", "ABC");
+  private static final StandardId LEGAL_ENTITY_JP = StandardId.of("OG", "DEF");
+  private static final CreditRatesProvider RATES_PROVIDER =
+      CreditRatesProviderDataSets.createCreditRatesProvider(VALUATION_DATE);
+  private static final double NOTIONAL = 1.0e7;
+  private static final List<ResolvedCds> BOOK = ImmutableList.of(
+      cds(BUY, LEGAL_ENTITY_US, USD, LocalDate.of(2014, 1, 4), LocalDate.of(2020, 10, 20)),
+      cds(SELL, LEGAL_ENTITY_US, USD, LocalDate.of(2013, 12, 20), LocalDate.of(2024, 9, 20)),
+      cds(BUY, LEGAL_ENTITY_US, USD, LocalDate.of(2014, 3, 20), LocalDate.of(2029, 12, 20)),
+      cds(BUY, LEGAL_ENTITY_US, USD, LocalDate.of(2012, 3, 20), LocalDate.of(2013, 12, 20)),
+      cds(SELL, LEGAL_ENTITY_JP, JPY, LocalDate.of(2013, 12, 20), LocalDate.of(2019, 6, 20)),
+      cds(BUY, LEGAL_ENTITY_JP, JPY, LocalDate.of(2013, 12, 20), LocalDate.of(2024, 9, 20)));
+  private static final double TOL = 1.0e-14;
+
+  private static ResolvedCds cds(
+      BuySell buySell,
+      StandardId legalEntity,
+      Currency currency,
+      LocalDate startDate,
+      LocalDate endDate) {
+
+    return Cds.of(buySell, legalEntity, currency, NOTIONAL, startDate, endDate, Frequency.P3M, CALENDAR, 0.05)
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    for (AccrualOnDefaultFormula formula : AccrualOnDefaultFormula.values()) {
+      IsdaCdsBookPricer test = new IsdaCdsBookPricer(formula);
+      IsdaCdsProductPricer expected = new IsdaCdsProductPricer(formula);
+      assertEquals(test.getAccrualOnDefaultFormula(), formula);
+      for (PriceType priceType : new PriceType[] {CLEAN, DIRTY}) {
+        double[] prices = test.price(BOOK, RATES_PROVIDER, REFERENCE_DATE, priceType, REF_DATA);
+        double[] annuities = test.riskyAnnuity(BOOK, RATES_PROVIDER, REFERENCE_DATE, priceType, REF_DATA);
+        assertEquals(prices.length, BOOK.size());
+        for (int i = 0; i < BOOK.size(); i++) {
+          ResolvedCds cds = BOOK.get(i);
+          assertEquals(prices[i], expected.price(cds, RATES_PROVIDER, REFERENCE_DATE, priceType, REF_DATA), TOL);
+          assertEquals(
+              annuities[i], expected.riskyAnnuity(cds, RATES_PROVIDER, REFERENCE_DATE, priceType, REF_DATA), TOL);
+        }
+      }
+    }
+  }
+
+  public void test_presentValue() {
+    List<CurrencyAmount> computed =
+        IsdaCdsBookPricer.DEFAULT.presentValue(BOOK, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA);
+    assertEquals(computed.size(), BOOK.size());
+    for (int i = 0; i < BOOK.size(); i++) {
+      CurrencyAmount expected =
+          IsdaCdsProductPricer.DEFAULT.presentValue(BOOK.get(i), RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA);
+      assertEquals(computed.get(i).getCurrency(), expected.getCurrency());
+      assertEquals(computed.get(i).getAmount(), expected.getAmount(), NOTIONAL * TOL);
+    }
+  }
+
+  public void test_protectionLeg() {
+    double[] computed = IsdaCdsBookPricer.DEFAULT.protectionLeg(BOOK, RATES_PROVIDER, REFERENCE_DATE, REF_DATA);
+    for (int i = 0; i < BOOK.size(); i++) {
+      double expected =
+          IsdaCdsProductPricer.DEFAULT.protectionLeg(BOOK.get(i), RATES_PROVIDER, REFERENCE_DATE, REF_DATA);
+      assertEquals(computed[i], expected, TOL);
+    }
+    assertEquals(computed[3], 0d);
+  }
+
+  public void test_expired() {
+    ResolvedCds cds = BOOK.get(3);
+    List<ResolvedCds> book = ImmutableList.of(cds);
+    IsdaCdsBookPricer test = IsdaCdsBookPricer.DEFAULT;
+    IsdaCdsProductPricer expected = IsdaCdsProductPricer.DEFAULT;
+    assertEquals(test.price(book, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA)[0],
+        expected.price(cds, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA));
+    assertEquals(test.presentValue(book, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA).get(0),
+        expected.presentValue(cds, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA));
+    assertEquals(test.protectionLeg(book, RATES_PROVIDER, REFERENCE_DATE, REF_DATA)[0],
+        expected.protectionLeg(cds, RATES_PROVIDER, REFERENCE_DATE, REF_DATA));
+    assertEquals(test.riskyAnnuity(book, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA)[0],
+        expected.riskyAnnuity(cds, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA));
+    assertEquals(test.riskyAnnuity(book, RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA)[0], 0d);
+  }
+
+  public void test_emptyBook() {
+    assertEquals(
+        IsdaCdsBookPricer.DEFAULT.price(ImmutableList.of(), RATES_PROVIDER, REFERENCE_DATE, CLEAN, REF_DATA).length, 0);
+  }
+
+}
@@ -26,6 +26,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -45,7 +47,10 @@ import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -375,6 +380,55 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     assertPresentValue(result);
   }
   
+  public void calibration_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesCurveCalibrator calibrator = CALIBRATOR.withExecutor(executor);
+      assertEquals(
+          calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA),
+          CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA));
+      assertEquals(
+          calibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA),
+          CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void calibration_resolved_trades_reused() {
+    RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(1e-9, 1e-9, 100).withResolvedTradeCache();
+    assertEquals(
+        calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA),
+        CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA));
+    // only the node whose quote has changed is resolved again
+    QuoteId quoteId = QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[FWD3_NB_NODES - 1]));
+    MarketData shifted = ALL_QUOTES.withValue(quoteId, FWD3_MARKET_QUOTES[FWD3_NB_NODES - 1] + 1.0E-4);
+    assertEquals(
+        calibrator.calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA),
+        RatesCurveCalibrator.of(1e-9, 1e-9, 100).calibrate(CURVE_GROUP_CONFIG, shifted, REF_DATA));
+    assertEquals(
+        calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA),
+        CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA));
+  }
+
+  public void generator_reuses_curves() {
+    ImmutableRatesProviderGenerator generator =
+        ImmutableRatesProviderGenerator.of(KNOWN_DATA, CURVE_GROUP_CONFIG, REF_DATA);
+    int paramCount = CURVE_GROUP_CONFIG.getTotalParameterCount();
+    for (double rate : new double[] {0.01, 0.02, 0.03}) {
+      DoubleArray params = DoubleArray.of(paramCount, i -> rate + i * 1.0E-4);
+      ImmutableRatesProvider test = generator.generate(params);
+      int startIndex = 0;
+      for (CurveDefinition curveDefn : CURVE_GROUP_CONFIG.getCurveDefinitions()) {
+        int endIndex = startIndex + curveDefn.getParameterCount();
+        Curve expected = curveDefn.curve(
+            VAL_DATE, curveDefn.metadata(VAL_DATE, REF_DATA), params.subArray(startIndex, endIndex));
+        assertEquals(test.findData(curveDefn.getName()).get(), expected);
+        startIndex = endIndex;
+      }
+    }
+  }
+
   public void calibration_market_quote_sensitivity_one_group() {
     double shift = 1.0E-6;
     Function<MarketData, RatesProvider> f =
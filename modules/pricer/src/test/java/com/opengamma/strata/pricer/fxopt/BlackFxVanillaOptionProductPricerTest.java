@@ -17,9 +17,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -154,6 +156,24 @@ public class BlackFxVanillaOptionProductPricerTest {
     assertEquals(pv.getAmount(), 0d, NOTIONAL * TOL);
   }
 
+  public void test_price_presentValue_several() {
+    List<ResolvedFxVanillaOption> options = ImmutableList.of(CALL_OTM, CALL_ITM, PUT_OTM, PUT_ITM);
+    double[] prices = PRICER.price(options, RATES_PROVIDER, VOLS);
+    List<CurrencyAmount> pvs = PRICER.presentValue(options, RATES_PROVIDER, VOLS);
+    double[] pricesExpiry = PRICER.price(options, RATES_PROVIDER_EXPIRY, VOLS_EXPIRY);
+    assertEquals(prices.length, options.size());
+    assertEquals(pvs.size(), options.size());
+    for (int i = 0; i < options.size(); i++) {
+      ResolvedFxVanillaOption option = options.get(i);
+      CurrencyAmount pv = PRICER.presentValue(option, RATES_PROVIDER, VOLS);
+      assertEquals(prices[i], PRICER.price(option, RATES_PROVIDER, VOLS), TOL);
+      assertEquals(pvs.get(i).getCurrency(), pv.getCurrency());
+      assertEquals(pvs.get(i).getAmount(), pv.getAmount(), NOTIONAL * TOL);
+      assertEquals(pricesExpiry[i], PRICER.price(option, RATES_PROVIDER_EXPIRY, VOLS_EXPIRY), TOL);
+    }
+    assertEquals(PRICER.price(ImmutableList.of(), RATES_PROVIDER, VOLS).length, 0);
+  }
+
   public void test_price_presentValue_parity() {
     double df = RATES_PROVIDER.discountFactor(USD, PAYMENT_DATE);
     double forward = PRICER.getDiscountingFxSingleProductPricer()
@@ -14,9 +14,11 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
@@ -331,6 +333,24 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertEquals(ce, ceWithData);
   }
 
+  public void test_severalOptions() {
+    SimpleConstantContinuousBarrier uko =
+        SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_OUT, LEVEL_HIGH);
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_DKO, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(PUT, uko),
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_UKI, REBATE_BASE));
+    double[] prices = PRICER_39.price(options, RATE_PROVIDER, VOLS);
+    List<CurrencyAmount> pvs = PRICER_39.presentValue(options, RATE_PROVIDER, VOLS);
+    assertEquals(prices.length, options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertEquals(prices[i], PRICER_39.price(options.get(i), RATE_PROVIDER, VOLS));
+      assertEquals(pvs.get(i), PRICER_39.presentValue(options.get(i), RATE_PROVIDER, VOLS));
+    }
+  }
+
   public void test_expired_calibration() {
     assertThrowsIllegalArg(() -> PRICER_39.getCalibrator().calibrateTrinomialTree(CALL_DKO.getUnderlyingOption(),
         RATE_PROVIDER_AFTER, VOLS_AFTER));
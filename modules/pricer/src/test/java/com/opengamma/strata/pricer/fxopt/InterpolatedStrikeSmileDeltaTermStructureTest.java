@@ -224,6 +224,30 @@ public class InterpolatedStrikeSmileDeltaTermStructureTest {
     assertEquals(volComputed2, volComputed, TOLERANCE_VOL, "Smile by delta term structure: vol interp on strike");
   }
 
+  /**
+   * Tests that the cached smiles and strike interpolators give the results of a new term structure.
+   */
+  public void volatilityCached() {
+    double[] times = {0.05, 0.25, 0.75, 0.75, 2.50, 4.00};
+    double[] strikes = {1.20, 1.35, 1.50};
+    double[] forwards = {1.40, 1.40, 1.45};
+    for (int loop = 0; loop < 2; loop++) {
+      for (double time : times) {
+        assertEquals(SMILE_TERM.smileForExpiry(time), SMILE_TERM.smileForExpiry(time));
+        for (int i = 0; i < strikes.length; i++) {
+          InterpolatedStrikeSmileDeltaTermStructure fresh =
+              InterpolatedStrikeSmileDeltaTermStructure.of(VOLATILITY_TERM, ACT_360, INTERPOLATOR_STRIKE, FLAT, FLAT);
+          assertEquals(
+              SMILE_TERM.volatility(time, strikes[i], forwards[i]),
+              fresh.volatility(time, strikes[i], forwards[i]));
+          assertEquals(
+              SMILE_TERM.volatilityAndSensitivities(time, strikes[i], forwards[i]),
+              fresh.volatilityAndSensitivities(time, strikes[i], forwards[i]));
+        }
+      }
+    }
+  }
+
   /**
    * Tests the interpolation and its derivative with respect to the data by comparison to finite difference.
    */
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link DoublesCache}.
+ */
+@Test
+public class DoublesCacheTest {
+
+  public void test_get() {
+    AtomicInteger count = new AtomicInteger();
+    DoublesCache<String> test = DoublesCache.of((a, b, c) -> {
+      count.incrementAndGet();
+      return a + ":" + b + ":" + c;
+    });
+    String value = test.get(1.5, 2.5, 3.5);
+    assertEquals(value, "1.5:2.5:3.5");
+    assertSame(test.get(1.5, 2.5, 3.5), value);
+    assertEquals(count.get(), 1);
+    assertEquals(test.get(1.5, 2.5), "1.5:2.5:0.0");
+    assertEquals(test.get(1.5), "1.5:0.0:0.0");
+    assertEquals(test.get(-0d), "-0.0:0.0:0.0");
+    assertEquals(count.get(), 4);
+  }
+
+  public void test_get_bounded() {
+    AtomicInteger count = new AtomicInteger();
+    DoublesCache<String> test = DoublesCache.of(3, (a, b, c) -> {
+      count.incrementAndGet();
+      return String.valueOf(a);
+    });
+    for (int i = 0; i < 100; i++) {
+      assertEquals(test.get(i), String.valueOf((double) i));
+    }
+    assertEquals(count.get(), 100);
+    assertEquals(test.get(99d), "99.0");
+    assertEquals(count.get(), 100);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> DoublesCache.of(0, (a, b, c) -> ""));
+    assertThrowsIllegalArg(() -> DoublesCache.of(null));
+    assertThrowsIllegalArg(() -> DoublesCache.of((a, b, c) -> null).get(1d));
+  }
+
+}
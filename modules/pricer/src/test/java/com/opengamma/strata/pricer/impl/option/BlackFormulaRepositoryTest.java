@@ -5,11 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -145,6 +147,63 @@ public class BlackFormulaRepositoryTest {
     }
   }
 
+  public void batchTest() {
+    int nStrikes = STRIKES_INPUT.length;
+    int size = nStrikes * VOLS.length + 2;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCall = new boolean[size];
+    for (int i = 0; i < size - 2; i++) {
+      forwards[i] = FORWARD;
+      strikes[i] = STRIKES_INPUT[i % nStrikes];
+      times[i] = TIME_TO_EXPIRY;
+      vols[i] = VOLS[i / nStrikes];
+      isCall[i] = i % 2 == 0;
+    }
+    // edge cases, zero volatility and zero expiry
+    forwards[size - 2] = FORWARD;
+    strikes[size - 2] = 90d;
+    times[size - 2] = TIME_TO_EXPIRY;
+    isCall[size - 2] = true;
+    forwards[size - 1] = FORWARD;
+    strikes[size - 1] = 110d;
+    vols[size - 1] = 0.2;
+    double[] prices = new double[size];
+    double[] adjointPrices = new double[size];
+    double[] derivatives = new double[4 * size];
+    BlackFormulaRepository.price(forwards, strikes, times, vols, isCall, prices);
+    BlackFormulaRepository.priceAdjoint(forwards, strikes, times, vols, isCall, adjointPrices, derivatives);
+    for (int i = 0; i < size; i++) {
+      assertEquals(prices[i], BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall[i]));
+      ValueDerivatives expected =
+          BlackFormulaRepository.priceAdjoint(forwards[i], strikes[i], times[i], vols[i], isCall[i]);
+      assertEquals(adjointPrices[i], expected.getValue());
+      for (int j = 0; j < 4; j++) {
+        assertEquals(derivatives[j * size + i], expected.getDerivative(j));
+      }
+    }
+    int sizeIv = size - 2;
+    double[] impliedVols = new double[sizeIv];
+    BlackFormulaRepository.impliedVolatility(
+        Arrays.copyOf(prices, sizeIv),
+        Arrays.copyOf(forwards, sizeIv),
+        Arrays.copyOf(strikes, sizeIv),
+        Arrays.copyOf(times, sizeIv),
+        Arrays.copyOf(isCall, sizeIv),
+        impliedVols);
+    for (int i = 0; i < sizeIv; i++) {
+      double expected =
+          BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], times[i], isCall[i]);
+      assertEquals(impliedVols[i], expected);
+    }
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(
+        forwards, strikes, times, vols, isCall, new double[size - 1]));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.priceAdjoint(
+        forwards, strikes, times, vols, isCall, prices, new double[size]));
+  }
+
   /**
    * Tests the strikes in a range of strikes, volatilities and call/put.
    */
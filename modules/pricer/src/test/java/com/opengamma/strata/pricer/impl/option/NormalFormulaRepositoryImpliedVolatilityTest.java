@@ -57,6 +57,29 @@ public class NormalFormulaRepositoryImpliedVolatilityTest {
     }
   }
 
+  public void implied_volatility_batch() {
+    double[] forwards = new double[N];
+    double[] times = new double[N];
+    double[] initialVols = new double[N];
+    double[] numeraires = new double[N];
+    PutCall[] putCalls = new PutCall[N];
+    for (int i = 0; i < N; i++) {
+      forwards[i] = FORWARD;
+      times[i] = T;
+      initialVols[i] = DATA[i].getNormalVolatility();
+      numeraires[i] = DATA[i].getNumeraire();
+      putCalls[i] = PutCall.CALL;
+    }
+    double[] impliedVols = new double[N];
+    NormalFormulaRepository.impliedVolatility(
+        PRICES, forwards, STRIKES, times, initialVols, numeraires, putCalls, impliedVols);
+    for (int i = 0; i < N; i++) {
+      assertEquals(impliedVols[i], impliedVolatility(DATA[i], OPTIONS[i], PRICES[i]));
+    }
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.impliedVolatility(
+        PRICES, forwards, STRIKES, times, initialVols, numeraires, putCalls, new double[N - 1]));
+  }
+
   public void intrinsic_price() {
     NormalFunctionData data = NormalFunctionData.of(1.0, 1.0, 0.01);
     EuropeanVanillaOption option1 = EuropeanVanillaOption.of(0.5, 1.0, PutCall.CALL);
@@ -18,6 +18,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -82,4 +83,42 @@ public class TrinomialTreeTest {
     }
   }
 
+  public void test_severalOptions() {
+    int nSteps = 50;
+    double dt = TIME / nSteps;
+    double interest = INTERESTS[2];
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(VOLS[1], interest - DIVIDENDS[1], dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    RecombiningTrinomialTreeData treeData =
+        RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+    List<OptionFunction> functions = new ArrayList<>();
+    for (double strike : STRIKES) {
+      functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps));
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          strike, TIME, PutCall.PUT, nSteps, BarrierType.DOWN, 90d, DoubleArray.filled(nSteps + 1, 1d)));
+    }
+    double[] prices = TRINOMIAL_TREE.optionPrice(functions, treeData);
+    List<ValueDerivatives> priceDerivs = TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData);
+    assertEquals(prices.length, functions.size());
+    assertEquals(priceDerivs.size(), functions.size());
+    for (int k = 0; k < functions.size(); ++k) {
+      assertEquals(prices[k], TRINOMIAL_TREE.optionPrice(functions.get(k), treeData));
+      assertEquals(priceDerivs.get(k), TRINOMIAL_TREE.optionPriceAdjoint(functions.get(k), treeData));
+    }
+  }
+
 }
@@ -26,6 +26,7 @@ import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
 import com.opengamma.strata.pricer.impl.option.EuropeanVanillaOption;
+import com.opengamma.strata.pricer.model.SabrVolatilitySmile;
 
 /**
  * Test {@link SabrHaganVolatilityFunctionProvider}.
@@ -214,6 +215,29 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     testVolatilityAdjoint(F, CALL_ITM, data, eps, tol);
   }
 
+  public void smile() {
+    double[] strikes = {0d, 1e-15, 0.01, 0.045, F, F + 1e-8, 0.055, 0.2};
+    SabrFormulaData[] data = {
+        DATA, DATA.withAlpha(0d), DATA.withBeta(0d), DATA.withBeta(1d), DATA.withNu(0d), DATA.withRho(-0.9),
+        DATA.withRho(0.6)};
+    double[] derivatives = new double[6];
+    for (SabrFormulaData datum : data) {
+      SabrVolatilitySmile smile =
+          FUNCTION.smile(F, T, datum.getAlpha(), datum.getBeta(), datum.getRho(), datum.getNu());
+      for (double strike : strikes) {
+        assertEquals(smile.volatility(strike), FUNCTION.volatility(F, strike, T, datum));
+        ValueDerivatives expected = FUNCTION.volatilityAdjoint(F, strike, T, datum);
+        assertEquals(smile.volatilityAdjoint(strike, derivatives), expected.getValue());
+        for (int i = 0; i < 6; i++) {
+          assertEquals(derivatives[i], expected.getDerivative(i));
+        }
+        assertEquals(smile.volatilityAdjoint(strike), expected);
+      }
+    }
+    assertThrowsIllegalArg(() -> FUNCTION.smile(-F, T, ALPHA, BETA, RHO, NU));
+    assertThrowsIllegalArg(() -> FUNCTION.smile(F, T, ALPHA, BETA, RHO, NU).volatility(-1d));
+  }
+
   @Test
   /**
    * Tests the second order adjoint derivatives for the SABR Hagan volatility function.
@@ -21,6 +21,8 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.cern.MersenneTwister;
 import com.opengamma.strata.math.impl.cern.RandomEngine;
 import com.opengamma.strata.math.impl.differentiation.VectorFieldFirstOrderDifferentiator;
+import com.opengamma.strata.math.impl.minimization.NonLinearParameterTransforms;
+import com.opengamma.strata.math.impl.minimization.NonLinearTransformFunction;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResults;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 
@@ -188,6 +190,21 @@ public abstract class SmileModelFitterTest<T extends SmileModelData> {
     testJacobian(x);
   }
 
+  public void testFittingJacobian() {
+    double[][] start = getStartValues();
+    BitSet[] fixed = getFixedValues();
+    for (int trys = 0; trys < start.length; trys++) {
+      DoubleArray x = DoubleArray.copyOf(start[trys]);
+      NonLinearParameterTransforms transform = _fitter.getTransform(x, fixed[trys]);
+      NonLinearTransformFunction expected = new NonLinearTransformFunction(
+          _fitter.getModelValueFunction(), _fitter.getModelJacobianFunction(), transform);
+      DoubleArray fittingParams = transform.transform(x);
+      assertEquals(
+          _fitter.getFittingJacobianFunction(transform).apply(fittingParams),
+          expected.getFittingJacobian().apply(fittingParams));
+    }
+  }
+
   // random test to be turned off
   @Test(enabled = false)
   public void testRandomJacobian() {
@@ -76,6 +76,24 @@ public class SabrInterestRateParametersTest {
     assertEquals(PARAMETERS.hashCode(), other.hashCode());
   }
 
+  public void volatility_severalStrikes() {
+    double expiry = 2.5;
+    double tenor = 4.0;
+    double forward = 0.03;
+    double alpha = ALPHA_SURFACE.zValue(expiry, tenor);
+    double beta = BETA_SURFACE.zValue(expiry, tenor);
+    double rho = RHO_SURFACE.zValue(expiry, tenor);
+    double nu = NU_SURFACE.zValue(expiry, tenor);
+    for (int loop = 0; loop < 2; loop++) {
+      for (double strike : new double[] {0.01, 0.02, 0.03, 0.04, 0.05}) {
+        assertEquals(PARAMETERS.volatility(expiry, tenor, strike, forward),
+            FORMULA.volatility(forward, strike, expiry, alpha, beta, rho, nu));
+        assertEquals(PARAMETERS.volatilityAdjoint(expiry, tenor, strike, forward),
+            FORMULA.volatilityAdjoint(forward, strike, expiry, alpha, beta, rho, nu));
+      }
+    }
+  }
+
   public void negativeRates() {
     double shift = 0.05;
     Surface surface = ConstantSurface.of("shfit", shift);
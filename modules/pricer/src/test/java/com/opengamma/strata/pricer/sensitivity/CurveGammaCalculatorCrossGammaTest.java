@@ -15,6 +15,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -223,6 +225,23 @@ public class CurveGammaCalculatorCrossGammaTest {
     }
   }
 
+  public void sensitivity_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (CurveGammaCalculator calculator : new CurveGammaCalculator[] {FORWARD, CENTRAL, BACKWARD}) {
+        CurveGammaCalculator parallel = calculator.withExecutor(executor);
+        assertEquals(
+            parallel.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn),
+            calculator.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn));
+        assertEquals(
+            parallel.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn),
+            calculator.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   public void sensitivity_cross_multi_curve_empty() {
     CrossGammaParameterSensitivities sensiComputed =
         CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiModFn);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.FxIndices.GBP_USD_WM;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_6M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.FxIndexObservation;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.fx.FxIndexSensitivity;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
+
+/**
+ * Test {@link PointSensitivityAccumulator}.
+ */
+@Test
+public class PointSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate DATE_1 = date(2015, 12, 21);
+  private static final LocalDate DATE_2 = date(2016, 1, 21);
+  private static final double TOLERANCE = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_build() {
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    for (int i = 0; i < 200; i++) {
+      double amount = 100d + i;
+      ZeroRateSensitivity zero = ZeroRateSensitivity.of(USD, (i % 40) * 0.25, amount);
+      IborRateSensitivity ibor = IborRateSensitivity.of(
+          IborIndexObservation.of(i % 2 == 0 ? USD_LIBOR_3M : USD_LIBOR_6M, DATE_1.plusMonths(i % 30), REF_DATA),
+          amount);
+      OvernightRateSensitivity on = OvernightRateSensitivity.ofPeriod(
+          OvernightIndexObservation.of(USD_FED_FUND, DATE_1.plusDays(i % 7), REF_DATA), DATE_2, USD, amount);
+      builder = builder.combinedWith(zero).combinedWith(ibor).combinedWith(on);
+      test.add(zero).add(ibor).add(on);
+    }
+    assertEquals(test.size(), 40 + 30 + 7);
+    PointSensitivities expected = builder.build().normalized();
+    PointSensitivities computed = test.build();
+    assertEquals(computed.size(), expected.size());
+    assertTrue(computed.normalized().equalWithTolerance(expected, TOLERANCE));
+
+    CurrencyParameterSensitivities expectedSens = PROVIDER.parameterSensitivity(expected);
+    assertTrue(test.parameterSensitivity(PROVIDER).equalWithTolerance(expectedSens, TOLERANCE));
+    assertEquals(test.parameterSensitivity(PROVIDER), PROVIDER.parameterSensitivity(computed));
+  }
+
+  public void test_addZeroRate() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator()
+        .addZeroRate(USD, 1.5d, USD, 10d)
+        .addZeroRate(USD, 1.5d, EUR, 20d)
+        .addZeroRate(USD, 1.5d, USD, 30d);
+    PointSensitivities expected = PointSensitivities.of(
+        ZeroRateSensitivity.of(USD, 1.5d, USD, 40d),
+        ZeroRateSensitivity.of(USD, 1.5d, EUR, 20d));
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_addAll_other() {
+    FxIndexSensitivity fx = FxIndexSensitivity.of(FxIndexObservation.of(GBP_USD_WM, DATE_1, REF_DATA), USD, 5d);
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator()
+        .addAll(PointSensitivities.of(fx, ZeroRateSensitivity.of(USD, 2d, 1d)))
+        .add(fx.multipliedBy(2d).combinedWith(ZeroRateSensitivity.of(USD, 2d, 3d)));
+    assertEquals(test.size(), 3);
+    PointSensitivities expected = PointSensitivities.of(ZeroRateSensitivity.of(USD, 2d, 4d), fx.multipliedBy(3d));
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_reset() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    for (int i = 0; i < 100; i++) {
+      test.addZeroRate(USD, i, USD, 1d);
+    }
+    assertEquals(test.size(), 100);
+    test.reset();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+    test.addZeroRate(USD, 3d, USD, 2d);
+    assertEquals(test.build(), PointSensitivities.of(ZeroRateSensitivity.of(USD, 3d, 2d)));
+  }
+
+  public void test_ofCurrentThread() {
+    PointSensitivityAccumulator test = PointSensitivityAccumulator.ofCurrentThread();
+    test.addZeroRate(USD, 3d, USD, 2d);
+    PointSensitivityAccumulator test2 = PointSensitivityAccumulator.ofCurrentThread();
+    assertSame(test2, test);
+    assertEquals(test2.size(), 0);
+  }
+
+}
@@ -11,6 +11,8 @@ import static org.testng.Assert.assertEquals;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -94,6 +96,19 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesFiniteDifferenceSensitivityCalculator test = FD_CALCULATOR.withExecutor(executor);
+      assertEquals(
+          test.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn),
+          FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
@@ -23,6 +23,7 @@ import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_E
 import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_GBP;
 import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_USD;
 import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_GBP_USD;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_GBP_USD_SIMPLE;
 import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_RATE_PAYMENT_PERIOD_PAY_GBP;
 import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_RATE_PAYMENT_PERIOD_PAY_USD;
 import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_SWAP_LEG_PAY;
@@ -56,6 +57,7 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -64,6 +66,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DayCounts;
@@ -545,6 +548,25 @@ public class DiscountingSwapProductPricerTest {
     assertEquals(pvComputed.getAmount(GBP).getAmount(), pvExpected, NOTIONAL * TOLERANCE_RATE);
   }
 
+  public void test_presentValue_multipleProviders() {
+    ResolvedSwap swap = GBP_FIXED_1Y_LIBOR_3M.createTrade(MULTI_GBP_USD.getValuationDate(),
+        Period.ofMonths(3), TENOR_5Y, BUY, 1_000_000.0d, 0.0150, REF_DATA).resolve(REF_DATA).getProduct();
+    ResolvedSwap swapXccy = GBP_LIBOR_3M_USD_LIBOR_3M.createTrade(MULTI_GBP_USD.getValuationDate(),
+        Period.ofMonths(3), TENOR_5Y, BUY, 1_000_000.0d, 1_440_00.0d, 0.0020, REF_DATA).resolve(REF_DATA).getProduct();
+    List<RatesProvider> providers = ImmutableList.of(MULTI_GBP_USD, MULTI_GBP_USD_SIMPLE, MULTI_GBP_USD);
+    for (ResolvedSwap test : ImmutableList.of(swap, swapXccy)) {
+      MultiCurrencyAmountArray computed = SWAP_PRODUCT_PRICER.presentValue(test, providers);
+      assertEquals(computed.size(), providers.size());
+      for (int i = 0; i < providers.size(); i++) {
+        assertEquals(computed.get(i), SWAP_PRODUCT_PRICER.presentValue(test, providers.get(i)));
+      }
+    }
+    // not all periods are handled directly by the period pricer
+    List<RatesProvider> inflationProviders = ImmutableList.of(RATES_GBP_INFLATION, RATES_GBP_INFLATION);
+    MultiCurrencyAmountArray computedInflation = SWAP_PRODUCT_PRICER.presentValue(SWAP_INFLATION, inflationProviders);
+    assertEquals(computedInflation.get(1), SWAP_PRODUCT_PRICER.presentValue(SWAP_INFLATION, RATES_GBP_INFLATION));
+  }
+
   public void test_presentValue_brl_swap() {
     DiscountingSwapLegPricer pricerLeg = DiscountingSwapLegPricer.DEFAULT;
     DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(pricerLeg);
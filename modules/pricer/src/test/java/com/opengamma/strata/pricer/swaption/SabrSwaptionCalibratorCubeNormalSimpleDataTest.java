@@ -28,6 +28,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -154,6 +156,30 @@ public class SabrSwaptionCalibratorCubeNormalSimpleDataTest {
     }
   }
 
+  @Test
+  public void normal_cube_parallel() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0300)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrSwaptionCalibrator test = SABR_CALIBRATION.withExecutor(executor);
+      for (int i = 0; i < 2; i++) {
+        SabrParametersSwaptionVolatilities calibrated = test.calibrateWithFixedBetaAndShift(
+            DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface);
+        assertEquals(calibrated, expected);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @SuppressWarnings("unused")
   @Test
   public void normal_atm() {